@@ -0,0 +1,166 @@
+package com.portfolio.optimizer.jmh;
+
+import com.portfolio.optimizer.math.Kernels;
+import com.portfolio.optimizer.math.VectorOps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 수치 커널 벤치마크: 단순 반복문(naive) vs 스칼라 커널 vs Vector API 커널
+ *
+ * naive 는 커널 도입 전 SyntheticMarketDataService 의 double[][] 공분산 반복문과 같은 형태.
+ * 예: ./gradlew jmh -Pargs="KernelBenchmark.covariance -p assets=500"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class KernelBenchmark {
+
+    @Param({"100", "500"})
+    int assets;
+
+    @Param({"252", "1260"})
+    int days;
+
+    private double[][] returns;
+    private double[] centered;
+    private double[][] covRows;
+    private double[] cov;
+    private double[] weights;
+    private double[] syrTarget;
+    private double[] out;
+
+    private final VectorOps scalar = Kernels.scalar();
+    private final VectorOps simd = Kernels.ops();
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        returns = new double[assets][days];
+        for (double[] row : returns) {
+            for (int t = 0; t < days; t++) {
+                row[t] = random.nextGaussian() * 0.02;
+            }
+        }
+        centered = new double[assets * days];
+        for (int i = 0; i < assets; i++) {
+            double mean = 0;
+            for (double r : returns[i]) {
+                mean += r;
+            }
+            mean /= days;
+            for (int t = 0; t < days; t++) {
+                centered[i * days + t] = returns[i][t] - mean;
+            }
+        }
+        cov = Kernels.covariance(returns);
+        covRows = new double[assets][];
+        for (int i = 0; i < assets; i++) {
+            covRows[i] = java.util.Arrays.copyOfRange(cov, i * assets, (i + 1) * assets);
+        }
+        weights = new double[assets];
+        for (int i = 0; i < assets; i++) {
+            weights[i] = 1.0 / assets;
+        }
+        syrTarget = new double[assets * assets];
+        out = new double[assets * assets];
+    }
+
+    // ---- dot ----
+
+    @Benchmark
+    public double dotNaive() {
+        double[] a = returns[0];
+        double[] b = returns[1];
+        double sum = 0;
+        for (int t = 0; t < days; t++) {
+            sum += a[t] * b[t];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double dotSimd() {
+        return simd.dot(returns[0], 0, returns[1], 0, days);
+    }
+
+    // ---- wᵀΣw ----
+
+    @Benchmark
+    public double quadraticFormNaive() {
+        double variance = 0;
+        for (int i = 0; i < assets; i++) {
+            double row = 0;
+            for (int j = 0; j < assets; j++) {
+                row += covRows[i][j] * weights[j];
+            }
+            variance += weights[i] * row;
+        }
+        return variance;
+    }
+
+    @Benchmark
+    public double quadraticFormSimd() {
+        return Kernels.quadraticForm(cov, weights);
+    }
+
+    // ---- symmetric rank-1 update ----
+
+    @Benchmark
+    public double[] syrScalar() {
+        scalar.syr(1e-3, weights, syrTarget, assets);
+        return syrTarget;
+    }
+
+    @Benchmark
+    public double[] syrSimd() {
+        simd.syr(1e-3, weights, syrTarget, assets);
+        return syrTarget;
+    }
+
+    // ---- covariance ----
+
+    @Benchmark
+    public double[][] covarianceNaive() {
+        double[][] result = new double[assets][assets];
+        for (int i = 0; i < assets; i++) {
+            for (int j = i; j < assets; j++) {
+                double dot = 0;
+                for (int t = 0; t < days; t++) {
+                    dot += centered[i * days + t] * centered[j * days + t];
+                }
+                double value = dot / (days - 1);
+                result[i][j] = value;
+                result[j][i] = value;
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[] covarianceBlockedScalar() {
+        scalar.covariance(centered, assets, days, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] covarianceBlockedSimd() {
+        simd.covariance(centered, assets, days, out);
+        return out;
+    }
+}
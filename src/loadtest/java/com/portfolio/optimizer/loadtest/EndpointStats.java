@@ -0,0 +1,84 @@
+package com.portfolio.optimizer.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트별 지연 히스토그램/처리량/오류 집계
+ * 지연은 마이크로초 단위로 기록 (최대 1시간, 유효숫자 3자리)
+ */
+public class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final String name;
+    private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 요청 1건 기록
+     * @param outcome HTTP 상태 코드 또는 예외 이름
+     */
+    public void record(long latencyNanos, boolean success, String outcome) {
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        (success ? successes : failures).increment();
+        outcomes.computeIfAbsent(outcome, k -> new LongAdder()).increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    public long getCount() {
+        return successes.sum() + failures.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * 리포트용 요약 (지연은 ms)
+     */
+    public Map<String, Object> summary(double elapsedSeconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoint", name);
+        summary.put("requests", getCount());
+        summary.put("errors", getFailures());
+        summary.put("throughputPerSec", round(getCount() / Math.max(elapsedSeconds, 1e-9)));
+        summary.put("meanMs", round(latency.getMean() / 1000.0));
+        summary.put("p50Ms", percentileMs(50));
+        summary.put("p90Ms", percentileMs(90));
+        summary.put("p99Ms", percentileMs(99));
+        summary.put("p999Ms", percentileMs(99.9));
+        summary.put("maxMs", round(latency.getMaxValue() / 1000.0));
+        Map<String, Long> byOutcome = new LinkedHashMap<>();
+        outcomes.forEach((k, v) -> byOutcome.put(k, v.sum()));
+        summary.put("outcomes", byOutcome);
+        return summary;
+    }
+
+    private double percentileMs(double percentile) {
+        return round(latency.getValueAtPercentile(percentile) / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,335 @@
+package com.portfolio.optimizer.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * JSONL 요청 로그 재생 부하 생성기
+ *
+ * 모드:
+ *   closed - concurrency 개의 가상 사용자가 응답을 받은 뒤 다음 요청을 보냄 (최대 처리량 측정)
+ *   open   - 응답과 무관하게 초당 rate 건을 일정 간격으로 보냄 (목표 부하에서의 지연 측정)
+ *            지연은 "보냈어야 하는 시각" 기준으로 측정하여 서버가 밀릴 때의 대기 시간도 포함한다.
+ *
+ * 실행 예:
+ *   ./gradlew loadTest -Pargs="--file=src/loadtest/resources/sample-requests.jsonl --mode=open --rate=20 --duration=60
+ *                             --username=loadtest --password=loadtest123 --signup"
+ *
+ * 옵션:
+ *   --base-url=http://localhost:8080  --file=요청 JSONL 또는 JSON 파일 (필수, 예: request.json)
+ *   --mode=closed|open  --concurrency=10  --rate=10 (open, 초당)  --think-ms=0 (closed)
+ *   --duration=60 (초)  --warmup=0 (초, 집계 제외)  --timeout-ms=60000
+ *   --token=JWT | --username= --password= [--signup]
+ *   --report=요약 JSON 경로  --histogram-dir=엔드포인트별 .hgrm 출력 디렉터리
+ */
+public class LoadTestRunner {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Map<String, String> options;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+    private final List<ReplayRequest> requests;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final AtomicLong cursor = new AtomicLong();
+
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+    private String token;
+
+    public LoadTestRunner(Map<String, String> options) throws IOException {
+        this.options = options;
+        this.baseUrl = option("base-url", "http://localhost:8080").replaceAll("/+$", "");
+        this.timeout = Duration.ofMillis(Long.parseLong(option("timeout-ms", "60000")));
+        this.requests = ReplayRequest.load(Paths.get(required("file")));
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            } else {
+                options.put(arg.substring(2), "true");
+            }
+        }
+        new LoadTestRunner(options).run();
+    }
+
+    public void run() throws Exception {
+        authenticate();
+
+        String mode = option("mode", "closed");
+        int concurrency = Integer.parseInt(option("concurrency", "10"));
+        long warmupSeconds = Long.parseLong(option("warmup", "0"));
+        long durationSeconds = Long.parseLong(option("duration", "60"));
+
+        System.out.printf("Replaying %d requests against %s (%s loop, concurrency=%d%s, duration=%ds, warmup=%ds)%n",
+                requests.size(), baseUrl, mode, concurrency,
+                "open".equals(mode) ? ", rate=" + option("rate", "10") + "/s" : "",
+                durationSeconds, warmupSeconds);
+
+        long startNanos = System.nanoTime();
+        long measureFrom = startNanos + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        ExecutorService workers;
+        if ("open".equals(mode)) {
+            workers = runOpenLoop(concurrency, measureFrom, stopAt);
+        } else {
+            workers = runClosedLoop(concurrency, measureFrom, stopAt);
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(timeout.toMillis() + 5000, TimeUnit.MILLISECONDS)) {
+            workers.shutdownNow();
+        }
+
+        double elapsedSeconds = (Math.min(System.nanoTime(), stopAt) - measureFrom) / 1e9;
+        report(elapsedSeconds);
+    }
+
+    /**
+     * 닫힌 루프: 가상 사용자별로 요청 → 응답 → (think) → 다음 요청
+     */
+    private ExecutorService runClosedLoop(int concurrency, long measureFrom, long stopAt) throws InterruptedException {
+        long thinkNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(option("think-ms", "0")));
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.submit(() -> {
+                while (running) {
+                    long now = System.nanoTime();
+                    execute(next(), now);
+                    if (thinkNanos > 0) {
+                        LockSupport.parkNanos(thinkNanos);
+                    }
+                }
+            });
+        }
+        awaitPhases(measureFrom, stopAt);
+        return workers;
+    }
+
+    /**
+     * 열린 루프: 고정 간격으로 요청을 발행하고 워커 풀에서 처리
+     * 풀이 밀려 대기열이 가득 차면 요청을 보내지 않고 "dropped" 로 기록한다.
+     */
+    private ExecutorService runOpenLoop(int concurrency, long measureFrom, long stopAt) throws InterruptedException {
+        double rate = Double.parseDouble(option("rate", "10"));
+        long intervalNanos = (long) (1e9 / rate);
+        int queueCapacity = Math.max(1000, concurrency * 100);
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+
+        Thread dispatcher = new Thread(() -> {
+            long start = System.nanoTime();
+            for (long i = 0; running; i++) {
+                long intended = start + i * intervalNanos;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (!running) {
+                    break;
+                }
+                ReplayRequest request = next();
+                try {
+                    workers.execute(() -> execute(request, intended));
+                } catch (RejectedExecutionException e) {
+                    record(request, System.nanoTime() - intended, false, "dropped");
+                }
+            }
+        }, "load-dispatcher");
+        dispatcher.start();
+
+        awaitPhases(measureFrom, stopAt);
+        dispatcher.join();
+        return workers;
+    }
+
+    private void awaitPhases(long measureFrom, long stopAt) throws InterruptedException {
+        sleepUntil(measureFrom);
+        measuring = true;
+        sleepUntil(stopAt);
+        running = false;
+    }
+
+    private static void sleepUntil(long deadlineNanos) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.SECONDS.toNanos(1)));
+        }
+    }
+
+    private ReplayRequest next() {
+        return requests.get((int) (cursor.getAndIncrement() % requests.size()));
+    }
+
+    /**
+     * 요청 전송 및 기록 (지연 = 완료 시각 - 의도한 시작 시각)
+     */
+    private void execute(ReplayRequest request, long intendedStartNanos) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + request.path()))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        if (request.body() != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(request.method(), HttpRequest.BodyPublishers.ofString(request.body()));
+        } else {
+            builder.method(request.method(), HttpRequest.BodyPublishers.noBody());
+        }
+
+        try {
+            HttpResponse<Void> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.discarding());
+            int status = response.statusCode();
+            record(request, System.nanoTime() - intendedStartNanos, status >= 200 && status < 300, String.valueOf(status));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            record(request, System.nanoTime() - intendedStartNanos, false, e.getClass().getSimpleName());
+        }
+    }
+
+    private void record(ReplayRequest request, long latencyNanos, boolean success, String outcome) {
+        if (measuring) {
+            stats.computeIfAbsent(request.name(), EndpointStats::new).record(latencyNanos, success, outcome);
+        }
+    }
+
+    /**
+     * JWT 발급 (--token 우선, 없으면 로그인, --signup 이면 로그인 실패 시 가입 후 사용)
+     */
+    private void authenticate() throws IOException, InterruptedException {
+        if (options.containsKey("token")) {
+            token = options.get("token");
+            return;
+        }
+        String username = options.get("username");
+        if (username == null) {
+            System.out.println("No --token/--username given, sending requests without authentication");
+            return;
+        }
+        String password = required("password");
+
+        Map<String, String> login = Map.of("username", username, "password", password);
+        HttpResponse<String> response = post("/api/auth/login", login);
+        if (response.statusCode() != 200 && options.containsKey("signup")) {
+            Map<String, String> signup = Map.of(
+                    "username", username,
+                    "password", password,
+                    "email", username + "@loadtest.local",
+                    "nickname", username);
+            response = post("/api/auth/signup", signup);
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Authentication failed (HTTP " + response.statusCode() + "): " + response.body());
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        token = body.path("token").asText(null);
+        if (token == null) {
+            throw new IllegalStateException("No token in auth response: " + response.body());
+        }
+    }
+
+    private HttpResponse<String> post(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void report(double elapsedSeconds) throws IOException {
+        List<EndpointStats> sorted = new ArrayList<>(stats.values());
+        sorted.sort((a, b) -> a.getName().compareTo(b.getName()));
+
+        PrintStream out = System.out;
+        out.printf("%n%-32s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        List<Map<String, Object>> summaries = new ArrayList<>();
+        long total = 0;
+        for (EndpointStats endpoint : sorted) {
+            Map<String, Object> s = endpoint.summary(elapsedSeconds);
+            summaries.add(s);
+            total += endpoint.getCount();
+            out.printf("%-32s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.getName(), endpoint.getCount(), endpoint.getFailures(), s.get("throughputPerSec"),
+                    s.get("p50Ms"), s.get("p90Ms"), s.get("p99Ms"), s.get("p999Ms"), s.get("maxMs"));
+        }
+        out.printf("%ntotal %d requests in %.1fs (%.2f req/s)%n", total, elapsedSeconds, total / elapsedSeconds);
+
+        if (options.containsKey("report")) {
+            Map<String, Object> report = new HashMap<>();
+            report.put("baseUrl", baseUrl);
+            report.put("options", options.entrySet().stream()
+                    .filter(e -> !e.getKey().equals("password") && !e.getKey().equals("token"))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+            report.put("elapsedSeconds", elapsedSeconds);
+            report.put("endpoints", summaries);
+            objectMapper.writeValue(Paths.get(options.get("report")).toFile(), report);
+            out.println("Report written to " + options.get("report"));
+        }
+
+        if (options.containsKey("histogram-dir")) {
+            Path dir = Paths.get(options.get("histogram-dir"));
+            Files.createDirectories(dir);
+            for (EndpointStats endpoint : sorted) {
+                Path file = dir.resolve(endpoint.getName().replaceAll("[^A-Za-z0-9._-]+", "_") + ".hgrm");
+                try (PrintStream hgrm = new PrintStream(Files.newOutputStream(file))) {
+                    // 마이크로초 → 밀리초 스케일로 출력 (HdrHistogram plotter 호환)
+                    endpoint.getLatency().outputPercentileDistribution(hgrm, 1000.0);
+                }
+            }
+            out.println("Histograms written to " + dir);
+        }
+    }
+
+    private String option(String key, String defaultValue) {
+        return options.getOrDefault(key, defaultValue);
+    }
+
+    private String required(String key) {
+        String value = options.get(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("--" + key + " is required");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,94 @@
+package com.portfolio.optimizer.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 재생할 요청 하나
+ *
+ * 입력 파일은 JSON 객체를 이어 붙인 것으로 읽으므로 한 줄에 하나(JSONL)든, 여러 줄에 걸친
+ * 객체 하나(예: 저장소의 request.json)든 모두 가능하다. 최상위 배열이면 원소 각각이 요청이다.
+ *
+ * 요청 객체 형식:
+ *   {"name": "optimize", "method": "POST", "path": "/api/portfolio/optimize", "body": {...}}
+ *   name 생략 시 경로 앞 3단계(/api/stocks/price/AAPL → /api/stocks/price)로 묶어 집계한다.
+ *   method 생략 시 body 가 있으면 POST, 없으면 GET.
+ *   path 없이 "stocks" 필드가 있는 객체(request.json 형식)는 /api/portfolio/optimize 요청으로 본다.
+ */
+public record ReplayRequest(String name, String method, String path, String body) {
+
+    // # 주석 허용 (JSONL 파일의 주석 줄)
+    private static final ObjectMapper objectMapper = JsonMapper.builder()
+            .enable(JsonReadFeature.ALLOW_YAML_COMMENTS)
+            .build();
+
+    /**
+     * 요청 파일 읽기 (JSONL 또는 여러 줄 JSON, 빈 줄과 # 주석 무시)
+     */
+    public static List<ReplayRequest> load(Path file) throws IOException {
+        List<ReplayRequest> requests = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             MappingIterator<JsonNode> nodes = objectMapper.readerFor(JsonNode.class).readValues(reader)) {
+            while (true) {
+                // 오류 위치는 요청 객체가 시작된 줄로 보고
+                int lineNo = nodes.getParser().currentLocation().getLineNr();
+                try {
+                    if (!nodes.hasNextValue()) {
+                        break;
+                    }
+                    lineNo = nodes.getParser().currentTokenLocation().getLineNr();
+                    requests.add(parse(nodes.nextValue()));
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    throw new IOException("Invalid request at " + file + ":" + lineNo + " - " + e.getMessage(), e);
+                }
+            }
+        }
+        if (requests.isEmpty()) {
+            throw new IOException("No requests in " + file);
+        }
+        return requests;
+    }
+
+    private static ReplayRequest parse(JsonNode node) throws IOException {
+        String path;
+        JsonNode body;
+        if (node.hasNonNull("path")) {
+            path = node.get("path").asText();
+            body = node.get("body");
+        } else if (node.has("stocks")) {
+            path = "/api/portfolio/optimize";
+            body = node;
+        } else {
+            throw new IllegalArgumentException("missing \"path\"");
+        }
+
+        String bodyJson = body == null || body.isNull() ? null : objectMapper.writeValueAsString(body);
+        String method = node.hasNonNull("method")
+                ? node.get("method").asText().toUpperCase()
+                : (bodyJson != null ? "POST" : "GET");
+        String name = node.hasNonNull("name") ? node.get("name").asText() : method + " " + group(path);
+        return new ReplayRequest(name, method, path, bodyJson);
+    }
+
+    private static String group(String path) {
+        String clean = path.contains("?") ? path.substring(0, path.indexOf('?')) : path;
+        String[] segments = clean.split("/");
+        // ["", "api", "stocks", "price", "AAPL"] → /api/stocks/price
+        if (segments.length <= 4) {
+            return clean;
+        }
+        return "/" + segments[1] + "/" + segments[2] + "/" + segments[3];
+    }
+}
@@ -0,0 +1,78 @@
+package com.portfolio.optimizer.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 복제본 라우팅 (datasource.replica.urls 가 설정된 경우에만)
+ *
+ * primary 풀은 Spring Boot 기본 구성과 같이 spring.datasource.* / spring.datasource.hikari.* 로 만들고,
+ * 복제본마다 읽기 전용 풀을 둔다. 애플리케이션(JPA, JdbcTemplate)은 @Primary 인 지연 연결 프록시를 사용한다.
+ */
+@Configuration
+@ConditionalOnExpression("!'${datasource.replica.urls:}'.isBlank()")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.replica.urls}") String urls,
+            @Value("${datasource.replica.username:}") String username,
+            @Value("${datasource.replica.password:}") String password,
+            @Value("${datasource.replica.pool.size:10}") int poolSize,
+            @Value("${datasource.replica.connection.timeout.ms:2000}") long connectionTimeoutMs,
+            @Value("${datasource.replica.health.check.interval.ms:5000}") long healthCheckIntervalMs,
+            @Value("${datasource.replica.read.after.write.ms:3000}") long readAfterWriteMs) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        int index = 1;
+        for (String url : StringUtils.commaDelimitedListToStringArray(urls)) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + index++);
+            config.setJdbcUrl(url.trim());
+            config.setUsername(StringUtils.hasText(username) ? username : properties.determineUsername());
+            config.setPassword(StringUtils.hasText(password) ? password : properties.determinePassword());
+            config.setDriverClassName(properties.determineDriverClassName());
+            config.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            config.setMaximumPoolSize(poolSize);
+            config.setConnectionTimeout(connectionTimeoutMs);
+            config.setReadOnly(true);
+            // 복제본이 내려가 있어도 기동은 계속 (상태 확인 통과 전까지 읽기는 primary 로)
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, healthCheckIntervalMs, readAfterWriteMs, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
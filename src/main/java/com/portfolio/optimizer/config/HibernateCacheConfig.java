@@ -0,0 +1,68 @@
+package com.portfolio.optimizer.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate 2차 캐시 / 쿼리 캐시 (JCache + Caffeine)
+ *
+ * 리전마다 최대 항목 수를 두는 인스턴스 로컬 캐시. 같은 인스턴스의 JPA 변경(생성/수정/삭제, JPQL 일괄 UPDATE)은
+ * Hibernate 가 엔티티/컬렉션 리전과 테이블 타임스탬프(쿼리 캐시 무효화)에 바로 반영한다.
+ * 인스턴스 간 무효화는 없으므로 다른 인스턴스의 변경은 TTL 이 지나야 보인다.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String PORTFOLIO_REGION = "portfolio";
+    public static final String PORTFOLIO_ASSET_REGION = "portfolio_asset";
+    public static final String PORTFOLIO_ASSETS_REGION = "portfolio.assets";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${jpa.cache.portfolio.max.entries:10000}") long portfolioMaxEntries,
+            @Value("${jpa.cache.asset.max.entries:100000}") long assetMaxEntries,
+            @Value("${jpa.cache.query.max.entries:10000}") long queryMaxEntries,
+            @Value("${jpa.cache.ttl.ms:300000}") long ttlMs) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        createRegion(cacheManager, PORTFOLIO_REGION, portfolioMaxEntries, ttlMs);
+        createRegion(cacheManager, PORTFOLIO_ASSETS_REGION, portfolioMaxEntries, ttlMs);
+        createRegion(cacheManager, PORTFOLIO_ASSET_REGION, assetMaxEntries, ttlMs);
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queryMaxEntries, ttlMs);
+        // 테이블별 마지막 변경 시각 - 만료되면 오래된 쿼리 결과가 유효하다고 판단될 수 있어 TTL 없음 (항목 수 = 테이블 수)
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 1000, 0);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, long maxEntries, long ttlMs) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        // Hibernate 캐시 항목은 불변 분해 상태이므로 값 복사(직렬화) 불필요
+        configuration.setStoreByValue(false);
+        if (ttlMs > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttlMs)));
+        }
+        cacheManager.createCache(name, configuration);
+    }
+}
@@ -0,0 +1,84 @@
+package com.portfolio.optimizer.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * IDENTITY -> 시퀀스 ID 전환 시 기존 데이터와의 충돌 방지
+ *
+ * ddl-auto=update 로 새로 만들어진 시퀀스는 1 부터 시작하므로, 기존 테이블의 MAX(id) 보다
+ * 낮으면 MAX(id) 위로 올린다. 스키마 갱신(EntityManagerFactory 생성) 이후, 웹 서버가 요청을 받기 전에
+ * 실행되므로 정렬 전의 INSERT 가 기존 ID 와 충돌하지 않는다.
+ * 시퀀스를 지원하지 않는 DB 는 Hibernate 가 만든 대체 테이블(next_val)을 조건부 UPDATE 한 문장으로 올린다.
+ *
+ * 시퀀스 경로는 "nextval 조회 후 RESTART WITH" 두 문장이라 원자적이지 않다. 이미 ID 를 할당 중인 다른
+ * 인스턴스와 겹치면 시퀀스를 되돌릴 수 있으므로, 전환 후 첫 기동은 인스턴스 하나로 해야 한다
+ * (정렬이 끝난 뒤에는 시퀀스가 MAX(id) 위에 있어 RESTART 가 실행되지 않는다).
+ */
+@Component
+@Slf4j
+public class IdSequenceAligner implements SmartInitializingSingleton {
+
+    /**
+     * 엔티티의 @SequenceGenerator 와 일치해야 함
+     */
+    private record IdSequence(String sequence, String table, int allocationSize) {
+    }
+
+    private static final List<IdSequence> SEQUENCES = List.of(
+            new IdSequence("portfolio_seq", "portfolio", 50),
+            new IdSequence("portfolio_asset_seq", "portfolio_asset", 50),
+            new IdSequence("user_stock_seq", "user_stock", 50)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (IdSequence seq : SEQUENCES) {
+            try {
+                align(seq);
+            } catch (RuntimeException e) {
+                log.warn("Could not align id sequence {} with {}: {}", seq.sequence(), seq.table(), e.getMessage());
+            }
+        }
+    }
+
+    private void align(IdSequence seq) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + seq.table(), Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // pooled 옵티마이저는 시퀀스 값을 블록 상한으로 쓰므로 한 블록 여유를 둔다
+        long target = maxId + seq.allocationSize() + 1;
+
+        if (dialect.getSequenceSupport().supportsSequences()) {
+            Long next = jdbcTemplate.queryForObject(
+                    dialect.getSequenceSupport().getSequenceNextValString(seq.sequence()), Long.class);
+            // pooled: 시퀀스 값 v 로 (v - allocationSize, v] 구간을 할당
+            if (next != null && next - seq.allocationSize() + 1 <= maxId) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + seq.sequence() + " RESTART WITH " + target);
+                log.info("Id sequence {} restarted at {} (max {}.id = {})", seq.sequence(), target, seq.table(), maxId);
+            }
+        } else {
+            int updated = jdbcTemplate.update(
+                    "UPDATE " + seq.sequence() + " SET next_val = ? WHERE next_val < ?", target, target);
+            if (updated > 0) {
+                log.info("Id table {} advanced to {} (max {}.id = {})", seq.sequence(), target, seq.table(), maxId);
+            }
+        }
+    }
+}
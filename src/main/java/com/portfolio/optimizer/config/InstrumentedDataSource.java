@@ -0,0 +1,156 @@
+package com.portfolio.optimizer.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+/**
+ * 문장 실행 시간/결과 행 수를 SqlStatsCollector 에 기록하는 DataSource 래퍼
+ *
+ * Connection / Statement / ResultSet 을 JDK 동적 프록시로 감싼다.
+ * DelegatingDataSource 를 상속하므로 Hikari 풀 지표/헬스 체크의 unwrap 은 그대로 동작한다.
+ * 배치 실행(executeBatch)은 왕복 1회이므로 문장 1건으로 센다.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final Supplier<SqlStatsCollector> collector;
+
+    public InstrumentedDataSource(DataSource target, Supplier<SqlStatsCollector> collector) {
+        super(target);
+        this.collector = collector;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private abstract static class Handler implements InvocationHandler {
+        final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> handle(proxy, method, args);
+            };
+        }
+
+        abstract Object handle(Object proxy, Method method, Object[] args) throws Throwable;
+
+        Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    private final class ConnectionHandler extends Handler {
+
+        ConnectionHandler(Connection connection) {
+            super(connection);
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = call(method, args);
+            if (result instanceof Statement statement) {
+                String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler(statement, (Connection) proxy, sql));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler extends Handler {
+        final Connection connection;
+        final String sql;
+
+        StatementHandler(Statement statement, Connection connection, String sql) {
+            super(statement);
+            this.connection = connection;
+            this.sql = sql;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("getConnection".equals(name)) {
+                return connection;
+            }
+            if (!name.startsWith("execute")) {
+                Object result = call(method, args);
+                return "getResultSet".equals(name) && result instanceof ResultSet rs
+                        ? wrap(rs, collector.get().currentRepositoryOrNone())
+                        : result;
+            }
+
+            String executed = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = call(method, args);
+            } catch (Throwable e) {
+                collector.get().statement(executed, System.nanoTime() - start);
+                throw e;
+            }
+            String repository = collector.get().statement(executed, System.nanoTime() - start);
+            return result instanceof ResultSet rs ? wrap(rs, repository) : result;
+        }
+
+        private ResultSet wrap(ResultSet resultSet, String repository) {
+            return (ResultSet) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, new ResultSetHandler(resultSet, repository));
+        }
+    }
+
+    private final class ResultSetHandler extends Handler {
+        final String repository;
+
+        ResultSetHandler(ResultSet resultSet, String repository) {
+            super(resultSet);
+            this.repository = repository;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = call(method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                collector.get().row(repository);
+            }
+            return result;
+        }
+    }
+}
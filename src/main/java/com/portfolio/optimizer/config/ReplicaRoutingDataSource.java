@@ -0,0 +1,200 @@
+package com.portfolio.optimizer.config;
+
+import com.portfolio.optimizer.security.UserPrincipal;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 전용 트랜잭션은 복제본, 그 외는 primary 로 보내는 DataSource
+ *
+ * - 복제본은 라운드 로빈, 주기적 상태 확인에서 실패한 복제본은 건너뛰고 모두 실패하면 primary 사용
+ * - 연결 획득 시점에 트랜잭션의 readOnly 여부를 보므로 LazyConnectionDataSourceProxy 뒤에 두어야 한다
+ *   (트랜잭션 시작 시점에는 readOnly 플래그가 아직 설정되지 않음)
+ * - 복제 지연 대비: 읽기/쓰기 트랜잭션을 연 사용자의 읽기는 readAfterWriteMs 동안 primary 로 보낸다
+ *   (2차/쿼리 캐시에 지연된 결과가 올라가는 것도 방지)
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements InitializingBean, DisposableBean {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private static final class Replica {
+        final HikariDataSource dataSource;
+        volatile boolean healthy; // 첫 상태 확인 전까지는 사용하지 않음
+        volatile boolean checked;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final long healthCheckIntervalMs;
+    private final long readAfterWriteMs;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    // 사용자 ID -> 마지막 읽기/쓰기 트랜잭션 시각
+    private final Map<Long, Long> recentWriters = new ConcurrentHashMap<>();
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter fallbackConnections;
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    long healthCheckIntervalMs, long readAfterWriteMs, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.healthCheckIntervalMs = healthCheckIntervalMs;
+        this.readAfterWriteMs = readAfterWriteMs;
+        this.primaryConnections = Counter.builder("datasource.routing.connections")
+                .description("Connections acquired through the read/write routing datasource")
+                .tag("target", "primary")
+                .register(meterRegistry);
+        this.replicaConnections = Counter.builder("datasource.routing.connections")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        this.fallbackConnections = Counter.builder("datasource.routing.connections")
+                .tag("target", "fallback")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replicas.healthy", this, ds -> ds.replicas.stream().filter(r -> r.healthy).count())
+                .description("Read replicas currently passing health checks")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // 상태 확인은 연결 대기로 느려질 수 있어 공용 스케줄러(@Scheduled)와 분리된 전용 스레드 사용
+        healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-health-check");
+            t.setDaemon(true);
+            return t;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, 0, healthCheckIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        replicas.forEach(r -> r.dataSource.close());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                Long userId = currentUserId();
+                if (userId != null) {
+                    recentWriters.put(userId, System.currentTimeMillis());
+                }
+            }
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+
+        Replica replica = recentlyWrote() ? null : pickReplica();
+        if (replica == null) {
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = replica.dataSource.getConnection();
+            replicaConnections.increment();
+            return connection;
+        } catch (SQLException e) {
+            markDown(replica, e);
+            fallbackConnections.increment();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Hikari 와 같이 풀 자격 증명만 지원 (DataSource 계약상 SQLException 계열로 알림)
+        throw new SQLFeatureNotSupportedException("Routing datasource uses pool credentials");
+    }
+
+    private Replica pickReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica candidate = replicas.get((start + i) % size);
+            if (candidate.healthy) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private boolean recentlyWrote() {
+        if (readAfterWriteMs <= 0) {
+            return false;
+        }
+        Long userId = currentUserId();
+        if (userId == null) {
+            return false;
+        }
+        Long wroteAt = recentWriters.get(userId);
+        return wroteAt != null && System.currentTimeMillis() - wroteAt < readAfterWriteMs;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Connection validation failed");
+                }
+                if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("Read replica {} is healthy", replica.dataSource.getPoolName());
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!replica.checked) {
+                    log.warn("Read replica {} is unavailable, routing reads to primary: {}",
+                            replica.dataSource.getPoolName(), e.getMessage());
+                }
+                markDown(replica, e);
+            }
+            replica.checked = true;
+        }
+        long cutoff = System.currentTimeMillis() - readAfterWriteMs;
+        recentWriters.values().removeIf(wroteAt -> wroteAt < cutoff);
+    }
+
+    private void markDown(Replica replica, Exception e) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Read replica {} marked down, routing reads to primary: {}",
+                    replica.dataSource.getPoolName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.portfolio.optimizer.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 주기 작업(@Scheduled) 활성화
+ * 최적화 컨텍스트 만료 정리 등 백그라운드 작업에 사용
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,119 @@
+package com.portfolio.optimizer.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL 계측 (sql.instrumentation.enabled=false 로 끔)
+ *
+ * - 애플리케이션 DataSource(빈 이름 dataSource)를 InstrumentedDataSource 로 감싼다.
+ *   복제본 라우팅 사용 시에도 라우팅 앞단 하나만 감싸므로 문장은 한 번씩만 센다.
+ * - 저장소 빈(Spring Data / @Repository)에 인터셉터를 붙여 실행 중인 저장소 메서드를 표시한다.
+ * - HTTP 요청 경계는 보안 필터보다 앞선 SqlStatsFilter 가 잡는다 (인증 중 조회도 포함).
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfig {
+
+    @Bean
+    public SqlStatsCollector sqlStatsCollector(MeterRegistry meterRegistry,
+                                               @Value("${sql.nplusone.threshold:10}") int nPlusOneThreshold) {
+        return new SqlStatsCollector(meterRegistry, Math.max(2, nPlusOneThreshold));
+    }
+
+    @Bean
+    public SqlStatsEndpoint sqlStatsEndpoint(SqlStatsCollector sqlStatsCollector) {
+        return new SqlStatsEndpoint(sqlStatsCollector);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter(
+            SqlStatsCollector sqlStatsCollector,
+            @Value("${sql.budget.endpoints:}") String endpointBudgets,
+            @Value("${sql.budget.default:0}") int defaultBudget,
+            @Value("${sql.budget.enforce:false}") boolean enforce) {
+        FilterRegistrationBean<SqlStatsFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatsFilter(sqlStatsCollector, parseBudgets(endpointBudgets), defaultBudget, enforce));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * "GET /api/portfolios:3,GET /api/portfolios/{id}:2" -> {엔드포인트: 최대 문장 수}
+     */
+    static Map<String, Integer> parseBudgets(String value) {
+        Map<String, Integer> budgets = new HashMap<>();
+        for (String entry : StringUtils.commaDelimitedListToStringArray(value)) {
+            int colon = entry.lastIndexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String endpoint = entry.substring(0, colon).trim().replaceAll("\\s+", " ");
+            budgets.put(endpoint, Integer.parseInt(entry.substring(colon + 1).trim()));
+        }
+        return budgets;
+    }
+
+    /**
+     * 컬렉터는 첫 사용 시점에 조회 (BeanPostProcessor 는 다른 빈보다 먼저 만들어지므로)
+     */
+    @Bean
+    public static BeanPostProcessor sqlInstrumentationPostProcessor(ObjectProvider<SqlStatsCollector> collector) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return new InstrumentedDataSource(dataSource, collector::getObject);
+                }
+                if (isRepository(bean)) {
+                    return label(bean, StringUtils.capitalize(beanName), collector);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static boolean isRepository(Object bean) {
+        return bean instanceof Repository<?, ?>
+                || AnnotatedElementUtils.hasAnnotation(AopUtils.getTargetClass(bean),
+                org.springframework.stereotype.Repository.class);
+    }
+
+    private static Object label(Object bean, String repository, ObjectProvider<SqlStatsCollector> collector) {
+        MethodInterceptor interceptor = invocation -> {
+            SqlStatsCollector stats = collector.getObject();
+            String previous = stats.enterRepository(repository + "." + invocation.getMethod().getName());
+            try {
+                return invocation.proceed();
+            } finally {
+                stats.restoreRepository(previous);
+            }
+        };
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(proxyFactory.getProxiedInterfaces().length == 0);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy();
+    }
+}
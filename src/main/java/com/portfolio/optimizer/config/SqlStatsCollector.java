@@ -0,0 +1,326 @@
+package com.portfolio.optimizer.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 실행 통계 (요청별 / 저장소 메서드별)
+ *
+ * InstrumentedDataSource 가 문장 실행과 결과 행마다 호출하고, SqlStatsFilter 가 HTTP 요청 경계를,
+ * 저장소 인터셉터가 현재 저장소 메서드를 스레드 로컬에 표시한다.
+ * 한 요청에서 같은 형태(리터럴/IN 목록을 ? 로 정규화)의 문장이 임계값 이상 반복되면 N+1 로 기록한다.
+ */
+@Slf4j
+public class SqlStatsCollector {
+
+    public static final String NO_REPOSITORY = "none";
+    private static final int RECENT_DETECTIONS = 50;
+    private static final int MAX_SHAPE_CACHE = 10_000;
+    private static final int MAX_SHAPE_LENGTH = 300;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * 요청 하나의 SQL 통계 (요청 스레드 전용)
+     */
+    @Getter
+    public static final class RequestStats {
+        private int statements;
+        private long rows;
+        private long nanos;
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private final Map<String, String> shapeRepositories = new HashMap<>();
+        private final List<String> repeatedShapes = new ArrayList<>();
+    }
+
+    /**
+     * N+1 감지 기록
+     */
+    public record Detection(Instant at, String endpoint, String repository, String shape, int count) {
+    }
+
+    private static final class EndpointStats {
+        final LongAdder requests = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        final LongAdder rows = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAdder nPlusOneRequests = new LongAdder();
+        final LongAdder overBudget = new LongAdder();
+        final DistributionSummary statementSummary;
+        final DistributionSummary rowSummary;
+        final Timer time;
+        final Counter nPlusOne;
+        final Counter budgetExceeded;
+
+        EndpointStats(MeterRegistry registry, String method, String uri) {
+            statementSummary = DistributionSummary.builder("sql.request.statements")
+                    .description("JDBC statements executed per HTTP request")
+                    .tag("method", method).tag("uri", uri)
+                    .register(registry);
+            rowSummary = DistributionSummary.builder("sql.request.rows")
+                    .description("Result rows read per HTTP request")
+                    .tag("method", method).tag("uri", uri)
+                    .register(registry);
+            time = Timer.builder("sql.request.time")
+                    .description("Total JDBC execution time per HTTP request")
+                    .tag("method", method).tag("uri", uri)
+                    .register(registry);
+            nPlusOne = Counter.builder("sql.request.nplusone")
+                    .description("Requests that repeated one statement shape above the N+1 threshold")
+                    .tag("method", method).tag("uri", uri)
+                    .register(registry);
+            budgetExceeded = Counter.builder("sql.request.budget.exceeded")
+                    .description("Requests that executed more statements than the endpoint query budget")
+                    .tag("method", method).tag("uri", uri)
+                    .register(registry);
+        }
+    }
+
+    private static final class RepositoryStats {
+        final LongAdder statements = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final Timer time;
+        final Counter rowCounter;
+
+        RepositoryStats(MeterRegistry registry, String repository) {
+            time = Timer.builder("sql.repository.time")
+                    .description("JDBC statement time by repository method")
+                    .tag("repository", repository)
+                    .register(registry);
+            rowCounter = Counter.builder("sql.repository.rows")
+                    .description("Result rows read by repository method")
+                    .tag("repository", repository)
+                    .register(registry);
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+    private final ThreadLocal<RequestStats> currentRequest = new ThreadLocal<>();
+    private final ThreadLocal<String> currentRepository = new ThreadLocal<>();
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, RepositoryStats> repositories = new ConcurrentHashMap<>();
+    private final Map<String, String> shapeCache = new ConcurrentHashMap<>();
+    private final Deque<Detection> detections = new ArrayDeque<>();
+
+    public SqlStatsCollector(MeterRegistry meterRegistry, int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    public void beginRequest() {
+        currentRequest.set(new RequestStats());
+    }
+
+    /**
+     * 요청 종료 - 엔드포인트 집계/지표 반영 후 요청 통계 반환 (begin 없이 호출되면 null)
+     */
+    public RequestStats endRequest(String method, String uri) {
+        RequestStats stats = currentRequest.get();
+        currentRequest.remove();
+        if (stats == null) {
+            return null;
+        }
+        EndpointStats endpoint = endpoints.computeIfAbsent(method + " " + uri,
+                k -> new EndpointStats(meterRegistry, method, uri));
+        endpoint.requests.increment();
+        endpoint.statements.add(stats.statements);
+        endpoint.maxStatements.accumulate(stats.statements);
+        endpoint.rows.add(stats.rows);
+        endpoint.nanos.add(stats.nanos);
+        endpoint.statementSummary.record(stats.statements);
+        endpoint.rowSummary.record(stats.rows);
+        endpoint.time.record(stats.nanos, TimeUnit.NANOSECONDS);
+
+        if (!stats.repeatedShapes.isEmpty()) {
+            endpoint.nPlusOneRequests.increment();
+            endpoint.nPlusOne.increment();
+            for (String shape : stats.repeatedShapes) {
+                int count = stats.shapes.get(shape);
+                String repository = stats.shapeRepositories.get(shape);
+                log.warn("Possible N+1 on {} {}: {} x [{}] via {}", method, uri, count, shape, repository);
+                synchronized (detections) {
+                    if (detections.size() >= RECENT_DETECTIONS) {
+                        detections.removeFirst();
+                    }
+                    detections.addLast(new Detection(Instant.now(), method + " " + uri, repository, shape, count));
+                }
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 예산 초과 기록 (SqlStatsFilter 에서 호출)
+     */
+    public void budgetExceeded(String method, String uri) {
+        EndpointStats endpoint = endpoints.get(method + " " + uri);
+        if (endpoint != null) {
+            endpoint.overBudget.increment();
+            endpoint.budgetExceeded.increment();
+        }
+    }
+
+    /**
+     * 저장소 메서드 진입 - 이전 값을 반환하므로 호출 측에서 종료 시 restoreRepository 로 복원
+     */
+    public String enterRepository(String repository) {
+        String previous = currentRepository.get();
+        currentRepository.set(repository);
+        return previous;
+    }
+
+    public void restoreRepository(String previous) {
+        if (previous == null) {
+            currentRepository.remove();
+        } else {
+            currentRepository.set(previous);
+        }
+    }
+
+    public String currentRepositoryOrNone() {
+        String repository = currentRepository.get();
+        return repository != null ? repository : NO_REPOSITORY;
+    }
+
+    /**
+     * 문장 실행 기록
+     * @return 결과 행을 귀속시킬 저장소 메서드
+     */
+    public String statement(String sql, long nanos) {
+        String repository = currentRepositoryOrNone();
+        RepositoryStats repositoryStats = repositories.computeIfAbsent(repository, k -> new RepositoryStats(meterRegistry, k));
+        repositoryStats.statements.increment();
+        repositoryStats.nanos.add(nanos);
+        repositoryStats.time.record(nanos, TimeUnit.NANOSECONDS);
+
+        RequestStats stats = currentRequest.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.nanos += nanos;
+            String shape = shape(sql);
+            int count = stats.shapes.merge(shape, 1, Integer::sum);
+            if (count == 1) {
+                stats.shapeRepositories.put(shape, repository);
+            } else if (count == nPlusOneThreshold) {
+                stats.repeatedShapes.add(shape);
+            }
+        }
+        return repository;
+    }
+
+    public void row(String repository) {
+        RepositoryStats stats = repositories.get(repository);
+        if (stats != null) {
+            stats.rows.increment();
+            stats.rowCounter.increment();
+        }
+        RequestStats request = currentRequest.get();
+        if (request != null) {
+            request.rows++;
+        }
+    }
+
+    /**
+     * 리터럴/IN 목록/공백을 정규화한 문장 형태
+     */
+    String shape(String sql) {
+        if (sql == null) {
+            return "(batch)";
+        }
+        String cached = shapeCache.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        if (shape.length() > MAX_SHAPE_LENGTH) {
+            shape = shape.substring(0, MAX_SHAPE_LENGTH) + "...";
+        }
+        if (shapeCache.size() >= MAX_SHAPE_CACHE) {
+            shapeCache.clear();
+        }
+        shapeCache.put(sql, shape);
+        return shape;
+    }
+
+    /**
+     * actuator 조회용 요약 (엔드포인트는 요청당 평균 문장 수 내림차순)
+     */
+    public Map<String, Object> snapshot() {
+        List<Map<String, Object>> endpointList = new ArrayList<>();
+        endpoints.forEach((key, e) -> {
+            long requests = e.requests.sum();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", key);
+            row.put("requests", requests);
+            row.put("statements", e.statements.sum());
+            row.put("avgStatements", requests > 0 ? Math.round(e.statements.sum() * 100.0 / requests) / 100.0 : 0);
+            row.put("maxStatements", e.maxStatements.get());
+            row.put("rows", e.rows.sum());
+            row.put("sqlTimeMs", TimeUnit.NANOSECONDS.toMillis(e.nanos.sum()));
+            row.put("nPlusOneRequests", e.nPlusOneRequests.sum());
+            row.put("overBudgetRequests", e.overBudget.sum());
+            endpointList.add(row);
+        });
+        endpointList.sort(Comparator.comparingDouble((Map<String, Object> m) -> (double) m.get("avgStatements")).reversed());
+
+        List<Map<String, Object>> repositoryList = new ArrayList<>();
+        repositories.forEach((key, r) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("repository", key);
+            row.put("statements", r.statements.sum());
+            row.put("rows", r.rows.sum());
+            row.put("sqlTimeMs", TimeUnit.NANOSECONDS.toMillis(r.nanos.sum()));
+            repositoryList.add(row);
+        });
+        repositoryList.sort(Comparator.comparingLong((Map<String, Object> m) -> (long) m.get("statements")).reversed());
+
+        List<Detection> recent;
+        synchronized (detections) {
+            recent = new ArrayList<>(detections);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("nPlusOneThreshold", nPlusOneThreshold);
+        result.put("endpoints", endpointList);
+        result.put("repositories", repositoryList);
+        result.put("recentNPlusOne", recent);
+        return result;
+    }
+
+    /**
+     * 누적 요약/감지 기록 초기화 (Micrometer 지표는 유지)
+     */
+    public void reset() {
+        endpoints.clear();
+        repositories.clear();
+        synchronized (detections) {
+            detections.clear();
+        }
+    }
+}
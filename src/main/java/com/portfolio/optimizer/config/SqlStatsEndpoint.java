@@ -0,0 +1,30 @@
+package com.portfolio.optimizer.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * /actuator/sqlstats - 엔드포인트/저장소 메서드별 SQL 요약과 최근 N+1 감지 (DELETE 로 초기화)
+ */
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private final SqlStatsCollector collector;
+
+    public SqlStatsEndpoint(SqlStatsCollector collector) {
+        this.collector = collector;
+    }
+
+    @ReadOperation
+    public Map<String, Object> sqlStats() {
+        return collector.snapshot();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        collector.reset();
+    }
+}
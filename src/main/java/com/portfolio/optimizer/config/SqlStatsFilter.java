@@ -0,0 +1,81 @@
+package com.portfolio.optimizer.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * HTTP 요청 단위 SQL 통계 경계 + 쿼리 예산 검사
+ *
+ * 엔드포인트는 "메서드 URI 패턴" (예: GET /api/portfolios/{id}) 으로 집계한다.
+ * 예산(엔드포인트별, 없으면 기본값, 0 은 제한 없음)을 넘으면 경고 로그와 지표를 남기고,
+ * enforce 가 켜져 있으면 예외를 던져 요청을 실패시킨다 (테스트에서 쿼리 수 회귀 검출용 -
+ * 응답이 이미 커밋된 뒤라면 클라이언트에는 원래 응답이 전달될 수 있다).
+ */
+@Slf4j
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    private static final String UNMAPPED = "UNMAPPED";
+
+    private final SqlStatsCollector collector;
+    private final Map<String, Integer> budgets;
+    private final int defaultBudget;
+    private final boolean enforce;
+
+    public SqlStatsFilter(SqlStatsCollector collector, Map<String, Integer> budgets, int defaultBudget, boolean enforce) {
+        this.collector = collector;
+        this.budgets = budgets;
+        this.defaultBudget = defaultBudget;
+        this.enforce = enforce;
+    }
+
+    /**
+     * 예산 초과 (sql.budget.enforce=true 일 때)
+     */
+    public static class QueryBudgetExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public QueryBudgetExceededException(String message) {
+            super(message);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        collector.beginRequest();
+        String uri = UNMAPPED;
+        SqlStatsCollector.RequestStats stats;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                uri = pattern.toString();
+            }
+            stats = collector.endRequest(request.getMethod(), uri);
+        }
+        if (stats == null || stats.getStatements() == 0) {
+            return;
+        }
+
+        String endpoint = request.getMethod() + " " + uri;
+        int budget = budgets.getOrDefault(endpoint, defaultBudget);
+        if (budget > 0 && stats.getStatements() > budget) {
+            collector.budgetExceeded(request.getMethod(), uri);
+            String message = "Query budget exceeded for " + endpoint + ": " + stats.getStatements()
+                    + " statements (budget " + budget + ")";
+            if (enforce) {
+                throw new QueryBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+    }
+}
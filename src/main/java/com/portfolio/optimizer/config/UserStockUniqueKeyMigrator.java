@@ -0,0 +1,131 @@
+package com.portfolio.optimizer.config;
+
+import com.portfolio.optimizer.service.UserStockService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * user_stock (user_id, ticker) 유니크 키 보장
+ *
+ * 이전 버전의 조회 후 저장 방식은 동시 추가 시 같은 종목을 중복 저장할 수 있었고, 중복 행이 남아 있으면
+ * ddl-auto=update 의 유니크 제약 생성이 실패한다. 제약이 없으면 중복 행을 addStock 과 같은 가중 평균으로
+ * 가장 오래된 행에 합친 뒤 제약을 추가한다. 제약이 이미 있으면 아무것도 하지 않는다.
+ */
+@Component
+@Slf4j
+public class UserStockUniqueKeyMigrator {
+
+    private static final String TABLE = "user_stock";
+    private static final String CONSTRAINT = "uk_user_stock_user_ticker";
+    private static final Set<String> KEY_COLUMNS = Set.of("user_id", "ticker");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserStockUniqueKeyMigrator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        try {
+            if (hasUniqueKey()) {
+                return;
+            }
+            int merged = mergeDuplicates();
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + CONSTRAINT + " UNIQUE (user_id, ticker)");
+            log.info("Added unique key {} on {} after merging {} duplicate holdings", CONSTRAINT, TABLE, merged);
+        } catch (RuntimeException e) {
+            log.warn("Could not ensure unique key {} on {}: {}", CONSTRAINT, TABLE, e.getMessage());
+        }
+    }
+
+    private boolean hasUniqueKey() {
+        Boolean found = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // 식별자 대소문자 규칙이 DB 마다 달라 그대로/대문자/소문자 모두 조회
+            for (String table : List.of(TABLE, TABLE.toUpperCase(), TABLE.toLowerCase())) {
+                Map<String, Set<String>> indexColumns = new HashMap<>();
+                try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, table, true, false)) {
+                    while (rs.next()) {
+                        String index = rs.getString("INDEX_NAME");
+                        String column = rs.getString("COLUMN_NAME");
+                        if (index != null && column != null) {
+                            indexColumns.computeIfAbsent(index, k -> new HashSet<>()).add(column.toLowerCase());
+                        }
+                    }
+                }
+                if (indexColumns.values().stream().anyMatch(KEY_COLUMNS::equals)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(found);
+    }
+
+    /**
+     * 중복 그룹마다 한 트랜잭션: id 순으로 수량 합산/평균가 누적, 현재가는 마지막 행 값
+     */
+    private int mergeDuplicates() {
+        List<Map<String, Object>> groups = jdbcTemplate.queryForList(
+                "SELECT user_id, ticker FROM " + TABLE + " GROUP BY user_id, ticker HAVING COUNT(*) > 1");
+        int removed = 0;
+        for (Map<String, Object> group : groups) {
+            Integer count = transactionTemplate.execute(status -> mergeGroup(
+                    ((Number) group.get("user_id")).longValue(), (String) group.get("ticker")));
+            removed += count != null ? count : 0;
+        }
+        return removed;
+    }
+
+    private int mergeGroup(long userId, String ticker) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, quantity, purchase_price, current_price FROM " + TABLE
+                        + " WHERE user_id = ? AND ticker = ? ORDER BY id FOR UPDATE", userId, ticker);
+        if (rows.size() < 2) {
+            return 0;
+        }
+
+        long keepId = ((Number) rows.get(0).get("id")).longValue();
+        BigDecimal quantity = decimal(rows.get(0).get("quantity"));
+        BigDecimal price = decimal(rows.get(0).get("purchase_price"));
+        BigDecimal currentPrice = (BigDecimal) rows.get(0).get("current_price");
+        for (Map<String, Object> row : rows.subList(1, rows.size())) {
+            BigDecimal rowQty = decimal(row.get("quantity"));
+            BigDecimal rowPrice = decimal(row.get("purchase_price"));
+            if (quantity.add(rowQty).signum() != 0) {
+                price = UserStockService.averagePrice(quantity, price, rowQty, rowPrice);
+            }
+            quantity = quantity.add(rowQty);
+            currentPrice = (BigDecimal) row.get("current_price");
+        }
+
+        jdbcTemplate.update("UPDATE " + TABLE + " SET quantity = ?, purchase_price = ?, current_price = ? WHERE id = ?",
+                quantity, price, currentPrice, keepId);
+        int deleted = jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE user_id = ? AND ticker = ? AND id <> ?",
+                userId, ticker, keepId);
+        log.info("Merged {} duplicate {} rows for user {} into id {}", deleted, ticker, userId, keepId);
+        return deleted;
+    }
+
+    private static BigDecimal decimal(Object value) {
+        return value != null ? (BigDecimal) value : BigDecimal.ZERO;
+    }
+}
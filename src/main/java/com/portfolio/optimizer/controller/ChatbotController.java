@@ -35,12 +35,12 @@ public class ChatbotController {
         log.info("Generating optimization summary for session: {}", sessionId);
         
         try {
-            // 최적화 결과 조회
-            if (!chatbotService.getOptimizationContextService().hasOptimizationResult(sessionId)) {
+            // 최적화 결과 조회 (공유 저장소 사용 시 다른 인스턴스의 결과도 조회됨)
+            var result = chatbotService.getOptimizationContextService().getOptimizationResult(sessionId);
+            if (result == null) {
                 return ResponseEntity.ok(new ChatResponse("최적화 결과를 찾을 수 없습니다."));
             }
             
-            var result = chatbotService.getOptimizationContextService().getOptimizationResult(sessionId);
             String summary = chatbotService.generateOptimizationSummary(result);
             
             return ResponseEntity.ok(new ChatResponse(summary));
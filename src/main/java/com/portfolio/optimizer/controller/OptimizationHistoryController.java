@@ -0,0 +1,70 @@
+package com.portfolio.optimizer.controller;
+
+import com.portfolio.optimizer.dto.OptimizationRunDto;
+import com.portfolio.optimizer.model.OptimizationResult;
+import com.portfolio.optimizer.service.OptimizationHistoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 저장된 최적화 결과 이력 API
+ * 과거 실행을 재최적화 없이 다시 열 수 있도록 제공
+ */
+@RestController
+@RequestMapping("/api/optimization-results")
+@RequiredArgsConstructor
+@Slf4j
+public class OptimizationHistoryController {
+
+    private final OptimizationHistoryService optimizationHistoryService;
+
+    /**
+     * 최적화 이력 목록 (최신순, 헤드라인 지표만)
+     */
+    @GetMapping
+    public ResponseEntity<?> listRuns(
+            @RequestParam(required = false) Long portfolioId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            List<OptimizationRunDto> runs = optimizationHistoryService.listRuns(portfolioId, from, to, limit);
+            log.debug("[OptimizationHistoryController] Returning {} optimization runs", runs.size());
+            return ResponseEntity.ok(runs);
+        } catch (RuntimeException e) {
+            log.warn("[OptimizationHistoryController] Failed to list optimization runs: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * 저장된 최적화 결과 전체 조회
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getResult(@PathVariable Long id) {
+        try {
+            OptimizationResult result = optimizationHistoryService.getResult(id);
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            log.warn("[OptimizationHistoryController] Failed to load optimization result {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteRun(@PathVariable Long id) {
+        try {
+            optimizationHistoryService.deleteRun(id);
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            log.warn("[OptimizationHistoryController] Failed to delete optimization result {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
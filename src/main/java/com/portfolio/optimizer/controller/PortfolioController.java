@@ -1,10 +1,15 @@
 package com.portfolio.optimizer.controller;
 
 import com.portfolio.optimizer.dto.OptimizationRequest;
+import com.portfolio.optimizer.dto.StressTestRequest;
+import com.portfolio.optimizer.dto.WalkForwardRequest;
 import com.portfolio.optimizer.model.OptimizationResult;
+import com.portfolio.optimizer.service.MarketDataService;
 import com.portfolio.optimizer.service.OptimizationContextService;
+import com.portfolio.optimizer.service.OptimizationHistoryService;
 import com.portfolio.optimizer.service.PortfolioService;
 import com.portfolio.optimizer.service.PythonIntegrationService;
+import com.portfolio.optimizer.service.StressTestService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -20,14 +25,18 @@ import java.util.Map;
 public class PortfolioController {
     
     private final PortfolioService portfolioService;
-    private final PythonIntegrationService pythonIntegrationService;
+    private final MarketDataService marketDataService;
     private final OptimizationContextService optimizationContextService;
+    private final OptimizationHistoryService optimizationHistoryService;
+    private final StressTestService stressTestService;
+    private final PythonIntegrationService pythonIntegrationService;
     
     @GetMapping("/stock-price/{symbol}")
     public ResponseEntity<Map<String, Object>> getStockPrice(@PathVariable String symbol) {
         log.info("Fetching stock price for: {}", symbol);
         try {
-            Map<String, Object> stockData = pythonIntegrationService.fetchStockData(symbol, "1d");
+            // Python 프로세스 대신 in-process 시세 조회 (캐시 공유)
+            Map<String, Object> stockData = marketDataService.getStockPriceInKrw(symbol);
             return ResponseEntity.ok(stockData);
         } catch (Exception e) {
             log.error("Error fetching stock price for: {}", symbol, e);
@@ -51,10 +60,19 @@ public class PortfolioController {
             ));
         }
         
-        log.info("Received optimization request for {} stocks using method: HYBRID", request.getStocks().size());
+        // 요청의 optimizationMethod 와 관계없이 항상 HYBRID 로 실행하며, 이력에도 실제 실행한 방법을 기록
+        String method = "HYBRID";
+        log.info("Received optimization request for {} stocks using method: {}", request.getStocks().size(), method);
         
         try {
-            OptimizationResult result = portfolioService.optimizePortfolio(request, "HYBRID");
+            OptimizationResult result = portfolioService.optimizePortfolio(request, method);
+            
+            // 최적화 이력 저장 (실패해도 최적화 결과는 반환)
+            try {
+                result.setResultId(optimizationHistoryService.recordRun(request, method, result));
+            } catch (Exception e) {
+                log.warn("Failed to record optimization history: {}", e.getMessage());
+            }
             
             // 최적화 결과를 세션에 저장 (챗봇이 참조할 수 있도록)
             String sessionId = request.getSessionId();
@@ -74,5 +92,45 @@ public class PortfolioController {
         }
     }
     
+    /**
+     * 스트레스 테스트 시나리오 목록
+     */
+    @GetMapping("/stress-test/scenarios")
+    public ResponseEntity<?> getStressScenarios() {
+        return ResponseEntity.ok(stressTestService.getScenarios());
+    }
+    
+    /**
+     * 과거 시나리오 스트레스 테스트 (allocation / currentAllocation 동시 평가)
+     */
+    @PostMapping("/stress-test")
+    public ResponseEntity<?> runStressTest(@RequestBody StressTestRequest request) {
+        try {
+            return ResponseEntity.ok(stressTestService.run(request));
+        } catch (RuntimeException e) {
+            log.warn("Stress test failed: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "스트레스 테스트 실패",
+                "message", e.getMessage() != null ? e.getMessage() : "알 수 없는 오류가 발생했습니다."
+            ));
+        }
+    }
+    
+    /**
+     * 워크포워드 최적화 검증 (롤링 학습 구간 재최적화 -> 보유 -> 전진, 표본 외 성과)
+     */
+    @PostMapping("/walk-forward")
+    public ResponseEntity<?> runWalkForward(@RequestBody WalkForwardRequest request) {
+        try {
+            return ResponseEntity.ok(pythonIntegrationService.runWalkForward(request));
+        } catch (RuntimeException e) {
+            log.warn("Walk-forward study failed: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "워크포워드 검증 실패",
+                "message", e.getMessage() != null ? e.getMessage() : "알 수 없는 오류가 발생했습니다."
+            ));
+        }
+    }
+    
     // stocks 테이블 제거로 인해 DELETE /api/portfolio/stocks 엔드포인트 삭제됨
 }
@@ -1,13 +1,19 @@
 package com.portfolio.optimizer.controller;
 
 import com.portfolio.optimizer.dto.PortfolioDto;
+import com.portfolio.optimizer.model.OptimizationResult;
+import com.portfolio.optimizer.service.OptimizationHistoryService;
 import com.portfolio.optimizer.service.PortfolioManagementService;
+import com.portfolio.optimizer.service.PortfolioValueHistoryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/portfolios")
@@ -17,6 +23,12 @@ public class PortfolioManagementController {
     @Autowired
     private PortfolioManagementService portfolioService;
 
+    @Autowired
+    private OptimizationHistoryService optimizationHistoryService;
+
+    @Autowired
+    private PortfolioValueHistoryService portfolioValueHistoryService;
+
     @GetMapping
     public ResponseEntity<?> getUserPortfolios() {
         try {
@@ -35,6 +47,69 @@ public class PortfolioManagementController {
         }
     }
 
+    /**
+     * 포트폴리오 키셋 페이지 (종목 포함, 최신순) - 다음 페이지는 응답의 nextCursor 로 요청
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getPortfolioPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(portfolioService.getPortfolioPage(cursor, limit));
+        } catch (RuntimeException e) {
+            log.warn("Failed to fetch portfolio page: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * 포트폴리오 요약 목록 (이름, 예산, 종목 수 - 종목 미포함, 키셋 페이지)
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<?> getPortfolioSummaries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(portfolioService.getPortfolioSummaries(cursor, limit));
+        } catch (RuntimeException e) {
+            log.warn("Failed to fetch portfolio summaries: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * 전체 포트폴리오 평가금액 합계 차트 (from/to 기본: 최근 1년, width: 차트에 그릴 점 개수)
+     */
+    @GetMapping("/value-history")
+    public ResponseEntity<?> getValueHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "120") int width) {
+        try {
+            return ResponseEntity.ok(portfolioValueHistoryService.getUserSeries(from, to, width));
+        } catch (RuntimeException e) {
+            log.warn("Failed to fetch value history: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * 포트폴리오 평가금액 차트 (해상도는 width 를 채우는 가장 굵은 단위로 자동 선택)
+     */
+    @GetMapping("/{id}/value-history")
+    public ResponseEntity<?> getPortfolioValueHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "120") int width) {
+        try {
+            return ResponseEntity.ok(portfolioValueHistoryService.getPortfolioSeries(id, from, to, width));
+        } catch (RuntimeException e) {
+            log.warn("Failed to fetch value history for portfolio {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<PortfolioDto> getPortfolio(@PathVariable Long id) {
         try {
@@ -64,4 +139,43 @@ public class PortfolioManagementController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    /**
+     * 포트폴리오에 고정된 최적화 결과 조회
+     */
+    @GetMapping("/{id}/pinned-result")
+    public ResponseEntity<?> getPinnedResult(@PathVariable Long id) {
+        try {
+            OptimizationResult result = optimizationHistoryService.getPinnedResult(id);
+            if (result == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * 최적화 결과를 포트폴리오에 고정 (body: {"resultId": 123})
+     */
+    @PutMapping("/{id}/pinned-result")
+    public ResponseEntity<?> pinResult(@PathVariable Long id, @RequestBody Map<String, Long> body) {
+        try {
+            optimizationHistoryService.pinResult(id, body.get("resultId"));
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}/pinned-result")
+    public ResponseEntity<?> unpinResult(@PathVariable Long id) {
+        try {
+            optimizationHistoryService.pinResult(id, null);
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,62 @@
+package com.portfolio.optimizer.controller;
+
+import com.portfolio.optimizer.dto.PriceAlertDto;
+import com.portfolio.optimizer.service.PriceAlertService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 가격 알림 컨트롤러
+ * 기준가 돌파/이탈 시 이메일 알림
+ */
+@RestController
+@RequestMapping("/api/alerts")
+@Slf4j
+public class PriceAlertController {
+
+    @Autowired
+    private PriceAlertService priceAlertService;
+
+    /**
+     * 사용자의 알림 목록
+     */
+    @GetMapping
+    public ResponseEntity<?> getAlerts() {
+        try {
+            return ResponseEntity.ok(priceAlertService.getAlerts());
+        } catch (RuntimeException e) {
+            log.warn("[PriceAlertController] Failed to fetch alerts: {}", e.getMessage());
+            return ResponseEntity.status(401).body(e.getMessage());
+        }
+    }
+
+    /**
+     * 알림 등록 (ticker 또는 userStockId, direction=ABOVE|BELOW, thresholdPrice)
+     */
+    @PostMapping
+    public ResponseEntity<?> createAlert(@RequestBody PriceAlertDto dto) {
+        try {
+            PriceAlertDto saved = priceAlertService.createAlert(dto);
+            return ResponseEntity.ok(saved);
+        } catch (RuntimeException e) {
+            log.error("[PriceAlertController] Failed to create alert: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * 알림 삭제
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteAlert(@PathVariable Long id) {
+        try {
+            priceAlertService.deleteAlert(id);
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            log.error("[PriceAlertController] Failed to delete alert: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
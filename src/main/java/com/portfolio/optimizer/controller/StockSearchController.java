@@ -1,17 +1,25 @@
 package com.portfolio.optimizer.controller;
 
+import com.portfolio.optimizer.service.MarketDataService;
+import com.portfolio.optimizer.service.UpstreamHttpGateway;
+import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 @RestController
 @RequestMapping("/api/stocks")
 @CrossOrigin(origins = "*")
+@RequiredArgsConstructor
 public class StockSearchController {
 
+    private final MarketDataService marketDataService;
+    private final UpstreamHttpGateway gateway;
+
     // 한국 주식 목록 (한국어 이름 매핑)
     private static final Map<String, String[]> KOREAN_STOCKS = new HashMap<String, String[]>() {{
         // {티커, 영문명, 한글명}
@@ -122,10 +130,10 @@ public class StockSearchController {
         
         // 로컬 검색 결과가 없으면 Yahoo Finance API 시도
         try {
-            String url = "https://query2.finance.yahoo.com/v1/finance/search?q=" + query + "&quotesCount=20&newsCount=0";
+            String url = "https://query2.finance.yahoo.com/v1/finance/search?q="
+                    + URLEncoder.encode(query, StandardCharsets.UTF_8) + "&quotesCount=20&newsCount=0";
             
-            RestTemplate restTemplate = new RestTemplate();
-            String response = restTemplate.getForObject(url, String.class);
+            String response = gateway.get(UpstreamHttpGateway.YAHOO, url, Map.of("User-Agent", "Mozilla/5.0"));
             
             ObjectMapper mapper = new ObjectMapper();
             JsonNode root = mapper.readTree(response);
@@ -168,100 +176,13 @@ public class StockSearchController {
         return results;
     }
     
-    // 간단한 가격 캐시 (5분간 유효)
-    private static final Map<String, PriceCache> priceCache = new HashMap<>();
-    
-    private static class PriceCache {
-        Map<String, Object> data;
-        long timestamp;
-        
-        PriceCache(Map<String, Object> data) {
-            this.data = data;
-            this.timestamp = System.currentTimeMillis();
-        }
-        
-        boolean isValid() {
-            return (System.currentTimeMillis() - timestamp) < 300000; // 5분
-        }
-    }
-    
     @GetMapping("/price/{ticker}")
     public Map<String, Object> getCurrentPrice(@PathVariable String ticker) {
         System.out.println("=== 현재가 조회 ===");
         System.out.println("티커: " + ticker);
         
-        // 캐시 확인
-        PriceCache cached = priceCache.get(ticker);
-        if (cached != null && cached.isValid()) {
-            System.out.println("✅ 캐시에서 가격 반환");
-            return cached.data;
-        }
-        
-        Map<String, Object> result = new HashMap<>();
-        int maxRetries = 3;
-        int retryDelay = 1000; // 1초
-        
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
-            try {
-                if (attempt > 1) {
-                    System.out.println("재시도 " + attempt + "/" + maxRetries);
-                    Thread.sleep(retryDelay * attempt); // 지수 백오프
-                }
-                
-                String url = "https://query1.finance.yahoo.com/v8/finance/chart/" + ticker;
-                
-                RestTemplate restTemplate = new RestTemplate();
-                restTemplate.getInterceptors().add((request, body, execution) -> {
-                    request.getHeaders().add("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36");
-                    return execution.execute(request, body);
-                });
-                
-                String response = restTemplate.getForObject(url, String.class);
-                
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(response);
-                JsonNode chart = root.path("chart").path("result").get(0);
-                
-                if (chart != null) {
-                    JsonNode meta = chart.path("meta");
-                    double currentPrice = meta.path("regularMarketPrice").asDouble();
-                    double previousClose = meta.path("previousClose").asDouble();
-                    String currency = meta.path("currency").asText();
-                    
-                    result.put("ticker", ticker);
-                    result.put("currentPrice", currentPrice);
-                    result.put("previousClose", previousClose);
-                    result.put("change", currentPrice - previousClose);
-                    result.put("changePercent", ((currentPrice - previousClose) / previousClose) * 100);
-                    result.put("currency", currency);
-                    result.put("success", true);
-                    
-                    // 캐시 저장
-                    priceCache.put(ticker, new PriceCache(result));
-                    
-                    System.out.println("✅ 현재가: " + currentPrice + " " + currency);
-                    return result;
-                } else {
-                    result.put("success", false);
-                    result.put("error", "데이터를 가져올 수 없습니다");
-                }
-            } catch (Exception e) {
-                System.err.println("❌ 가격 조회 오류 (시도 " + attempt + "/" + maxRetries + "): " + e.getMessage());
-                
-                if (attempt == maxRetries) {
-                    result.put("success", false);
-                    result.put("error", e.getMessage());
-                    
-                    // 최근 캐시라도 반환 (만료되었어도)
-                    if (cached != null) {
-                        System.out.println("⚠️ 만료된 캐시 반환");
-                        return cached.data;
-                    }
-                }
-            }
-        }
-        
-        return result;
+        // MarketDataService 캐시 공유 (/api/portfolio/stock-price 와 동일)
+        return marketDataService.getPriceResponse(ticker);
     }
     
     @GetMapping("/popular")
@@ -1,13 +1,19 @@
 package com.portfolio.optimizer.controller;
 
+import com.portfolio.optimizer.dto.HoldingsImportResultDto;
 import com.portfolio.optimizer.dto.UserStockDto;
+import com.portfolio.optimizer.service.HoldingsImportService;
 import com.portfolio.optimizer.service.UserStockService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 사용자 보유 종목 관리 컨트롤러
@@ -21,6 +27,9 @@ public class UserStockController {
     @Autowired
     private UserStockService userStockService;
     
+    @Autowired
+    private HoldingsImportService holdingsImportService;
+    
     /**
      * 사용자의 모든 보유 종목 조회
      */
@@ -37,6 +46,47 @@ public class UserStockController {
         }
     }
     
+    /**
+     * 보유 종목 키셋 페이지 (최신순) - 다음 페이지는 응답의 nextCursor 로 요청
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getUserStocksPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(userStockService.getUserStocksPage(cursor, limit));
+        } catch (RuntimeException e) {
+            log.warn("[UserStockController] Failed to fetch user stock page: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+    
+    /**
+     * 보유 종목 실시간 평가 (평가금액, 손익, 비중)
+     */
+    @GetMapping("/valuation")
+    public ResponseEntity<?> getValuation() {
+        try {
+            return ResponseEntity.ok(userStockService.getValuation());
+        } catch (RuntimeException e) {
+            log.warn("[UserStockController] Failed to compute valuation: {}", e.getMessage());
+            return ResponseEntity.status(401).body(e.getMessage());
+        }
+    }
+    
+    /**
+     * 보유 종목 평가 푸시 스트림 (SSE, event: valuation)
+     */
+    @GetMapping(value = "/valuation/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamValuation() {
+        try {
+            return ResponseEntity.ok(userStockService.subscribeValuation());
+        } catch (RuntimeException e) {
+            log.warn("[UserStockController] Failed to open valuation stream: {}", e.getMessage());
+            return ResponseEntity.status(401).build();
+        }
+    }
+    
     /**
      * 종목 추가
      */
@@ -53,6 +103,28 @@ public class UserStockController {
         }
     }
     
+    /**
+     * 증권사 CSV/TSV 파일로 보유 종목 일괄 가져오기 (multipart "file")
+     * 필수 컬럼: ticker, quantity, price / 선택: name, currency, currentPrice
+     * 가격은 currency(없으면 종목코드로 추정) 기준 금액이며, 저장 시 원화로 환산된다.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importStocks(@RequestParam("file") MultipartFile file) {
+        try {
+            log.debug("[UserStockController] POST /api/user-stocks/import - {} ({} bytes)",
+                    file.getOriginalFilename(), file.getSize());
+            HoldingsImportResultDto result = holdingsImportService.importHoldings(file);
+            log.info("[UserStockController] Imported {} rows ({} failed)", result.getRowsImported(), result.getRowsFailed());
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            log.error("[UserStockController] Failed to import stocks: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "보유 종목 가져오기 실패",
+                "message", e.getMessage() != null ? e.getMessage() : "알 수 없는 오류가 발생했습니다."
+            ));
+        }
+    }
+    
     /**
      * 종목 삭제
      */
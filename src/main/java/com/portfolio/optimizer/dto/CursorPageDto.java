@@ -0,0 +1,20 @@
+package com.portfolio.optimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 키셋(커서) 페이지 - 다음 페이지는 nextCursor 를 cursor 파라미터로 전달, 마지막 페이지면 null
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> items;
+    private String nextCursor;
+}
@@ -0,0 +1,35 @@
+package com.portfolio.optimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 보유 종목 일괄 가져오기 결과 (행 단위 오류 포함)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldingsImportResultDto {
+    private int rowsRead;       // 헤더/빈 줄 제외 데이터 행 수
+    private int rowsImported;   // 오류 없이 반영된 행 수
+    private int rowsFailed;
+    private int created;        // 새로 추가된 종목 수
+    private int updated;        // 기존 종목에 합산된 종목 수
+    private List<RowError> errors; // 최대 holdings.import.max.errors 건까지만 포함
+    private boolean errorsTruncated;
+    private long elapsedMs;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private int line;       // 파일 기준 줄 번호 (1부터, 헤더 포함)
+        private String ticker;
+        private String message;
+    }
+}
@@ -1,5 +1,6 @@
 package com.portfolio.optimizer.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,6 +14,7 @@ import java.util.Map;
 public class OptimizationRequest {
     
     private String sessionId; // 세션 ID (챗봇 컨텍스트용)
+    private Long portfolioId; // 저장된 포트폴리오 기준 최적화인 경우 (이력 연결용)
     private List<StockRequest> stocks;
     private Double totalInvestment;
     private Double targetReturn; // 목표 수익률 (%)
@@ -21,4 +23,6 @@ public class OptimizationRequest {
     private String optimizationMethod; // 최적화 방법 (MPT, BLACK_LITTERMAN, RISK_PARITY)
     private Boolean useRealData; // 실제 데이터 사용 여부
     private Map<String, Object> constraints; // 제약 조건
+    @JsonInclude(JsonInclude.Include.NON_NULL) // 미지정 요청의 입력 해시가 바뀌지 않도록
+    private Boolean amountsInKrw; // true 면 가격/금액이 이미 원화 (Python 의 USD→KRW 환산 생략)
 }
@@ -0,0 +1,27 @@
+package com.portfolio.optimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 최적화 이력 목록 항목 (payload 제외)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptimizationRunDto {
+    private Long id;
+    private Long portfolioId;
+    private String inputsHash;
+    private String method;
+    private Double expectedReturn;
+    private Double expectedRisk;
+    private Double sharpeRatio;
+    private Integer assetCount;
+    private LocalDateTime createdAt;
+}
@@ -19,6 +19,7 @@ public class PortfolioDto {
     private String baseCurrency;
     private BigDecimal totalBudget;
     private List<PortfolioAssetDto> assets;
+    private Long pinnedResultId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,27 @@
+package com.portfolio.optimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 포트폴리오 목록 항목 (종목은 로드하지 않고 개수만)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioSummaryDto {
+    private Long id;
+    private String name;
+    private String baseCurrency;
+    private BigDecimal totalBudget;
+    private Long assetCount;
+    private Long pinnedResultId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,24 @@
+package com.portfolio.optimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 보유 종목 평가 (원화 기준)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioValuationDto {
+    private double totalMarketValue;
+    private double totalCost;
+    private double unrealizedPnl;
+    private double unrealizedPnlPercent;
+    private long asOf; // 마지막 가격 반영 시각 (epoch ms)
+    private List<PositionValuationDto> positions;
+}
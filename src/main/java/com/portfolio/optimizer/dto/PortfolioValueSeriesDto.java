@@ -0,0 +1,38 @@
+package com.portfolio.optimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 평가금액 차트 시계열 (원화 기준)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioValueSeriesDto {
+    private Long portfolioId; // null 이면 사용자 전체 포트폴리오 합계
+    private String resolution; // DAILY, WEEKLY, MONTHLY
+    private LocalDate from;
+    private LocalDate to;
+    private List<Point> points;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        private LocalDate date; // 일자 또는 버킷 시작일 (주: 월요일, 월: 1일)
+        private LocalDate lastDate; // 버킷에서 마지막으로 기록된 날
+        private BigDecimal value; // 마지막 기록일 평가금액
+        private BigDecimal min; // 버킷 최소/최대/평균 (일별 점, 사용자 합계의 최소/최대는 null)
+        private BigDecimal max;
+        private BigDecimal average;
+    }
+}
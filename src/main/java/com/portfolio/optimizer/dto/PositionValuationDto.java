@@ -0,0 +1,27 @@
+package com.portfolio.optimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 종목별 평가 (원화 기준)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PositionValuationDto {
+    private Long id;
+    private String ticker;
+    private String name;
+    private double quantity;
+    private double purchasePrice;
+    private double currentPrice;
+    private double marketValue;
+    private double unrealizedPnl;
+    private double unrealizedPnlPercent;
+    private double weight; // 평가금액 비중 (0~1)
+    private long priceAsOf; // 0 이면 아직 시세 미반영 (저장된 가격 사용)
+}
@@ -0,0 +1,25 @@
+package com.portfolio.optimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceAlertDto {
+    private Long id;
+    private Long userStockId;
+    private String ticker;
+    private String direction; // ABOVE, BELOW
+    private BigDecimal thresholdPrice;
+    private Boolean active;
+    private BigDecimal triggeredPrice;
+    private LocalDateTime triggeredAt;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,29 @@
+package com.portfolio.optimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 시나리오 하나의 스트레스 테스트 결과 (수익률은 원화 기준 소수, -0.3 = -30%)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StressScenarioResultDto {
+    private String name;
+    private String label;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Double allocationReturn;
+    private Double currentAllocationReturn;
+    private Double allocationPnl;
+    private Double currentAllocationPnl;
+    private List<String> proxiedSymbols; // 해당 기간 데이터가 없어 시장 지수로 대체한 종목
+    private List<String> missingSymbols; // 대체 지수도 없어 0 으로 계산한 종목
+}
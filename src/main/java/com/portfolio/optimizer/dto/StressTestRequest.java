@@ -0,0 +1,20 @@
+package com.portfolio.optimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StressTestRequest {
+
+    private Long resultId; // 저장된 최적화 결과 기준 (allocation/currentAllocation 을 결과에서 읽음)
+    private Map<String, Double> allocation; // 최적화 비중 (합계로 정규화, % 또는 0~1 모두 가능)
+    private Map<String, Double> currentAllocation; // 현재 비중
+    private Double totalInvestment; // 주어지면 손익 금액도 계산
+    private List<String> scenarios; // 시나리오 이름 필터 (없으면 전체)
+}
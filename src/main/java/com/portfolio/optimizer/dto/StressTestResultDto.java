@@ -0,0 +1,20 @@
+package com.portfolio.optimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StressTestResultDto {
+    private List<StressScenarioResultDto> scenarios;
+    private String worstAllocationScenario;
+    private String worstCurrentAllocationScenario;
+    private List<String> unavailableSymbols; // 가격 이력을 가져오지 못해 전 시나리오를 지수로 대체한 종목
+    private long elapsedMs;
+}
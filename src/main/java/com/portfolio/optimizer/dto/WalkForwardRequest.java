@@ -0,0 +1,23 @@
+package com.portfolio.optimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalkForwardRequest {
+
+    private List<String> symbols;
+    private String optimizationMethod; // MPT, HYBRID, QAOA, EQUAL (기본 MPT)
+    private Integer trainingDays; // 학습 구간 거래일 수 (기본 252)
+    private Integer rebalanceDays; // 보유(리밸런싱 주기) 거래일 수 (기본 63)
+    private Double transactionCostBps; // 매매 금액 대비 편도 거래비용 (bp, 기본 10)
+    private Double riskLevel; // 1~10
+    private Integer years; // 조회할 과거 데이터 기간 (년, 기본 5)
+    private Map<String, Map<String, Double>> constraints; // {symbol: {min, max}}
+}
@@ -0,0 +1,95 @@
+package com.portfolio.optimizer.math;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 수치 커널 진입점
+ *
+ * 기동 시 한 번 구현을 고른다.
+ * - jdk.incubator.vector 모듈이 로드되어 있으면 (--add-modules jdk.incubator.vector) SimdVectorOps
+ * - 모듈이 없거나 -Dqfn.kernels.simd=false 이면 ScalarVectorOps
+ */
+@Slf4j
+public final class Kernels {
+
+    private static final VectorOps SCALAR = new ScalarVectorOps();
+    private static final VectorOps OPS = select();
+
+    private Kernels() {
+    }
+
+    private static VectorOps select() {
+        if (!Boolean.parseBoolean(System.getProperty("qfn.kernels.simd", "true"))) {
+            return SCALAR;
+        }
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            log.info("jdk.incubator.vector not enabled, using scalar kernels");
+            return SCALAR;
+        }
+        try {
+            VectorOps simd = new SimdVectorOps();
+            log.info("Using {} vector kernels", simd.name());
+            return simd;
+        } catch (LinkageError e) {
+            log.warn("Vector API unavailable ({}), using scalar kernels", e.toString());
+            return SCALAR;
+        }
+    }
+
+    /**
+     * 선택된 구현
+     */
+    public static VectorOps ops() {
+        return OPS;
+    }
+
+    /**
+     * 스칼라 구현 (비교/벤치마크용)
+     */
+    public static VectorOps scalar() {
+        return SCALAR;
+    }
+
+    public static double dot(double[] a, double[] b) {
+        return OPS.dot(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * y = M x (M: rows x cols, row-major)
+     */
+    public static double[] gemv(double[] m, int rows, int cols, double[] x) {
+        double[] y = new double[rows];
+        OPS.gemv(m, rows, cols, x, y);
+        return y;
+    }
+
+    /**
+     * wᵀ Σ w (Σ: n x n, row-major)
+     */
+    public static double quadraticForm(double[] cov, double[] w) {
+        return dot(w, gemv(cov, w.length, w.length, w));
+    }
+
+    /**
+     * 표본 공분산 (자산별 수익률 시계열, 길이 동일) -> n x n row-major
+     */
+    public static double[] covariance(double[][] series) {
+        int n = series.length;
+        int t = series[0].length;
+        double[] centered = new double[n * t];
+        for (int i = 0; i < n; i++) {
+            double[] row = series[i];
+            double mean = 0;
+            for (int k = 0; k < t; k++) {
+                mean += row[k];
+            }
+            mean /= t;
+            for (int k = 0; k < t; k++) {
+                centered[i * t + k] = row[k] - mean;
+            }
+        }
+        double[] out = new double[n * n];
+        OPS.covariance(centered, n, t, out);
+        return out;
+    }
+}
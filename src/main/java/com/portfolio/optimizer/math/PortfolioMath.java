@@ -0,0 +1,137 @@
+package com.portfolio.optimizer.math;
+
+import com.portfolio.optimizer.model.OptimizationResult;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * optimize_portfolio.py 의 포트폴리오 지표 계산 JVM 포팅
+ * (calculate_portfolio_metrics, generate_efficient_frontier)
+ *
+ * 기대수익률/공분산은 연율화 값, 공분산은 n x n row-major.
+ * 반올림은 Python round 와 같이 double 의 정확한 값 기준 half-even 이다.
+ * 효율적 투자선의 무작위 비중은 numpy 와 난수열이 달라 점 자체는 Python 결과와 다르다.
+ */
+public final class PortfolioMath {
+
+    public static final double RISK_FREE_RATE = 0.02;
+
+    // generate_efficient_frontier(num_portfolios=100), np.random.seed(42)
+    private static final int FRONTIER_PORTFOLIOS = 100;
+    private static final long FRONTIER_SEED = 42;
+
+    private PortfolioMath() {
+    }
+
+    /**
+     * 포트폴리오 지표 (수익률/위험은 %, 샤프 비율은 소수 3자리)
+     */
+    public record Metrics(double expectedReturn, double expectedRisk, double sharpeRatio) {
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("risk", expectedRisk);
+            map.put("return", expectedReturn);
+            map.put("sharpe", sharpeRatio);
+            return map;
+        }
+    }
+
+    /**
+     * calculate_portfolio_metrics
+     */
+    public static Metrics metrics(double[] returns, double[] cov, double[] weights) {
+        double portfolioReturn = Kernels.dot(weights, returns);
+        double portfolioRisk = Math.sqrt(Math.max(Kernels.quadraticForm(cov, weights), 0.0));
+        double sharpe = portfolioRisk > 0 ? (portfolioReturn - RISK_FREE_RATE) / portfolioRisk : 0;
+        return new Metrics(round(portfolioReturn * 100, 2), round(portfolioRisk * 100, 2), round(sharpe, 3));
+    }
+
+    /**
+     * generate_efficient_frontier: 무작위 비중 포트폴리오를 위험 순으로 정렬한 뒤 지배되지 않는 점만 남김
+     */
+    public static List<Map<String, Object>> efficientFrontier(double[] returns, double[] cov, int numPortfolios, long seed) {
+        int n = returns.length;
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] weights = new double[n];
+        List<Metrics> portfolios = new ArrayList<>(numPortfolios);
+        for (int p = 0; p < numPortfolios; p++) {
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                weights[i] = random.nextDouble();
+                sum += weights[i];
+            }
+            for (int i = 0; i < n; i++) {
+                weights[i] /= sum;
+            }
+            portfolios.add(metrics(returns, cov, weights));
+        }
+        portfolios.sort(Comparator.comparingDouble(Metrics::expectedRisk));
+
+        List<Map<String, Object>> frontier = new ArrayList<>();
+        double maxReturn = Double.NEGATIVE_INFINITY;
+        for (Metrics portfolio : portfolios) {
+            if (portfolio.expectedReturn() > maxReturn) {
+                maxReturn = portfolio.expectedReturn();
+                frontier.add(portfolio.toMap());
+            }
+        }
+        return frontier;
+    }
+
+    /**
+     * 종목 순서(symbols)에 맞춘 비중 벡터 (합계로 정규화, % 또는 0~1 모두 가능). 합계가 0 이면 null
+     */
+    public static double[] weights(List<String> symbols, Map<String, Double> allocation) {
+        if (allocation == null) {
+            return null;
+        }
+        double[] weights = new double[symbols.size()];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            Double value = allocation.get(symbols.get(i));
+            weights[i] = value != null && value > 0 ? value : 0;
+            sum += weights[i];
+        }
+        if (!(sum > 0)) {
+            return null;
+        }
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] /= sum;
+        }
+        return weights;
+    }
+
+    /**
+     * 최적화 결과의 기대수익률/위험/샤프 비율(및 현재/최적 포트폴리오 지표)과 효율적 투자선을 채운다.
+     */
+    public static void fillMetrics(OptimizationResult result, List<String> symbols, double[] returns, double[] cov) {
+        double[] optimized = weights(symbols, result.getAllocation());
+        if (optimized != null) {
+            Metrics metrics = metrics(returns, cov, optimized);
+            result.setExpectedReturn(metrics.expectedReturn());
+            result.setExpectedRisk(metrics.expectedRisk());
+            result.setSharpeRatio(metrics.sharpeRatio());
+            result.setOptimizedPortfolio(metrics.toMap());
+        }
+        double[] current = weights(symbols, result.getCurrentAllocation());
+        if (current != null) {
+            result.setCurrentPortfolio(metrics(returns, cov, current).toMap());
+        }
+        result.setEfficientFrontier(efficientFrontier(returns, cov, FRONTIER_PORTFOLIOS, FRONTIER_SEED));
+    }
+
+    private static double round(double value, int digits) {
+        if (!Double.isFinite(value)) {
+            return value;
+        }
+        return new BigDecimal(value).setScale(digits, RoundingMode.HALF_EVEN).doubleValue();
+    }
+}
@@ -0,0 +1,48 @@
+package com.portfolio.optimizer.math;
+
+/**
+ * 스칼라 구현 (Vector API 모듈이 없을 때의 기본값)
+ */
+final class ScalarVectorOps implements VectorOps {
+
+    @Override
+    public double dot(double[] a, int aOff, double[] b, int bOff, int len) {
+        double sum = 0;
+        for (int k = 0; k < len; k++) {
+            sum += a[aOff + k] * b[bOff + k];
+        }
+        return sum;
+    }
+
+    @Override
+    public void dot1x4(double[] m, int xOff, int y0, int y1, int y2, int y3, int len, double[] out) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        for (int k = 0; k < len; k++) {
+            double x = m[xOff + k];
+            s0 += x * m[y0 + k];
+            s1 += x * m[y1 + k];
+            s2 += x * m[y2 + k];
+            s3 += x * m[y3 + k];
+        }
+        out[0] = s0;
+        out[1] = s1;
+        out[2] = s2;
+        out[3] = s3;
+    }
+
+    @Override
+    public void syr(double alpha, double[] x, double[] a, int n) {
+        for (int i = 0; i < n; i++) {
+            double ax = alpha * x[i];
+            int row = i * n;
+            for (int j = i; j < n; j++) {
+                a[row + j] += ax * x[j];
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
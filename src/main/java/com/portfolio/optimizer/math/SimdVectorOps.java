@@ -0,0 +1,98 @@
+package com.portfolio.optimizer.math;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API(jdk.incubator.vector) 구현
+ *
+ * CPU 가 지원하는 최대 폭(SPECIES_PREFERRED, AVX2 는 4 lanes, AVX-512 는 8 lanes)으로 FMA 누적하고,
+ * 남는 꼬리 원소는 스칼라로 처리한다. 이 클래스는 모듈이 있을 때만 Kernels 가 로드한다.
+ */
+final class SimdVectorOps implements VectorOps {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    @Override
+    public double dot(double[] a, int aOff, double[] b, int bOff, int len) {
+        // 누적기 2개로 FMA 지연 시간을 숨김
+        DoubleVector acc0 = DoubleVector.zero(SPECIES);
+        DoubleVector acc1 = DoubleVector.zero(SPECIES);
+        int k = 0;
+        int bound2 = len - 2 * LANES;
+        for (; k <= bound2; k += 2 * LANES) {
+            acc0 = DoubleVector.fromArray(SPECIES, a, aOff + k)
+                    .fma(DoubleVector.fromArray(SPECIES, b, bOff + k), acc0);
+            acc1 = DoubleVector.fromArray(SPECIES, a, aOff + k + LANES)
+                    .fma(DoubleVector.fromArray(SPECIES, b, bOff + k + LANES), acc1);
+        }
+        int bound = len - LANES;
+        for (; k <= bound; k += LANES) {
+            acc0 = DoubleVector.fromArray(SPECIES, a, aOff + k)
+                    .fma(DoubleVector.fromArray(SPECIES, b, bOff + k), acc0);
+        }
+        double sum = acc0.add(acc1).reduceLanes(VectorOperators.ADD);
+        for (; k < len; k++) {
+            sum += a[aOff + k] * b[bOff + k];
+        }
+        return sum;
+    }
+
+    @Override
+    public void dot1x4(double[] m, int xOff, int y0, int y1, int y2, int y3, int len, double[] out) {
+        DoubleVector s0 = DoubleVector.zero(SPECIES);
+        DoubleVector s1 = DoubleVector.zero(SPECIES);
+        DoubleVector s2 = DoubleVector.zero(SPECIES);
+        DoubleVector s3 = DoubleVector.zero(SPECIES);
+        int k = 0;
+        int bound = len - LANES;
+        for (; k <= bound; k += LANES) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, m, xOff + k);
+            s0 = x.fma(DoubleVector.fromArray(SPECIES, m, y0 + k), s0);
+            s1 = x.fma(DoubleVector.fromArray(SPECIES, m, y1 + k), s1);
+            s2 = x.fma(DoubleVector.fromArray(SPECIES, m, y2 + k), s2);
+            s3 = x.fma(DoubleVector.fromArray(SPECIES, m, y3 + k), s3);
+        }
+        double r0 = s0.reduceLanes(VectorOperators.ADD);
+        double r1 = s1.reduceLanes(VectorOperators.ADD);
+        double r2 = s2.reduceLanes(VectorOperators.ADD);
+        double r3 = s3.reduceLanes(VectorOperators.ADD);
+        for (; k < len; k++) {
+            double x = m[xOff + k];
+            r0 += x * m[y0 + k];
+            r1 += x * m[y1 + k];
+            r2 += x * m[y2 + k];
+            r3 += x * m[y3 + k];
+        }
+        out[0] = r0;
+        out[1] = r1;
+        out[2] = r2;
+        out[3] = r3;
+    }
+
+    @Override
+    public void syr(double alpha, double[] x, double[] a, int n) {
+        for (int i = 0; i < n; i++) {
+            double ax = alpha * x[i];
+            DoubleVector vax = DoubleVector.broadcast(SPECIES, ax);
+            int row = i * n;
+            int j = i;
+            int bound = n - LANES;
+            for (; j <= bound; j += LANES) {
+                DoubleVector.fromArray(SPECIES, x, j)
+                        .fma(vax, DoubleVector.fromArray(SPECIES, a, row + j))
+                        .intoArray(a, row + j);
+            }
+            for (; j < n; j++) {
+                a[row + j] += ax * x[j];
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "simd-" + LANES + "x" + Double.SIZE;
+    }
+}
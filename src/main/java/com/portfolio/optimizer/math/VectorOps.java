@@ -0,0 +1,91 @@
+package com.portfolio.optimizer.math;
+
+/**
+ * 포트폴리오 계산용 수치 커널
+ *
+ * 행렬은 모두 row-major 1차원 배열 (m[i * cols + j]) 로 다룬다.
+ * 구현은 스칼라(ScalarVectorOps)와 Vector API(SimdVectorOps) 두 가지이며 Kernels 가 선택한다.
+ */
+public interface VectorOps {
+
+    /**
+     * 공분산 계산 시 시간 축 블록 크기 (두 행의 블록이 L1 캐시에 머물도록)
+     */
+    int TIME_BLOCK = 1024;
+
+    /**
+     * 자산 축 블록 크기
+     */
+    int ASSET_BLOCK = 64;
+
+    /**
+     * a[aOff..aOff+len) · b[bOff..bOff+len)
+     */
+    double dot(double[] a, int aOff, double[] b, int bOff, int len);
+
+    /**
+     * 한 행과 네 행의 내적을 한 번에 계산 (x 를 한 번만 읽는 마이크로 커널)
+     * out[0..3] = x·y0, x·y1, x·y2, x·y3
+     */
+    void dot1x4(double[] m, int xOff, int y0, int y1, int y2, int y3, int len, double[] out);
+
+    /**
+     * y = M x (M: rows x cols)
+     */
+    default void gemv(double[] m, int rows, int cols, double[] x, double[] y) {
+        for (int i = 0; i < rows; i++) {
+            y[i] = dot(m, i * cols, x, 0, cols);
+        }
+    }
+
+    /**
+     * 대칭 rank-1 갱신: A += alpha * x xᵀ (A: n x n, 상삼각만 갱신)
+     */
+    void syr(double alpha, double[] x, double[] a, int n);
+
+    /**
+     * 블록 공분산: out = X Xᵀ / (t - 1)
+     * X 는 자산별 평균이 제거된 수익률 (n x t, 자산마다 한 행). out 은 n x n 전체를 채운다.
+     */
+    default void covariance(double[] x, int n, int t, double[] out) {
+        java.util.Arrays.fill(out, 0, n * n, 0.0);
+        double[] acc = new double[4];
+        for (int tb = 0; tb < t; tb += TIME_BLOCK) {
+            int len = Math.min(TIME_BLOCK, t - tb);
+            for (int ib = 0; ib < n; ib += ASSET_BLOCK) {
+                int iEnd = Math.min(ib + ASSET_BLOCK, n);
+                for (int jb = ib; jb < n; jb += ASSET_BLOCK) {
+                    int jEnd = Math.min(jb + ASSET_BLOCK, n);
+                    for (int i = ib; i < iEnd; i++) {
+                        int xi = i * t + tb;
+                        int j = Math.max(jb, i);
+                        for (; j + 3 < jEnd; j += 4) {
+                            dot1x4(x, xi, j * t + tb, (j + 1) * t + tb, (j + 2) * t + tb, (j + 3) * t + tb, len, acc);
+                            out[i * n + j] += acc[0];
+                            out[i * n + j + 1] += acc[1];
+                            out[i * n + j + 2] += acc[2];
+                            out[i * n + j + 3] += acc[3];
+                        }
+                        for (; j < jEnd; j++) {
+                            out[i * n + j] += dot(x, xi, x, j * t + tb, len);
+                        }
+                    }
+                }
+            }
+        }
+
+        double scale = 1.0 / (t - 1);
+        for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) {
+                double value = out[i * n + j] * scale;
+                out[i * n + j] = value;
+                out[j * n + i] = value;
+            }
+        }
+    }
+
+    /**
+     * 구현 이름 (로그/벤치마크용)
+     */
+    String name();
+}
@@ -0,0 +1,39 @@
+package com.portfolio.optimizer.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 여러 인스턴스가 공유하는 챗봇용 최적화 결과 컨텍스트
+ * 세션 ID는 클라이언트 값이므로 SHA-256 해시를 키로 사용
+ */
+@Entity
+@Table(name = "optimization_context", indexes = {
+        @Index(name = "idx_optimization_context_updated_at", columnList = "updated_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptimizationContextRecord {
+
+    @Id
+    @Column(name = "session_key", length = 64)
+    private String sessionKey;
+
+    // 저장할 때마다 새로 발급되는 버전 (near-cache 재검증용)
+    @Column(nullable = false)
+    private Long version;
+
+    // OptimizationResultCodec 으로 압축된 결과
+    @Column(nullable = false, length = 16777215)
+    private byte[] payload;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -29,6 +29,7 @@ public class OptimizationResult {
     private Map<String, Object> currentPortfolio; // Current portfolio metrics (risk, return, sharpe)
     private Map<String, Object> optimizedPortfolio; // Optimized portfolio metrics
     private List<Map<String, Object>> backtestResults; // Backtesting results for different periods
+    private Long resultId; // 저장된 최적화 이력 ID (optimization_result)
     public Map<String, Integer> getShareAllocations() {
         return shareAllocations;
     }
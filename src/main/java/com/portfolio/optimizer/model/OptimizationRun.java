@@ -0,0 +1,66 @@
+package com.portfolio.optimizer.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 저장된 최적화 실행 이력 (헤드라인 지표만 보관)
+ * 배분/효율적 프론티어/백테스트 등 큰 데이터는 OptimizationRunPayload 에 압축 저장하여
+ * 목록 조회 시 읽지 않는다.
+ */
+@Entity
+@Table(name = "optimization_result", indexes = {
+        @Index(name = "idx_optimization_result_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_optimization_result_portfolio_created", columnList = "portfolio_id, created_at"),
+        @Index(name = "idx_optimization_result_inputs_hash", columnList = "inputs_hash")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptimizationRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // 포트폴리오 삭제 후에도 이력은 남도록 FK 없이 ID만 보관 (Portfolio.pinnedResultId 와 동일)
+    @Column(name = "portfolio_id")
+    private Long portfolioId;
+
+    // 입력(종목/제약/기간 등) 정규화 JSON 의 SHA-256
+    @Column(name = "inputs_hash", nullable = false, length = 64)
+    private String inputsHash;
+
+    @Column(length = 40)
+    private String method;
+
+    @Column(name = "expected_return")
+    private Double expectedReturn;
+
+    @Column(name = "expected_risk")
+    private Double expectedRisk;
+
+    @Column(name = "sharpe_ratio")
+    private Double sharpeRatio;
+
+    @Column(name = "asset_count")
+    private Integer assetCount;
+
+    @Column(name = "payload_size")
+    private Integer payloadSize;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,27 @@
+package com.portfolio.optimizer.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 최적화 실행 결과 전체 (OptimizationResultCodec 으로 압축)
+ * 결과를 다시 열 때만 로드한다.
+ */
+@Entity
+@Table(name = "optimization_result_payload")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptimizationRunPayload {
+
+    @Id
+    @Column(name = "result_id")
+    private Long resultId;
+
+    @Column(nullable = false, length = 16777215)
+    private byte[] payload;
+}
@@ -1,10 +1,13 @@
 package com.portfolio.optimizer.model;
 
+import com.portfolio.optimizer.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,15 +17,22 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "portfolio")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.PORTFOLIO_REGION)
+@Table(name = "portfolio", indexes = {
+        @Index(name = "idx_portfolio_user_created", columnList = "user_id, created_at, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Portfolio {
     
+    // 시퀀스 + pooled 옵티마이저: ID 를 미리 할당받아 INSERT 배치 가능 (IDENTITY 는 배치 불가)
+    // 시퀀스를 지원하지 않는 DB 에서는 Hibernate 가 같은 이름의 테이블로 대체
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "portfolio_seq")
+    @SequenceGenerator(name = "portfolio_seq", sequenceName = "portfolio_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -52,6 +62,7 @@ public class Portfolio {
     private LocalDateTime updatedAt;
     
     @Builder.Default
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.PORTFOLIO_ASSETS_REGION)
     @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<PortfolioAsset> assets = new ArrayList<>();
 }
@@ -1,15 +1,22 @@
 package com.portfolio.optimizer.model;
 
+import com.portfolio.optimizer.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "portfolio_asset")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.PORTFOLIO_ASSET_REGION)
+@Table(name = "portfolio_asset", indexes = {
+        @Index(name = "idx_portfolio_asset_portfolio", columnList = "portfolio_id, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -17,7 +24,8 @@ import java.math.BigDecimal;
 public class PortfolioAsset {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "portfolio_asset_seq")
+    @SequenceGenerator(name = "portfolio_asset_seq", sequenceName = "portfolio_asset_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,69 @@
+package com.portfolio.optimizer.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 가격 알림 ("005930.KS 가 X 를 넘으면 알림")
+ * 기준가는 종목의 거래 통화 기준 (/api/stocks/price/{ticker} 의 currentPrice 와 동일)
+ * 한 번 발동하면 비활성화된다.
+ */
+@Entity
+@Table(name = "price_alert", indexes = {
+        @Index(name = "idx_price_alert_user", columnList = "user_id"),
+        @Index(name = "idx_price_alert_active_id", columnList = "active, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // 보유 종목 삭제 후에도 알림은 남도록 FK 없이 ID만 보관 (OptimizationRun.portfolioId 와 동일)
+    @Column(name = "user_stock_id")
+    private Long userStockId;
+
+    @Column(nullable = false, length = 40)
+    private String ticker;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Direction direction;
+
+    @Column(name = "threshold_price", nullable = false, precision = 18, scale = 4)
+    private BigDecimal thresholdPrice;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @Column(name = "triggered_price", precision = 18, scale = 4)
+    private BigDecimal triggeredPrice;
+
+    @Column(name = "triggered_at")
+    private LocalDateTime triggeredAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum Direction {
+        ABOVE, // 아래에서 위로 기준가 돌파
+        BELOW  // 위에서 아래로 기준가 이탈
+    }
+}
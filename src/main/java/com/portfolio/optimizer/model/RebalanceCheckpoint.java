@@ -0,0 +1,68 @@
+package com.portfolio.optimizer.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 야간 리밸런싱 배치 파티션 진행 상태
+ * 파티션은 포트폴리오 ID 구간 (fromId, toId] 이며, 청크마다 마지막 처리 ID 를 기록하여
+ * 재기동 시 같은 실행일의 미완료 파티션을 이어서 처리한다.
+ */
+@Entity
+@Table(name = "rebalance_checkpoint", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rebalance_checkpoint_run_partition", columnNames = {"run_date", "partition_no"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RebalanceCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "partition_no", nullable = false)
+    private Integer partitionNo;
+
+    // 구간 시작 (미포함)
+    @Column(name = "from_id", nullable = false)
+    private Long fromId;
+
+    // 구간 끝 (포함)
+    @Column(name = "to_id", nullable = false)
+    private Long toId;
+
+    @Column(name = "last_portfolio_id", nullable = false)
+    private Long lastPortfolioId;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean completed = false;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int processed = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int reoptimized = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int failed = 0;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -15,7 +15,10 @@ import java.time.LocalDateTime;
  * 최적화 전 개인 포트폴리오 관리용
  */
 @Entity
-@Table(name = "user_stock")
+@Table(name = "user_stock", uniqueConstraints = @UniqueConstraint(
+        name = "uk_user_stock_user_ticker", columnNames = {"user_id", "ticker"}), indexes = {
+        @Index(name = "idx_user_stock_user_added", columnList = "user_id, added_date, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -23,7 +26,8 @@ import java.time.LocalDateTime;
 public class UserStock {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_stock_seq")
+    @SequenceGenerator(name = "user_stock_seq", sequenceName = "user_stock_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,25 @@
+package com.portfolio.optimizer.repository;
+
+import com.portfolio.optimizer.model.OptimizationContextRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface OptimizationContextRepository extends JpaRepository<OptimizationContextRecord, String> {
+
+    /**
+     * payload 없이 버전만 조회 (near-cache 재검증용)
+     */
+    @Query("SELECT c.version FROM OptimizationContextRecord c WHERE c.sessionKey = :sessionKey")
+    Optional<Long> findVersionBySessionKey(@Param("sessionKey") String sessionKey);
+
+    @Modifying
+    @Query("DELETE FROM OptimizationContextRecord c WHERE c.updatedAt < :cutoff")
+    int deleteByUpdatedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
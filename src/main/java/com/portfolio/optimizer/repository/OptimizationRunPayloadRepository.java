@@ -0,0 +1,9 @@
+package com.portfolio.optimizer.repository;
+
+import com.portfolio.optimizer.model.OptimizationRunPayload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OptimizationRunPayloadRepository extends JpaRepository<OptimizationRunPayload, Long> {
+}
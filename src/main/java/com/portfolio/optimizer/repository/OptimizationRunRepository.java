@@ -0,0 +1,45 @@
+package com.portfolio.optimizer.repository;
+
+import com.portfolio.optimizer.dto.OptimizationRunDto;
+import com.portfolio.optimizer.model.OptimizationRun;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OptimizationRunRepository extends JpaRepository<OptimizationRun, Long> {
+
+    /**
+     * 사용자의 최적화 이력 (최신순, 헤드라인 컬럼만 조회)
+     */
+    @Query("SELECT new com.portfolio.optimizer.dto.OptimizationRunDto(r.id, r.portfolioId, r.inputsHash, r.method, " +
+           "r.expectedReturn, r.expectedRisk, r.sharpeRatio, r.assetCount, r.createdAt) " +
+           "FROM OptimizationRun r WHERE r.user.id = :userId AND r.createdAt >= :from AND r.createdAt < :to " +
+           "ORDER BY r.createdAt DESC")
+    List<OptimizationRunDto> findSummariesByUserId(@Param("userId") Long userId,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to,
+                                                   Pageable pageable);
+
+    /**
+     * 포트폴리오별 최적화 이력 (최신순, 헤드라인 컬럼만 조회)
+     */
+    @Query("SELECT new com.portfolio.optimizer.dto.OptimizationRunDto(r.id, r.portfolioId, r.inputsHash, r.method, " +
+           "r.expectedReturn, r.expectedRisk, r.sharpeRatio, r.assetCount, r.createdAt) " +
+           "FROM OptimizationRun r WHERE r.user.id = :userId AND r.portfolioId = :portfolioId " +
+           "AND r.createdAt >= :from AND r.createdAt < :to ORDER BY r.createdAt DESC")
+    List<OptimizationRunDto> findSummariesByUserIdAndPortfolioId(@Param("userId") Long userId,
+                                                                 @Param("portfolioId") Long portfolioId,
+                                                                 @Param("from") LocalDateTime from,
+                                                                 @Param("to") LocalDateTime to,
+                                                                 Pageable pageable);
+
+    @Query("SELECT r.user.id FROM OptimizationRun r WHERE r.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+}
@@ -1,9 +1,16 @@
 package com.portfolio.optimizer.repository;
 
 import com.portfolio.optimizer.model.PortfolioAsset;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +19,35 @@ public interface PortfolioAssetRepository extends JpaRepository<PortfolioAsset,
     List<PortfolioAsset> findByPortfolioId(Long portfolioId);
     
     void deleteByPortfolioId(Long portfolioId);
+    
+    /**
+     * 목록 응답용 종목 컬럼만 (엔티티/포트폴리오 미로드)
+     */
+    interface AssetRow {
+        Long getPortfolioId();
+        String getTicker();
+        String getDisplayName();
+        String getCurrency();
+        BigDecimal getQuantity();
+        BigDecimal getPurchasePrice();
+        BigDecimal getMinWeight();
+        BigDecimal getMaxWeight();
+        BigDecimal getRiskWeight();
+    }
+    
+    @Query("SELECT a.portfolio.id AS portfolioId, a.ticker AS ticker, a.displayName AS displayName, " +
+           "a.currency AS currency, a.quantity AS quantity, a.purchasePrice AS purchasePrice, " +
+           "a.minWeight AS minWeight, a.maxWeight AS maxWeight, a.riskWeight AS riskWeight " +
+           "FROM PortfolioAsset a WHERE a.portfolio.id IN :portfolioIds ORDER BY a.id")
+    List<AssetRow> findRowsByPortfolioIdIn(@Param("portfolioIds") Collection<Long> portfolioIds);
+    
+    /**
+     * 사용자 전체 목록용 (쿼리 캐시 대상)
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT a.portfolio.id AS portfolioId, a.ticker AS ticker, a.displayName AS displayName, " +
+           "a.currency AS currency, a.quantity AS quantity, a.purchasePrice AS purchasePrice, " +
+           "a.minWeight AS minWeight, a.maxWeight AS maxWeight, a.riskWeight AS riskWeight " +
+           "FROM PortfolioAsset a WHERE a.portfolio.user.id = :userId ORDER BY a.id")
+    List<AssetRow> findRowsByUserId(@Param("userId") Long userId);
 }
@@ -1,11 +1,19 @@
 package com.portfolio.optimizer.repository;
 
+import com.portfolio.optimizer.dto.PortfolioSummaryDto;
 import com.portfolio.optimizer.model.Portfolio;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,10 +24,49 @@ public interface PortfolioRepository extends JpaRepository<Portfolio, Long> {
     
     List<Portfolio> findByUserIdOrderByCreatedAtDesc(Long userId);
 
-    // Fetch-join to eagerly load assets to avoid LazyInitialization issues
-    @Query("SELECT DISTINCT p FROM Portfolio p LEFT JOIN FETCH p.assets WHERE p.user.id = :userId ORDER BY p.createdAt DESC")
-    List<Portfolio> findWithAssetsByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
+    /**
+     * 포트폴리오 목록 키셋 페이지 (최신순, 종목은 로드하지 않고 개수만 서브쿼리로)
+     * (createdAt, id) < (:createdAt, :id) 조건. createdAt <= :createdAt 는 (user_id, created_at, id) 인덱스
+     * 범위 조건으로 쓰이도록 중복 명시. 쿼리 캐시 대상 (portfolio/portfolio_asset 변경 시 자동 무효화)
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.portfolio.optimizer.dto.PortfolioSummaryDto(p.id, p.name, p.baseCurrency, p.totalBudget, " +
+           "(SELECT COUNT(a) FROM PortfolioAsset a WHERE a.portfolio.id = p.id), p.pinnedResultId, p.createdAt, p.updatedAt) " +
+           "FROM Portfolio p WHERE p.user.id = :userId AND p.createdAt <= :createdAt " +
+           "AND (p.createdAt < :createdAt OR p.id < :id) ORDER BY p.createdAt DESC, p.id DESC")
+    List<PortfolioSummaryDto> findSummariesByUserId(@Param("userId") Long userId,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
 
-    @Query("SELECT p FROM Portfolio p LEFT JOIN FETCH p.assets WHERE p.id = :id")
-    Optional<Portfolio> findWithAssetsById(@Param("id") Long id);
+    @Query("SELECT MIN(p.id) FROM Portfolio p")
+    Optional<Long> findMinId();
+
+    @Query("SELECT MAX(p.id) FROM Portfolio p")
+    Optional<Long> findMaxId();
+
+    // 배치 파티션 순회용 키셋 페이지 (afterId < id <= toId)
+    @Query("SELECT p.id FROM Portfolio p WHERE p.id > :afterId AND p.id <= :toId ORDER BY p.id")
+    List<Long> findIdsInRange(@Param("afterId") Long afterId, @Param("toId") Long toId, Pageable pageable);
+
+    /**
+     * 평가금액 스냅샷 순회용 (포트폴리오 ID, 소유자 ID)
+     */
+    interface PortfolioOwner {
+        Long getId();
+        Long getUserId();
+    }
+
+    @Query("SELECT p.id AS id, p.user.id AS userId FROM Portfolio p WHERE p.id > :afterId ORDER BY p.id")
+    List<PortfolioOwner> findOwnersAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT DISTINCT p FROM Portfolio p JOIN FETCH p.user LEFT JOIN FETCH p.assets WHERE p.id IN :ids ORDER BY p.id")
+    List<Portfolio> findWithAssetsAndUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 삭제된 최적화 결과를 고정하고 있던 포트폴리오 정리
+    @Modifying
+    @Query("UPDATE Portfolio p SET p.pinnedResultId = NULL WHERE p.pinnedResultId = :resultId")
+    int clearPinnedResultId(@Param("resultId") Long resultId);
 }
@@ -0,0 +1,382 @@
+package com.portfolio.optimizer.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 포트폴리오 평가금액 시계열 저장소 (JDBC)
+ *
+ * - portfolio_value_daily: 포트폴리오별 일별 평가금액. 월 단위 RANGE 파티션
+ *   (PostgreSQL 선언적 파티션 / MySQL·MariaDB RANGE COLUMNS, 그 외 DB 는 일반 테이블).
+ *   보존 기간이 지난 달은 파티션 통째로 삭제하고, 기간 조회는 해당 월 파티션만 읽는다.
+ * - portfolio_value_rollup: 주/월 버킷 집계 (종가, 최소, 최대, 합계, 일수). 보존 기간 없이 유지.
+ *
+ * 파티션 테이블은 ddl-auto 로 만들 수 없어 엔티티 대신 여기서 직접 DDL 을 실행한다.
+ */
+@Repository
+public class PortfolioValueRepository {
+
+    private static final String DAILY = "portfolio_value_daily";
+    private static final String ROLLUP = "portfolio_value_rollup";
+    private static final String MYSQL_MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private enum Kind { POSTGRES, MYSQL, OTHER }
+
+    /**
+     * 일별 평가금액 한 건
+     */
+    public record DailyValue(long portfolioId, long userId, BigDecimal value) {
+    }
+
+    /**
+     * 조회용 시계열 점 (min/max/average 는 집계 버킷에서만)
+     */
+    public record ValuePoint(LocalDate date, LocalDate lastDate, BigDecimal value,
+                             BigDecimal min, BigDecimal max, BigDecimal average) {
+    }
+
+    /**
+     * 주/월 버킷 집계 (일별 값을 한 건씩 누적)
+     */
+    public record Rollup(long portfolioId, long userId, BigDecimal close, BigDecimal min, BigDecimal max,
+                         BigDecimal sum, int points, LocalDate lastDate) {
+
+        public static Rollup first(DailyValue daily, LocalDate date) {
+            return new Rollup(daily.portfolioId(), daily.userId(), daily.value(), daily.value(), daily.value(),
+                    daily.value(), 1, date);
+        }
+
+        /**
+         * 종가는 버킷 안에서 가장 늦은 날짜의 값 (과거 날짜를 뒤늦게 기록해도 유지)
+         */
+        public Rollup add(DailyValue daily, LocalDate date) {
+            boolean latest = !date.isBefore(lastDate);
+            return new Rollup(portfolioId, userId,
+                    latest ? daily.value() : close,
+                    min.min(daily.value()),
+                    max.max(daily.value()),
+                    sum.add(daily.value()),
+                    points + 1,
+                    latest ? date : lastDate);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final Kind kind;
+
+    public PortfolioValueRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        this.kind = dialect instanceof PostgreSQLDialect ? Kind.POSTGRES
+                : dialect instanceof MySQLDialect ? Kind.MYSQL
+                : Kind.OTHER;
+    }
+
+    /**
+     * 테이블/인덱스 생성 (이미 있으면 그대로)
+     */
+    public void createTables() {
+        String dailyColumns = """
+                portfolio_id BIGINT NOT NULL,
+                value_date DATE NOT NULL,
+                user_id BIGINT NOT NULL,
+                market_value DECIMAL(20, 2) NOT NULL,
+                PRIMARY KEY (portfolio_id, value_date)""";
+        String rollupColumns = """
+                portfolio_id BIGINT NOT NULL,
+                resolution VARCHAR(8) NOT NULL,
+                bucket_start DATE NOT NULL,
+                user_id BIGINT NOT NULL,
+                close_value DECIMAL(20, 2) NOT NULL,
+                min_value DECIMAL(20, 2) NOT NULL,
+                max_value DECIMAL(20, 2) NOT NULL,
+                sum_value DECIMAL(24, 2) NOT NULL,
+                points INT NOT NULL,
+                last_date DATE NOT NULL,
+                PRIMARY KEY (portfolio_id, resolution, bucket_start)""";
+
+        switch (kind) {
+            case POSTGRES -> {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DAILY + " (" + dailyColumns
+                        + ") PARTITION BY RANGE (value_date)");
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ROLLUP + " (" + rollupColumns + ")");
+                createIndexes();
+            }
+            case MYSQL -> {
+                // 새 달 파티션은 pmax 를 나누어 추가 (ensurePartitions)
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DAILY + " (" + dailyColumns
+                        + ", KEY idx_portfolio_value_daily_user (user_id, value_date))"
+                        + " PARTITION BY RANGE COLUMNS (value_date) (PARTITION " + MYSQL_MAX_PARTITION
+                        + " VALUES LESS THAN (MAXVALUE))");
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ROLLUP + " (" + rollupColumns
+                        + ", KEY idx_portfolio_value_rollup_user (user_id, resolution, bucket_start))");
+            }
+            default -> {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DAILY + " (" + dailyColumns + ")");
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ROLLUP + " (" + rollupColumns + ")");
+                createIndexes();
+            }
+        }
+    }
+
+    private void createIndexes() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_portfolio_value_daily_user ON "
+                + DAILY + " (user_id, value_date)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_portfolio_value_rollup_user ON "
+                + ROLLUP + " (user_id, resolution, bucket_start)");
+    }
+
+    /**
+     * [from, to] 각 월의 파티션이 있도록 보장 (파티션 미지원 DB 는 무시)
+     */
+    public void ensurePartitions(YearMonth from, YearMonth to) {
+        switch (kind) {
+            case POSTGRES -> {
+                for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DAILY + "_p" + month.format(PARTITION_SUFFIX)
+                            + " PARTITION OF " + DAILY + " FOR VALUES FROM ('" + month.atDay(1)
+                            + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+                }
+            }
+            case MYSQL -> {
+                // RANGE 파티션은 마지막 경계 뒤에만 추가 가능. 그 이전 날짜는 첫 파티션에 들어간다.
+                YearMonth latest = partitionMonths().stream().reduce((a, b) -> b).orElse(null);
+                YearMonth start = latest != null && !latest.isBefore(from) ? latest.plusMonths(1) : from;
+                if (start.isAfter(to)) {
+                    return;
+                }
+                StringBuilder ddl = new StringBuilder("ALTER TABLE " + DAILY + " REORGANIZE PARTITION "
+                        + MYSQL_MAX_PARTITION + " INTO (");
+                for (YearMonth month = start; !month.isAfter(to); month = month.plusMonths(1)) {
+                    ddl.append("PARTITION p").append(month.format(PARTITION_SUFFIX))
+                            .append(" VALUES LESS THAN ('").append(month.plusMonths(1).atDay(1)).append("'), ");
+                }
+                ddl.append("PARTITION ").append(MYSQL_MAX_PARTITION).append(" VALUES LESS THAN (MAXVALUE))");
+                jdbcTemplate.execute(ddl.toString());
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * cutoff 이전 월의 일별 값 삭제 (파티션 DB 는 파티션 DROP)
+     * @return 삭제한 파티션 수 (파티션 미지원 DB 는 삭제 행 수)
+     */
+    public int dropDailyBefore(YearMonth cutoff) {
+        switch (kind) {
+            case POSTGRES -> {
+                int dropped = 0;
+                for (YearMonth month : partitionMonths()) {
+                    if (month.isBefore(cutoff)) {
+                        jdbcTemplate.execute("DROP TABLE IF EXISTS " + DAILY + "_p" + month.format(PARTITION_SUFFIX));
+                        dropped++;
+                    }
+                }
+                return dropped;
+            }
+            case MYSQL -> {
+                int dropped = 0;
+                for (YearMonth month : partitionMonths()) {
+                    if (month.isBefore(cutoff)) {
+                        jdbcTemplate.execute("ALTER TABLE " + DAILY + " DROP PARTITION p" + month.format(PARTITION_SUFFIX));
+                        dropped++;
+                    }
+                }
+                return dropped;
+            }
+            default -> {
+                return jdbcTemplate.update("DELETE FROM " + DAILY + " WHERE value_date < ?", Date.valueOf(cutoff.atDay(1)));
+            }
+        }
+    }
+
+    /**
+     * 현재 월 파티션 목록 (오름차순)
+     */
+    private Set<YearMonth> partitionMonths() {
+        List<String> names = switch (kind) {
+            case POSTGRES -> jdbcTemplate.queryForList("""
+                    SELECT c.relname FROM pg_inherits i
+                    JOIN pg_class c ON c.oid = i.inhrelid
+                    JOIN pg_class p ON p.oid = i.inhparent
+                    WHERE p.relname = ?""", String.class, DAILY);
+            case MYSQL -> jdbcTemplate.queryForList("""
+                    SELECT partition_name FROM information_schema.partitions
+                    WHERE table_schema = DATABASE() AND table_name = ? AND partition_name IS NOT NULL""",
+                    String.class, DAILY);
+            case OTHER -> List.of();
+        };
+        Set<YearMonth> months = new TreeSet<>();
+        for (String name : names) {
+            String suffix = name.substring(name.lastIndexOf('p') + 1);
+            if (suffix.length() == 6 && suffix.chars().allMatch(Character::isDigit)) {
+                months.add(YearMonth.parse(suffix, PARTITION_SUFFIX));
+            }
+        }
+        return months;
+    }
+
+    /**
+     * 해당 날짜 값이 이미 기록된 포트폴리오
+     */
+    public Set<Long> findRecordedPortfolioIds(LocalDate date, Collection<Long> portfolioIds) {
+        return new TreeSet<>(namedJdbcTemplate.queryForList(
+                "SELECT portfolio_id FROM " + DAILY + " WHERE value_date = :date AND portfolio_id IN (:ids)",
+                new MapSqlParameterSource("date", Date.valueOf(date)).addValue("ids", portfolioIds),
+                Long.class));
+    }
+
+    public void insertDaily(LocalDate date, List<DailyValue> values) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO " + DAILY + " (portfolio_id, value_date, user_id, market_value) VALUES (?, ?, ?, ?)",
+                values, values.size(), (ps, v) -> {
+                    ps.setLong(1, v.portfolioId());
+                    ps.setDate(2, Date.valueOf(date));
+                    ps.setLong(3, v.userId());
+                    ps.setBigDecimal(4, v.value());
+                });
+    }
+
+    /**
+     * 버킷의 기존 집계 (포트폴리오 ID -> 집계)
+     */
+    public Map<Long, Rollup> findRollups(String resolution, LocalDate bucketStart, Collection<Long> portfolioIds) {
+        Map<Long, Rollup> rollups = new HashMap<>();
+        namedJdbcTemplate.query("""
+                        SELECT portfolio_id, user_id, close_value, min_value, max_value, sum_value, points, last_date
+                        FROM portfolio_value_rollup
+                        WHERE resolution = :resolution AND bucket_start = :bucketStart AND portfolio_id IN (:ids)""",
+                new MapSqlParameterSource("resolution", resolution)
+                        .addValue("bucketStart", Date.valueOf(bucketStart))
+                        .addValue("ids", portfolioIds),
+                rs -> {
+                    Rollup rollup = new Rollup(rs.getLong("portfolio_id"), rs.getLong("user_id"),
+                            rs.getBigDecimal("close_value"), rs.getBigDecimal("min_value"), rs.getBigDecimal("max_value"),
+                            rs.getBigDecimal("sum_value"), rs.getInt("points"), rs.getDate("last_date").toLocalDate());
+                    rollups.put(rollup.portfolioId(), rollup);
+                });
+        return rollups;
+    }
+
+    /**
+     * 집계 저장 (existing 에 있던 포트폴리오는 UPDATE, 나머지는 INSERT)
+     */
+    public void saveRollups(String resolution, LocalDate bucketStart, List<Rollup> rollups, Set<Long> existing) {
+        List<Rollup> updates = new ArrayList<>();
+        List<Rollup> inserts = new ArrayList<>();
+        for (Rollup rollup : rollups) {
+            (existing.contains(rollup.portfolioId()) ? updates : inserts).add(rollup);
+        }
+        jdbcTemplate.batchUpdate("""
+                        UPDATE portfolio_value_rollup
+                        SET close_value = ?, min_value = ?, max_value = ?, sum_value = ?, points = ?, last_date = ?
+                        WHERE portfolio_id = ? AND resolution = ? AND bucket_start = ?""",
+                updates, updates.size(), (ps, r) -> {
+                    ps.setBigDecimal(1, r.close());
+                    ps.setBigDecimal(2, r.min());
+                    ps.setBigDecimal(3, r.max());
+                    ps.setBigDecimal(4, r.sum());
+                    ps.setInt(5, r.points());
+                    ps.setDate(6, Date.valueOf(r.lastDate()));
+                    ps.setLong(7, r.portfolioId());
+                    ps.setString(8, resolution);
+                    ps.setDate(9, Date.valueOf(bucketStart));
+                });
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO portfolio_value_rollup (portfolio_id, resolution, bucket_start, user_id,
+                            close_value, min_value, max_value, sum_value, points, last_date)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""",
+                inserts, inserts.size(), (ps, r) -> {
+                    ps.setLong(1, r.portfolioId());
+                    ps.setString(2, resolution);
+                    ps.setDate(3, Date.valueOf(bucketStart));
+                    ps.setLong(4, r.userId());
+                    ps.setBigDecimal(5, r.close());
+                    ps.setBigDecimal(6, r.min());
+                    ps.setBigDecimal(7, r.max());
+                    ps.setBigDecimal(8, r.sum());
+                    ps.setInt(9, r.points());
+                    ps.setDate(10, Date.valueOf(r.lastDate()));
+                });
+    }
+
+    public List<ValuePoint> findDailyByPortfolio(long portfolioId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("SELECT value_date, market_value FROM " + DAILY
+                        + " WHERE portfolio_id = ? AND value_date BETWEEN ? AND ? ORDER BY value_date",
+                (rs, i) -> daily(rs.getDate(1).toLocalDate(), rs.getBigDecimal(2)),
+                portfolioId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * 사용자 합계 (날짜별 포트폴리오 합)
+     */
+    public List<ValuePoint> findDailyByUser(long userId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("SELECT value_date, SUM(market_value) FROM " + DAILY
+                        + " WHERE user_id = ? AND value_date BETWEEN ? AND ? GROUP BY value_date ORDER BY value_date",
+                (rs, i) -> daily(rs.getDate(1).toLocalDate(), rs.getBigDecimal(2)),
+                userId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public List<ValuePoint> findRollupsByPortfolio(long portfolioId, String resolution, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+                        SELECT bucket_start, last_date, close_value, min_value, max_value, sum_value, points
+                        FROM portfolio_value_rollup
+                        WHERE portfolio_id = ? AND resolution = ? AND bucket_start BETWEEN ? AND ?
+                        ORDER BY bucket_start""",
+                (rs, i) -> new ValuePoint(rs.getDate(1).toLocalDate(), rs.getDate(2).toLocalDate(),
+                        rs.getBigDecimal(3), rs.getBigDecimal(4), rs.getBigDecimal(5),
+                        average(rs.getBigDecimal(6), rs.getInt(7))),
+                portfolioId, resolution, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * 사용자 합계 버킷 - 포트폴리오별 최소/최대의 합은 합계의 최소/최대가 아니므로 종가와 평균만
+     */
+    public List<ValuePoint> findRollupsByUser(long userId, String resolution, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+                        SELECT bucket_start, MAX(last_date), SUM(close_value), SUM(sum_value / points)
+                        FROM portfolio_value_rollup
+                        WHERE user_id = ? AND resolution = ? AND bucket_start BETWEEN ? AND ?
+                        GROUP BY bucket_start ORDER BY bucket_start""",
+                (rs, i) -> new ValuePoint(rs.getDate(1).toLocalDate(), rs.getDate(2).toLocalDate(),
+                        rs.getBigDecimal(3), null, null, scale2(rs.getBigDecimal(4))),
+                userId, resolution, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    private static ValuePoint daily(LocalDate date, BigDecimal value) {
+        return new ValuePoint(date, date, value, null, null, null);
+    }
+
+    private static BigDecimal average(BigDecimal sum, int points) {
+        return points > 0 ? sum.divide(BigDecimal.valueOf(points), 2, RoundingMode.HALF_UP) : null;
+    }
+
+    private static BigDecimal scale2(BigDecimal value) {
+        return value != null ? value.setScale(2, RoundingMode.HALF_UP) : null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.portfolio.optimizer.repository;
+
+import com.portfolio.optimizer.model.PriceAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PriceAlertRepository extends JpaRepository<PriceAlert, Long> {
+
+    /**
+     * 알림 인덱스 적재용 최소 컬럼
+     */
+    interface ActiveAlertView {
+        Long getId();
+        String getTicker();
+        PriceAlert.Direction getDirection();
+        BigDecimal getThresholdPrice();
+    }
+
+    /**
+     * 사용자의 알림 목록 (최신순)
+     */
+    List<PriceAlert> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    /**
+     * 활성 알림 키셋 페이지 (id 오름차순, afterId 이후)
+     */
+    @Query("SELECT a.id AS id, a.ticker AS ticker, a.direction AS direction, a.thresholdPrice AS thresholdPrice " +
+           "FROM PriceAlert a WHERE a.active = true AND a.id > :afterId ORDER BY a.id")
+    List<ActiveAlertView> findActiveAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 발동 처리 대상 (아직 활성인 것만, 사용자 함께 조회)
+     */
+    @Query("SELECT a FROM PriceAlert a JOIN FETCH a.user WHERE a.id IN :ids AND a.active = true")
+    List<PriceAlert> findActiveWithUserByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,23 @@
+package com.portfolio.optimizer.repository;
+
+import com.portfolio.optimizer.model.RebalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RebalanceCheckpointRepository extends JpaRepository<RebalanceCheckpoint, Long> {
+
+    List<RebalanceCheckpoint> findByRunDateOrderByPartitionNo(LocalDate runDate);
+
+    /**
+     * 미완료 파티션이 남은 실행일 (최근순)
+     */
+    @Query("SELECT DISTINCT c.runDate FROM RebalanceCheckpoint c WHERE c.completed = false AND c.runDate >= :since " +
+           "ORDER BY c.runDate DESC")
+    List<LocalDate> findIncompleteRunDates(@Param("since") LocalDate since);
+}
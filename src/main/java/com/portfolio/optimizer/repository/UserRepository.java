@@ -2,6 +2,8 @@ package com.portfolio.optimizer.repository;
 
 import com.portfolio.optimizer.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,4 +18,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
+    
+    /**
+     * JWT 인증용 상태 조회 (상태 + 비밀번호 해시만)
+     */
+    interface UserStatusView {
+        User.UserStatus getStatus();
+        String getPassword();
+    }
+    
+    @Query("SELECT u.status AS status, u.password AS password FROM User u WHERE u.id = :id")
+    Optional<UserStatusView> findStatusById(@Param("id") Long id);
 }
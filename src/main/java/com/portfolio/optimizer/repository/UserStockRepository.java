@@ -1,13 +1,18 @@
 package com.portfolio.optimizer.repository;
 
+import com.portfolio.optimizer.dto.UserStockDto;
 import com.portfolio.optimizer.model.UserStock;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface UserStockRepository extends JpaRepository<UserStock, Long> {
+public interface UserStockRepository extends JpaRepository<UserStock, Long>, UserStockUpsertRepository {
     
     /**
      * 사용자의 모든 보유 종목 조회 (최신순)
@@ -15,9 +20,30 @@ public interface UserStockRepository extends JpaRepository<UserStock, Long> {
     List<UserStock> findByUserIdOrderByAddedDateDesc(Long userId);
     
     /**
-     * 사용자의 특정 종목 조회
+     * 사용자가 보유한 티커 목록 (엔티티 미로드)
      */
-    List<UserStock> findByUserIdAndTicker(Long userId, String ticker);
+    @Query("SELECT s.ticker FROM UserStock s WHERE s.user.id = :userId")
+    List<String> findTickersByUserId(@Param("userId") Long userId);
+    
+    /**
+     * 사용자의 모든 보유 종목 조회 (최신순, DTO 프로젝션 - 엔티티 미로드)
+     */
+    @Query("SELECT new com.portfolio.optimizer.dto.UserStockDto(s.id, s.ticker, s.name, s.currency, s.quantity, " +
+           "s.purchasePrice, s.currentPrice, s.isForeign, s.addedDate) " +
+           "FROM UserStock s WHERE s.user.id = :userId ORDER BY s.addedDate DESC, s.id DESC")
+    List<UserStockDto> findDtosByUserId(@Param("userId") Long userId);
+    
+    /**
+     * 보유 종목 키셋 페이지 ((addedDate, id) < (:addedDate, :id), (user_id, added_date, id) 인덱스 사용)
+     */
+    @Query("SELECT new com.portfolio.optimizer.dto.UserStockDto(s.id, s.ticker, s.name, s.currency, s.quantity, " +
+           "s.purchasePrice, s.currentPrice, s.isForeign, s.addedDate) " +
+           "FROM UserStock s WHERE s.user.id = :userId AND s.addedDate <= :addedDate " +
+           "AND (s.addedDate < :addedDate OR s.id < :id) ORDER BY s.addedDate DESC, s.id DESC")
+    List<UserStockDto> findDtoPageByUserId(@Param("userId") Long userId,
+                                           @Param("addedDate") LocalDateTime addedDate,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
     
     /**
      * 사용자의 모든 종목 삭제
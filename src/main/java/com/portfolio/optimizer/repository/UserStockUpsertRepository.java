@@ -0,0 +1,23 @@
+package com.portfolio.optimizer.repository;
+
+import com.portfolio.optimizer.model.UserStock;
+
+import java.util.List;
+
+/**
+ * 보유 종목 원자적 추가 (UserStockRepository 확장)
+ */
+public interface UserStockUpsertRepository {
+
+    /**
+     * (user_id, ticker) 가 없으면 추가, 있으면 수량 합산 + 가중 평균 매수가 갱신을 한 문장으로 실행
+     * 동시 요청에도 중복 행이나 갱신 유실이 없다. 반환값은 반영 후의 행.
+     */
+    UserStock upsertPurchase(Long userId, UserStock stock);
+
+    /**
+     * 여러 종목을 같은 upsert 문장으로 배치 반영 (일괄 가져오기용, 반영 후 행은 반환하지 않음)
+     * upsertPurchase 와 달리 currentPrice 가 null 이면 기존 현재가를 유지한다.
+     */
+    void upsertPurchases(Long userId, List<UserStock> stocks);
+}
@@ -0,0 +1,269 @@
+package com.portfolio.optimizer.repository;
+
+import com.portfolio.optimizer.model.UserStock;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MariaDBDialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.Generator;
+import org.hibernate.query.CommonQueryContract;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * DB 별 단일 문장 upsert
+ *
+ * - PostgreSQL: INSERT ... ON CONFLICT (user_id, ticker) DO UPDATE ... RETURNING (1회 왕복)
+ * - MySQL/MariaDB: INSERT ... ON DUPLICATE KEY UPDATE 후 같은 트랜잭션에서 행 조회 (RETURNING 미지원)
+ *   신규 값은 MySQL 8.0.19+ 에서는 행 별칭(AS s ... s.col)으로, MariaDB 와 그 이전 MySQL 에서는 VALUES(col) 로
+ *   참조한다 (MySQL 8.0.20 부터 VALUES(col) 은 deprecated, MariaDB 는 행 별칭 미지원).
+ * - H2 등 그 외: 표준 MERGE 후 행 조회. 표준 MERGE 는 같은 키의 최초 INSERT 가 동시에 일어나면 한쪽이
+ *   유니크 키 위반으로 실패하므로 한 번 재시도한다 (재시도 시에는 MATCHED 로 갱신). 예외가 Hibernate 를 거치면
+ *   트랜잭션이 rollback-only 로 표시되므로 이 경로만 JDBC 로 직접 실행한다.
+ *
+ * 평균 매수가 = ROUND((기존수량 * 기존가 + 신규수량 * 신규가) / 총수량, 2) 로 UserStockService.averagePrice 와 동일.
+ * MySQL 의 ON DUPLICATE KEY UPDATE 는 앞선 대입 결과를 뒤에서 보므로 purchase_price 를 quantity 보다 먼저 갱신한다.
+ * 신규 ID 는 엔티티의 pooled 시퀀스 생성기에서 받는다 (대부분 메모리 할당, 충돌로 버려지는 ID 는 무방).
+ *
+ * 일괄 upsert(upsertPurchases)는 같은 문장을 위치 파라미터로 JDBC 배치 실행한다 (hibernate.jdbc.batch_size 단위,
+ * 표준 MERGE 경로는 행마다 실행). 현재가가 없는 행은 기존 현재가를 유지한다.
+ */
+public class UserStockUpsertRepositoryImpl implements UserStockUpsertRepository {
+
+    private static final String AVERAGE_PRICE =
+            "ROUND((t.quantity * t.purchase_price + %1$s.quantity * %1$s.purchase_price) / (t.quantity + %1$s.quantity), 2)";
+
+    private static final String NAMED_VALUES =
+            "(:id, :userId, :ticker, :name, :currency, :quantity, :purchasePrice, :currentPrice, :isForeign, :addedDate)";
+
+    private static final String JDBC_VALUES = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String POSTGRES_UPSERT = postgresUpsert(NAMED_VALUES, false) + "RETURNING *\n";
+
+    private static final String POSTGRES_BATCH_UPSERT = postgresUpsert(JDBC_VALUES, true);
+
+    private static final String MYSQL_UPSERT = onDuplicateKeyUpsert(NAMED_VALUES, " AS s", column -> "s." + column, false);
+
+    private static final String MYSQL_BATCH_UPSERT = onDuplicateKeyUpsert(JDBC_VALUES, " AS s", column -> "s." + column, true);
+
+    private static final String LEGACY_MYSQL_UPSERT =
+            onDuplicateKeyUpsert(NAMED_VALUES, "", column -> "VALUES(" + column + ")", false);
+
+    private static final String LEGACY_MYSQL_BATCH_UPSERT =
+            onDuplicateKeyUpsert(JDBC_VALUES, "", column -> "VALUES(" + column + ")", true);
+
+    private static final String STANDARD_MERGE = standardMerge(false);
+
+    private static final String STANDARD_BATCH_MERGE = standardMerge(true);
+
+    /**
+     * keepCurrentPrice 면 신규 현재가가 null 일 때 기존 현재가 유지
+     */
+    private static String currentPrice(String incoming, String existing, boolean keepCurrentPrice) {
+        return keepCurrentPrice ? "COALESCE(" + incoming + ", " + existing + ")" : incoming;
+    }
+
+    private static String postgresUpsert(String values, boolean keepCurrentPrice) {
+        return """
+                INSERT INTO user_stock AS t (id, user_id, ticker, name, currency, quantity, purchase_price, current_price, is_foreign, added_date)
+                VALUES %s
+                ON CONFLICT (user_id, ticker) DO UPDATE SET
+                    purchase_price = %s,
+                    quantity = t.quantity + excluded.quantity,
+                    current_price = %s
+                """.formatted(values, AVERAGE_PRICE.formatted("excluded"),
+                currentPrice("excluded.current_price", "t.current_price", keepCurrentPrice));
+    }
+
+    private static String standardMerge(boolean keepCurrentPrice) {
+        return """
+                MERGE INTO user_stock t
+                USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS VARCHAR(40)), CAST(? AS VARCHAR(120)),
+                               CAST(? AS VARCHAR(10)), CAST(? AS DECIMAL(18, 8)), CAST(? AS DECIMAL(18, 2)),
+                               CAST(? AS DECIMAL(18, 2)), CAST(? AS BOOLEAN), CAST(? AS TIMESTAMP)))
+                    AS s (id, user_id, ticker, name, currency, quantity, purchase_price, current_price, is_foreign, added_date)
+                ON t.user_id = s.user_id AND t.ticker = s.ticker
+                WHEN MATCHED THEN UPDATE SET
+                    purchase_price = %s,
+                    quantity = t.quantity + s.quantity,
+                    current_price = %s
+                WHEN NOT MATCHED THEN INSERT (id, user_id, ticker, name, currency, quantity, purchase_price, current_price, is_foreign, added_date)
+                    VALUES (s.id, s.user_id, s.ticker, s.name, s.currency, s.quantity, s.purchase_price, s.current_price, s.is_foreign, s.added_date)
+                """.formatted(AVERAGE_PRICE.formatted("s"), currentPrice("s.current_price", "t.current_price", keepCurrentPrice));
+    }
+
+    private static String onDuplicateKeyUpsert(String values, String rowAlias, UnaryOperator<String> incoming,
+                                               boolean keepCurrentPrice) {
+        return """
+                INSERT INTO user_stock (id, user_id, ticker, name, currency, quantity, purchase_price, current_price, is_foreign, added_date)
+                VALUES %s%s
+                ON DUPLICATE KEY UPDATE
+                    purchase_price = ROUND((quantity * purchase_price + %s * %s) / (quantity + %s), 2),
+                    quantity = quantity + %s,
+                    current_price = %s
+                """.formatted(values, rowAlias, incoming.apply("quantity"), incoming.apply("purchase_price"),
+                incoming.apply("quantity"), incoming.apply("quantity"),
+                currentPrice(incoming.apply("current_price"), "current_price", keepCurrentPrice));
+    }
+
+    private static final String SELECT_ROW = "SELECT * FROM user_stock WHERE user_id = :userId AND ticker = :ticker";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public UserStock upsertPurchase(Long userId, UserStock stock) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        Dialect dialect = session.getJdbcServices().getDialect();
+        Long id = idGenerator(session).apply(stock);
+
+        // 영향 범위를 user_stock 으로 선언 (미선언 네이티브 변경은 전체 2차/쿼리 캐시를 무효화함)
+        if (dialect instanceof PostgreSQLDialect) {
+            return single(bind(session.createNativeQuery(POSTGRES_UPSERT, UserStock.class), id, userId, stock)
+                    .addSynchronizedEntityClass(UserStock.class));
+        }
+        if (dialect instanceof MySQLDialect) {
+            // 네이티브 변경 쿼리 구현체는 NativeQuery 이며, 동기화 공간 지정은 NativeQuery 에만 있다
+            NativeQuery<?> upsert = (NativeQuery<?>) session.createNativeMutationQuery(
+                    supportsRowAlias(dialect) ? MYSQL_UPSERT : LEGACY_MYSQL_UPSERT);
+            bind(upsert, id, userId, stock)
+                    .addSynchronizedEntityClass(UserStock.class)
+                    .executeUpdate();
+        } else {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            session.doWork(connection -> merge(connection, STANDARD_MERGE, id, userId, stock, now));
+        }
+        return single(session.createNativeQuery(SELECT_ROW, UserStock.class)
+                .setParameter("userId", userId, StandardBasicTypes.LONG)
+                .setParameter("ticker", stock.getTicker(), StandardBasicTypes.STRING));
+    }
+
+    @Override
+    public void upsertPurchases(Long userId, List<UserStock> stocks) {
+        if (stocks.isEmpty()) {
+            return;
+        }
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        Dialect dialect = session.getJdbcServices().getDialect();
+        Function<UserStock, Long> ids = idGenerator(session);
+        int batchSize = Math.max(1, session.getFactory().getSessionFactoryOptions().getJdbcBatchSize());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        String sql = dialect instanceof PostgreSQLDialect ? POSTGRES_BATCH_UPSERT
+                : dialect instanceof MySQLDialect ? (supportsRowAlias(dialect) ? MYSQL_BATCH_UPSERT : LEGACY_MYSQL_BATCH_UPSERT)
+                : null;
+        session.doWork(connection -> {
+            if (sql == null) {
+                for (UserStock stock : stocks) {
+                    merge(connection, STANDARD_BATCH_MERGE, ids.apply(stock), userId, stock, now);
+                }
+                return;
+            }
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                int pending = 0;
+                for (UserStock stock : stocks) {
+                    bindRow(ps, ids.apply(stock), userId, stock, now);
+                    ps.addBatch();
+                    if (++pending == batchSize) {
+                        ps.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    ps.executeBatch();
+                }
+            }
+        });
+    }
+
+    /**
+     * 엔티티의 ID 생성기 (INSERT 전에 값을 만드는 시퀀스 생성기여야 함)
+     */
+    private static Function<UserStock, Long> idGenerator(SessionImplementor session) {
+        Generator generator = session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(UserStock.class)
+                .getGenerator();
+        if (!(generator instanceof BeforeExecutionGenerator idGenerator)) {
+            throw new IllegalStateException("user_stock id must be generated before insert: " + generator);
+        }
+        return stock -> (Long) idGenerator.generate(session, stock, null, EventType.INSERT);
+    }
+
+    private static boolean supportsRowAlias(Dialect dialect) {
+        return !(dialect instanceof MariaDBDialect) && dialect.getVersion().isSameOrAfter(8, 0, 19);
+    }
+
+    private static void merge(Connection connection, String sql, Long id, Long userId, UserStock stock, Timestamp now)
+            throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                bindRow(ps, id, userId, stock, now);
+                ps.executeUpdate();
+                return;
+            } catch (SQLException e) {
+                // SQLState 23xxx = 무결성 제약 위반 (동시 최초 INSERT 경합)
+                if (attempt >= 2 || e.getSQLState() == null || !e.getSQLState().startsWith("23")) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 위치 파라미터 바인딩 (컬럼 순서: id, user_id, ticker, name, currency, quantity, purchase_price,
+     * current_price, is_foreign, added_date)
+     */
+    private static void bindRow(PreparedStatement ps, Long id, Long userId, UserStock stock, Timestamp now)
+            throws SQLException {
+        ps.setLong(1, id);
+        ps.setLong(2, userId);
+        ps.setString(3, stock.getTicker());
+        ps.setString(4, stock.getName());
+        ps.setString(5, stock.getCurrency());
+        ps.setBigDecimal(6, stock.getQuantity());
+        ps.setBigDecimal(7, stock.getPurchasePrice());
+        ps.setBigDecimal(8, stock.getCurrentPrice());
+        ps.setObject(9, stock.getIsForeign(), Types.BOOLEAN);
+        ps.setTimestamp(10, now);
+    }
+
+    /**
+     * null 값도 컬럼 타입으로 바인딩되도록 타입을 명시
+     */
+    private static <Q extends CommonQueryContract> Q bind(Q query, Long id, Long userId, UserStock stock) {
+        query.setParameter("id", id, StandardBasicTypes.LONG);
+        query.setParameter("userId", userId, StandardBasicTypes.LONG);
+        query.setParameter("ticker", stock.getTicker(), StandardBasicTypes.STRING);
+        query.setParameter("name", stock.getName(), StandardBasicTypes.STRING);
+        query.setParameter("currency", stock.getCurrency(), StandardBasicTypes.STRING);
+        query.setParameter("quantity", stock.getQuantity(), StandardBasicTypes.BIG_DECIMAL);
+        query.setParameter("purchasePrice", stock.getPurchasePrice(), StandardBasicTypes.BIG_DECIMAL);
+        query.setParameter("currentPrice", stock.getCurrentPrice(), StandardBasicTypes.BIG_DECIMAL);
+        query.setParameter("isForeign", stock.getIsForeign(), StandardBasicTypes.BOOLEAN);
+        query.setParameter("addedDate", LocalDateTime.now(), StandardBasicTypes.LOCAL_DATE_TIME);
+        return query;
+    }
+
+    private static UserStock single(NativeQuery<UserStock> query) {
+        List<UserStock> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            throw new IllegalStateException("Upserted user_stock row not found");
+        }
+        return rows.get(0);
+    }
+}
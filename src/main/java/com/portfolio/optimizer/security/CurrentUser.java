@@ -0,0 +1,78 @@
+package com.portfolio.optimizer.security;
+
+import com.portfolio.optimizer.model.User;
+import com.portfolio.optimizer.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * 요청 단위 현재 사용자 (id / role)
+ *
+ * JwtAuthenticationFilter 가 토큰 클레임으로 만든 UserPrincipal 을 한 번 넣어 두고,
+ * 서비스는 사용자 엔티티를 다시 조회하지 않고 id 로 저장소를 호출한다.
+ * 연관관계 설정이 필요하면 reference() 로 조회 없는 프록시를 사용한다.
+ */
+@Component
+@RequestScope
+public class CurrentUser {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UserPrincipal principal;
+
+    /**
+     * 인증 필터에서 호출
+     */
+    public void set(UserPrincipal principal) {
+        this.principal = principal;
+    }
+
+    public boolean isAuthenticated() {
+        return resolve() != null;
+    }
+
+    /**
+     * 현재 사용자 ID (인증되지 않았으면 예외)
+     */
+    public Long getId() {
+        return require().getId();
+    }
+
+    public String getUsername() {
+        return require().getUsername();
+    }
+
+    public User.UserRole getRole() {
+        return require().getRole();
+    }
+
+    /**
+     * 연관관계 설정용 User 참조 (DB 조회 없음)
+     */
+    public User reference() {
+        return userRepository.getReferenceById(getId());
+    }
+
+    private UserPrincipal require() {
+        UserPrincipal resolved = resolve();
+        if (resolved == null) {
+            throw new RuntimeException("Not authenticated");
+        }
+        return resolved;
+    }
+
+    private UserPrincipal resolve() {
+        if (principal == null) {
+            // 필터를 거치지 않은 인증 (예: 회원가입 직후 자동 로그인)
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+                principal = userPrincipal;
+            }
+        }
+        return principal;
+    }
+}
@@ -1,5 +1,7 @@
 package com.portfolio.optimizer.security;
 
+import com.portfolio.optimizer.model.User;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +17,15 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * JWT 인증 필터
+ *
+ * 토큰은 한 번만 파싱하고, 서명된 id/role 클레임으로 UserPrincipal 을 만든다.
+ * 계정 상태(LOCKED/DELETED)와 비밀번호 변경 여부는 UserStatusCache 로만 확인하므로
+ * 캐시 적중 시 요청당 DB 조회가 없다.
+ * id 클레임이 없는 이전 형식 토큰은 기존처럼 UserDetailsService 로 조회한다.
+ * 결과는 요청 범위 CurrentUser 에도 넣어 서비스가 사용자 조회 없이 id 를 쓰게 한다.
+ */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     @Autowired
@@ -23,22 +34,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private UserStatusCache userStatusCache;
+
+    @Autowired
+    private CurrentUser currentUser;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseToken(jwt) : null;
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                
-                UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            if (claims != null) {
+                UserDetails userDetails = toPrincipal(claims);
+                if (userDetails != null && userDetails.isEnabled() && userDetails.isAccountNonLocked()) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    if (userDetails instanceof UserPrincipal principal) {
+                        currentUser.set(principal);
+                    }
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -47,6 +68,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails toPrincipal(Claims claims) {
+        Number userId = claims.get(JwtTokenProvider.CLAIM_USER_ID, Number.class);
+        if (userId == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        UserStatusCache.Entry status = userStatusCache.get(userId.longValue());
+        String stamp = claims.get(JwtTokenProvider.CLAIM_CREDENTIAL_STAMP, String.class);
+        if (!status.isActive() || !status.credentialStamp().equals(stamp)) {
+            // 비활성 계정이거나 토큰 발급 후 비밀번호가 바뀜
+            return null;
+        }
+
+        String role = claims.get(JwtTokenProvider.CLAIM_ROLE, String.class);
+        return new UserPrincipal(userId.longValue(), claims.getSubject(), null,
+                role != null ? User.UserRole.valueOf(role) : User.UserRole.USER, status.status());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
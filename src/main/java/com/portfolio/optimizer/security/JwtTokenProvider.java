@@ -13,17 +13,50 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Date;
+import java.util.HexFormat;
 
 @Component
 public class JwtTokenProvider {
 
+    // 사용자 ID / 권한 / 비밀번호 stamp 클레임
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_CREDENTIAL_STAMP = "cst";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    // 서명 키와 파서는 한 번만 만든다 (요청마다 SHA-512 유도 방지)
+    private volatile Key signingKey;
+    private volatile JwtParser parser;
+
     private Key getSigningKey() {
+        Key key = signingKey;
+        if (key == null) {
+            synchronized (this) {
+                key = signingKey;
+                if (key == null) {
+                    key = createSigningKey();
+                    signingKey = key;
+                }
+            }
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser p = parser;
+        if (p == null) {
+            p = Jwts.parserBuilder().setSigningKey(getSigningKey()).build();
+            parser = p;
+        }
+        return p;
+    }
+
+    private Key createSigningKey() {
         if (jwtSecret == null || jwtSecret.isEmpty()) {
             // Generate a secure random key if none provided (not persisted)
             return Keys.secretKeyFor(SignatureAlgorithm.HS512);
@@ -56,31 +89,25 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
-                .compact();
-    }
-
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
+                .setExpiration(expiryDate);
+        if (userDetails instanceof UserPrincipal principal) {
+            // 이후 요청은 이 클레임으로 인증 (사용자 테이블 조회 없음)
+            builder.claim(CLAIM_USER_ID, principal.getId())
+                    .claim(CLAIM_ROLE, principal.getRole().name())
+                    .claim(CLAIM_CREDENTIAL_STAMP, credentialStamp(principal.getPassword()));
+        }
+        return builder.signWith(getSigningKey(), SignatureAlgorithm.HS512).compact();
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * 서명/만료 검증과 클레임 추출을 한 번에 수행. 유효하지 않으면 null
+     */
+    public Claims parseToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
+            return getParser().parseClaimsJws(token).getBody();
         } catch (SecurityException | MalformedJwtException ex) {
             System.err.println("Invalid JWT signature");
         } catch (ExpiredJwtException ex) {
@@ -90,6 +117,29 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             System.err.println("JWT claims string is empty");
         }
-        return false;
+        return null;
+    }
+
+    public String getUsernameFromToken(String token) {
+        return getParser().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    public boolean validateToken(String authToken) {
+        return parseToken(authToken) != null;
+    }
+
+    /**
+     * 비밀번호 해시의 짧은 지문. 비밀번호가 바뀌면 달라지므로 이전 토큰을 거부하는 데 사용
+     */
+    public static String credentialStamp(String passwordHash) {
+        if (passwordHash == null) {
+            return "";
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(passwordHash.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
     }
 }
@@ -74,11 +74,16 @@ public class SecurityConfig {
                                 new AntPathRequestMatcher("/api/stocks/price/**"), // 실시간 주가 조회 API
                                 new AntPathRequestMatcher("/api/stocks/popular") // 인기 종목 API
                         ).permitAll()
+                        .requestMatchers(
+                                new AntPathRequestMatcher("/actuator/metrics/**"), // 캐시 통계 등 운영 지표
+                                new AntPathRequestMatcher("/actuator/sqlstats/**") // 엔드포인트별 SQL 통계
+                        ).hasRole("ADMIN")
                         .requestMatchers(
                                 new AntPathRequestMatcher("/api/user/**"), // 사용자 관련 API (인증 필요)
                                 new AntPathRequestMatcher("/api/user-stocks/**"), // 사용자 보유종목 API (인증 필요)
                                 new AntPathRequestMatcher("/api/portfolios/**"), // 포트폴리오 API (인증 필요)
-                                new AntPathRequestMatcher("/api/portfolio/**") // 포트폴리오 최적화 API (인증 필요)
+                                new AntPathRequestMatcher("/api/portfolio/**"), // 포트폴리오 최적화 API (인증 필요)
+                                new AntPathRequestMatcher("/api/optimization-results/**") // 최적화 이력 API (인증 필요)
                         ).authenticated()
                         .anyRequest().authenticated() // 나머지 모든 요청은 인증 필요
                 )
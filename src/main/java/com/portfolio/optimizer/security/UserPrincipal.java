@@ -0,0 +1,85 @@
+package com.portfolio.optimizer.security;
+
+import com.portfolio.optimizer.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * 인증된 사용자 정보
+ *
+ * 로그인 시에는 DB 의 User 로, 이후 요청에서는 서명된 JWT 클레임(id/role)으로 만든다.
+ * 토큰으로 만든 경우 password 는 null 이다.
+ */
+public class UserPrincipal implements UserDetails {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final User.UserRole role;
+    private final User.UserStatus status;
+
+    public UserPrincipal(Long id, String username, String password, User.UserRole role, User.UserStatus status) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.role = role != null ? role : User.UserRole.USER;
+        this.status = status != null ? status : User.UserStatus.ACTIVE;
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getPassword(), user.getRole(), user.getStatus());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public User.UserRole getRole() {
+        return role;
+    }
+
+    public User.UserStatus getStatus() {
+        return status;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return status != User.UserStatus.LOCKED;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return status != User.UserStatus.DELETED;
+    }
+}
@@ -0,0 +1,122 @@
+package com.portfolio.optimizer.security;
+
+import com.portfolio.optimizer.model.User;
+import com.portfolio.optimizer.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JWT 인증 시 계정 상태 확인용 사용자 캐시
+ *
+ * 권한/식별은 서명된 토큰 클레임을 그대로 믿고, 이 캐시는 상태(LOCKED/DELETED)와
+ * 비밀번호 변경 여부(credential stamp)만 확인한다. 항목 수 상한(LRU)과 TTL 로 크기와
+ * 반영 지연을 제한하며, 비밀번호 재설정/상태 변경 시 invalidate 로 즉시 다시 읽게 한다.
+ */
+@Component
+public class UserStatusCache {
+
+    /**
+     * 캐시 항목 (status, 현재 비밀번호 해시의 stamp)
+     */
+    public record Entry(User.UserStatus status, String credentialStamp, long loadedAt) {
+
+        public boolean isActive() {
+            return status == null || status == User.UserStatus.ACTIVE;
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final int maxEntries;
+    private final long ttlMs;
+
+    // 사용자 ID -> 상태 (접근 순서 유지, LRU 제거용)
+    private final LinkedHashMap<Long, Entry> entries;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public UserStatusCache(UserRepository userRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${auth.user.cache.max.entries:10000}") int maxEntries,
+                           @Value("${auth.user.cache.ttl.ms:60000}") long ttlMs) {
+        this.userRepository = userRepository;
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > UserStatusCache.this.maxEntries;
+            }
+        };
+
+        this.hitCounter = Counter.builder("auth.user.cache").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("auth.user.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("auth.user.cache.size", this, UserStatusCache::size)
+                .description("Users held in the JWT status cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사용자 상태 (캐시 우선, 만료/없음이면 DB 조회). 존재하지 않는 사용자는 DELETED 로 취급
+     */
+    public Entry get(Long userId) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry cached = entries.get(userId);
+            if (cached != null && now - cached.loadedAt() < ttlMs) {
+                hitCounter.increment();
+                return cached;
+            }
+        }
+
+        missCounter.increment();
+        Optional<UserRepository.UserStatusView> view = userRepository.findStatusById(userId);
+        Entry entry = view
+                .map(v -> new Entry(v.getStatus(), JwtTokenProvider.credentialStamp(v.getPassword()), now))
+                .orElse(new Entry(User.UserStatus.DELETED, "", now));
+        synchronized (entries) {
+            entries.put(userId, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * 캐시 항목 제거 (트랜잭션 중이면 커밋 후 - 커밋 전 값을 다시 읽어 두는 것을 방지)
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void evict(Long userId) {
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+}
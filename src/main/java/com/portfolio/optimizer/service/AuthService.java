@@ -5,6 +5,7 @@ import com.portfolio.optimizer.dto.LoginRequest;
 import com.portfolio.optimizer.dto.SignupRequest;
 import com.portfolio.optimizer.model.User;
 import com.portfolio.optimizer.repository.UserRepository;
+import com.portfolio.optimizer.security.CurrentUser;
 import com.portfolio.optimizer.security.JwtTokenProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,8 +13,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.authentication.AnonymousAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +31,9 @@ public class AuthService {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private CurrentUser currentUser;
+
     @Transactional
     public AuthResponse signup(SignupRequest request) {
         // 중복 체크
@@ -89,34 +91,12 @@ public class AuthService {
                 .build();
     }
 
+    /**
+     * 현재 사용자 엔티티 (요청의 CurrentUser id 로 기본키 조회)
+     * 엔티티 전체가 필요한 경우에만 사용하고, 그 외에는 CurrentUser 의 id 를 사용한다.
+     */
     public User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null) {
-            throw new RuntimeException("Not authenticated");
-        }
-
-        // Treat anonymous authentication as not authenticated
-        if (authentication instanceof AnonymousAuthenticationToken) {
-            throw new RuntimeException("Not authenticated");
-        }
-
-        if (!authentication.isAuthenticated()) {
-            throw new RuntimeException("Not authenticated");
-        }
-
-        String username;
-        Object principal = authentication.getPrincipal();
-        if (principal instanceof UserDetails userDetails) {
-            username = userDetails.getUsername();
-        } else {
-            username = authentication.getName();
-        }
-
-        if ("anonymousUser".equalsIgnoreCase(username)) {
-            throw new RuntimeException("Not authenticated");
-        }
-
-        return userRepository.findByUsername(username)
+        return userRepository.findById(currentUser.getId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 }
@@ -28,9 +28,11 @@ public class ChatbotService {
 
         // 최적화 결과가 있는지 확인
         OptimizationResult result = null;
-        if (sessionId != null && optimizationContextService.hasOptimizationResult(sessionId)) {
+        if (sessionId != null) {
             result = optimizationContextService.getOptimizationResult(sessionId);
-            log.info("Found optimization result for session: {}", sessionId);
+            if (result != null) {
+                log.info("Found optimization result for session: {}", sessionId);
+            }
         }
 
         // 1) Gemini 시도
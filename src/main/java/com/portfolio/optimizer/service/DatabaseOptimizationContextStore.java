@@ -0,0 +1,78 @@
+package com.portfolio.optimizer.service;
+
+import com.portfolio.optimizer.model.OptimizationContextRecord;
+import com.portfolio.optimizer.repository.OptimizationContextRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * DB 기반 공유 저장소
+ * 모든 인스턴스가 같은 optimization_context 테이블을 바라보므로 sticky session 없이 챗봇 컨텍스트를 공유한다.
+ */
+@Component
+@ConditionalOnProperty(name = "optimization.context.store", havingValue = "database")
+@RequiredArgsConstructor
+@Slf4j
+public class DatabaseOptimizationContextStore implements OptimizationContextStore {
+
+    private final OptimizationContextRepository repository;
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public void save(String sessionKey, byte[] payload, long version) {
+        repository.save(OptimizationContextRecord.builder()
+                .sessionKey(sessionKey)
+                .payload(payload)
+                .version(version)
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StoredContext> load(String sessionKey) {
+        return repository.findById(sessionKey)
+                .map(record -> new StoredContext(record.getPayload(), record.getVersion()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> version(String sessionKey) {
+        return repository.findVersionBySessionKey(sessionKey);
+    }
+
+    @Override
+    @Transactional
+    public void delete(String sessionKey) {
+        if (repository.existsById(sessionKey)) {
+            repository.deleteById(sessionKey);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll() {
+        repository.deleteAllInBatch();
+    }
+
+    @Override
+    @Transactional
+    public int deleteOlderThan(LocalDateTime cutoff) {
+        int deleted = repository.deleteByUpdatedAtBefore(cutoff);
+        if (deleted > 0) {
+            log.info("Deleted {} stored optimization contexts older than {}", deleted, cutoff);
+        }
+        return deleted;
+    }
+}
@@ -1,5 +1,6 @@
 package com.portfolio.optimizer.service;
 
+import com.portfolio.optimizer.model.PriceAlert;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Service;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import java.math.BigDecimal;
 
 @Service
 public class EmailService {
@@ -80,6 +82,19 @@ public class EmailService {
         sendHtmlEmail(to, subject, htmlContent);
     }
 
+    /**
+     * 가격 알림 이메일 발송
+     */
+    public void sendPriceAlertEmail(String to, String ticker, PriceAlert.Direction direction,
+                                    BigDecimal thresholdPrice, BigDecimal currentPrice) {
+        String verb = direction == PriceAlert.Direction.ABOVE ? "상향 돌파" : "하향 이탈";
+        String subject = String.format("[Stock Portfolio Optimizer] %s 가격 알림 (%s)", ticker, verb);
+        String htmlContent = buildPriceAlertEmailTemplate(ticker, verb,
+                thresholdPrice.stripTrailingZeros().toPlainString(),
+                currentPrice.stripTrailingZeros().toPlainString());
+        sendHtmlEmail(to, subject, htmlContent);
+    }
+
     /**
      * 아이디 찾기 이메일 템플릿
      */
@@ -182,4 +197,50 @@ public class EmailService {
             </html>
             """, verificationCode);
     }
+
+    /**
+     * 가격 알림 이메일 템플릿
+     */
+    private String buildPriceAlertEmailTemplate(String ticker, String verb, String thresholdPrice, String currentPrice) {
+        return String.format("""
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <meta charset="UTF-8">
+                <style>
+                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                    .header { background: linear-gradient(135deg, #667eea 0%%, #764ba2 100%%); color: white; padding: 30px; text-align: center; border-radius: 10px 10px 0 0; }
+                    .content { background: #f9f9f9; padding: 30px; border-radius: 0 0 10px 10px; }
+                    .price-box { background: white; padding: 20px; margin: 20px 0; border-radius: 8px; text-align: center; border: 2px solid #667eea; }
+                    .price { font-size: 28px; font-weight: bold; color: #667eea; }
+                    .footer { text-align: center; margin-top: 20px; color: #666; font-size: 12px; }
+                </style>
+            </head>
+            <body>
+                <div class="container">
+                    <div class="header">
+                        <h1>가격 알림</h1>
+                    </div>
+                    <div class="content">
+                        <p>안녕하세요,</p>
+                        <p><strong>%s</strong> 의 가격이 설정하신 기준가 <strong>%s</strong> 를 %s했습니다.</p>
+                        
+                        <div class="price-box">
+                            <p style="margin: 0; color: #666;">현재가</p>
+                            <p class="price">%s</p>
+                        </div>
+                        
+                        <p>이 알림은 1회 발송 후 비활성화됩니다. 다시 받으시려면 알림을 새로 등록해 주세요.</p>
+                        
+                        <div class="footer">
+                            <p>본 메일은 발신 전용입니다.</p>
+                            <p>&copy; 2025 Stock Portfolio Optimizer. All rights reserved.</p>
+                        </div>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """, ticker, thresholdPrice, verb, currentPrice);
+    }
 }
@@ -0,0 +1,212 @@
+package com.portfolio.optimizer.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 환율 서비스 (단일 환율 소스)
+ *
+ * USD 기준 환율(USD/KRW, USD/EUR ...)만 주기적으로 Yahoo 에서 미리 받아두고,
+ * 나머지 통화쌍은 메모리에서 교차 환율(to/from)로 계산한다.
+ * 조회는 불변 스냅샷 참조 하나만 읽으므로 락이 없고 네트워크 호출도 없다.
+ * 최적화 입력에도 이 환율을 넣어 Python 스크립트가 직접 환율을 조회하지 않도록 한다.
+ */
+@Service
+@Slf4j
+public class FxRateService {
+
+    private static final String PIVOT = "USD";
+    private static final String CHART_URL = "https://query1.finance.yahoo.com/v8/finance/chart/";
+    private static final Map<String, String> YAHOO_HEADERS = Map.of(
+            "User-Agent", "Mozilla/5.0 (PortfolioOptimizer/1.0)",
+            "Accept", "application/json");
+
+    private final UpstreamHttpGateway gateway;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 조회 대상 통화 (설정값 + 요청 중 처음 본 통화)
+    private final Set<String> currencies = ConcurrentHashMap.newKeySet();
+
+    // 현재 스냅샷 (교체만 하고 수정하지 않음)
+    private volatile Snapshot snapshot;
+
+    /**
+     * USD 1단위당 통화 환율 하나
+     * @param live    최근 갱신에서 실시간 조회에 성공했는지 (false 면 기본값 또는 이전 값 유지)
+     * @param asOf    값을 얻은 시각 (epoch ms)
+     */
+    private record PivotRate(double rate, boolean live, long asOf) {
+    }
+
+    private record Snapshot(Map<String, PivotRate> rates, long refreshedAt) {
+    }
+
+    /**
+     * 통화쌍 환율
+     */
+    public record FxQuote(String from, String to, double rate, boolean live, long asOf) {
+
+        public double ageSeconds() {
+            return (System.currentTimeMillis() - asOf) / 1000.0;
+        }
+    }
+
+    public FxRateService(UpstreamHttpGateway gateway,
+                         MeterRegistry meterRegistry,
+                         @Value("${fx.currencies:KRW,EUR,JPY,CNY,GBP,HKD}") String configuredCurrencies,
+                         @Value("${fx.default.rates:KRW:1456,EUR:0.92,JPY:150,CNY:7.2,GBP:0.79,HKD:7.8}") String defaultRates) {
+        this.gateway = gateway;
+
+        for (String currency : configuredCurrencies.split(",")) {
+            if (!currency.isBlank()) {
+                currencies.add(normalize(currency));
+            }
+        }
+
+        // 첫 갱신 전까지 사용할 기본 환율 (asOf=0 → 매우 오래된 값으로 표시)
+        Map<String, PivotRate> initial = new HashMap<>();
+        initial.put(PIVOT, new PivotRate(1.0, true, System.currentTimeMillis()));
+        for (String entry : defaultRates.split(",")) {
+            String[] pair = entry.split(":");
+            if (pair.length == 2) {
+                initial.put(normalize(pair[0]), new PivotRate(Double.parseDouble(pair[1].trim()), false, 0));
+            }
+        }
+        this.snapshot = new Snapshot(Map.copyOf(initial), 0);
+
+        Gauge.builder("fx.snapshot.age.seconds", this,
+                        s -> s.snapshot.refreshedAt() == 0 ? -1 : (System.currentTimeMillis() - s.snapshot.refreshedAt()) / 1000.0)
+                .description("Seconds since the FX snapshot was last refreshed (-1 before first refresh)")
+                .register(meterRegistry);
+        Gauge.builder("fx.rates.live", this,
+                        s -> s.snapshot.rates().values().stream().filter(PivotRate::live).count())
+                .description("Base FX quotes obtained from the upstream in the last refresh")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 통화쌍 환율 조회 (from 1단위 = rate to)
+     * 아직 한 번도 조회하지 못한 통화면 empty 를 반환하고 다음 갱신 대상에 추가한다.
+     */
+    public Optional<FxQuote> quote(String from, String to) {
+        String f = normalize(from);
+        String t = normalize(to);
+        if (f.equals(t)) {
+            return Optional.of(new FxQuote(f, t, 1.0, true, System.currentTimeMillis()));
+        }
+
+        Map<String, PivotRate> rates = snapshot.rates();
+        PivotRate fromRate = rates.get(f);
+        PivotRate toRate = rates.get(t);
+        if (fromRate == null || toRate == null) {
+            track(f);
+            track(t);
+            return Optional.empty();
+        }
+
+        // 교차 환율: (USD→to) / (USD→from)
+        return Optional.of(new FxQuote(f, t,
+                toRate.rate() / fromRate.rate(),
+                fromRate.live() && toRate.live(),
+                Math.min(fromRate.asOf(), toRate.asOf())));
+    }
+
+    /**
+     * 통화쌍 환율 값 (알 수 없는 통화면 IllegalArgumentException)
+     */
+    public double rate(String from, String to) {
+        return quote(from, to)
+                .map(FxQuote::rate)
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported currency pair: " + from + "/" + to));
+    }
+
+    /**
+     * 보유 중인 모든 통화의 target 기준 환율 (예: target=KRW → {USD: 1456.0, EUR: 1582.6, ...})
+     * 최적화 입력에 한 번에 넘기기 위한 용도
+     */
+    public Map<String, Double> ratesTo(String target) {
+        String t = normalize(target);
+        Map<String, PivotRate> rates = snapshot.rates();
+        PivotRate toRate = rates.get(t);
+        if (toRate == null) {
+            throw new IllegalArgumentException("Unsupported currency: " + target);
+        }
+        Map<String, Double> result = new LinkedHashMap<>();
+        rates.forEach((currency, rate) -> result.put(currency, toRate.rate() / rate.rate()));
+        return result;
+    }
+
+    /**
+     * USD 기준 환율 갱신 (주기 실행, 기동 직후 1회 포함)
+     * 개별 통화 조회 실패 시 이전 값을 유지하며, 서킷이 열려 있으면 남은 조회를 건너뛴다.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${fx.refresh.interval.ms:60000}")
+    public void refresh() {
+        Snapshot previous = snapshot;
+        Map<String, PivotRate> next = new HashMap<>(previous.rates());
+        next.put(PIVOT, new PivotRate(1.0, true, System.currentTimeMillis()));
+
+        Set<String> refreshed = new HashSet<>();
+        for (String currency : currencies) {
+            if (PIVOT.equals(currency)) {
+                continue;
+            }
+            try {
+                double rate = fetchPivotRate(currency);
+                next.put(currency, new PivotRate(rate, true, System.currentTimeMillis()));
+                refreshed.add(currency);
+            } catch (UpstreamHttpGateway.UpstreamException e) {
+                log.warn("FX refresh failed for {}: {}", currency, e.getMessage());
+                if (e.getStatusCode() == 0 && !e.isRetryable()) {
+                    break; // 서킷 차단/동시성 초과 - 남은 통화도 실패할 것이므로 중단
+                }
+                if (e.getStatusCode() >= 400 && !e.isRetryable() && !next.containsKey(currency)) {
+                    currencies.remove(currency); // 존재하지 않는 통화 코드
+                }
+            } catch (Exception e) {
+                log.warn("FX refresh failed for {}: {}", currency, e.getMessage());
+            }
+        }
+        // 이번 갱신에서 받지 못한 통화는 이전 값 유지, live 표시만 해제
+        next.replaceAll((currency, rate) -> PIVOT.equals(currency) || refreshed.contains(currency)
+                ? rate : new PivotRate(rate.rate(), false, rate.asOf()));
+
+        snapshot = new Snapshot(Map.copyOf(next), System.currentTimeMillis());
+        log.debug("FX snapshot refreshed: {}/{} live", refreshed.size(), next.size() - 1);
+    }
+
+    private double fetchPivotRate(String currency) throws Exception {
+        String body = gateway.get(UpstreamHttpGateway.YAHOO, CHART_URL + PIVOT + currency + "=X", YAHOO_HEADERS);
+        JsonNode meta = objectMapper.readTree(body).path("chart").path("result").path(0).path("meta");
+        double rate = meta.path("regularMarketPrice").asDouble(0);
+        if (rate <= 0) {
+            throw new IllegalStateException("No price in response for " + PIVOT + currency);
+        }
+        return rate;
+    }
+
+    private void track(String currency) {
+        if (currency.matches("[A-Z]{3}") && currencies.add(currency)) {
+            log.info("FX currency {} added to refresh set", currency);
+        }
+    }
+
+    private static String normalize(String currency) {
+        return currency.trim().toUpperCase(Locale.ROOT);
+    }
+}
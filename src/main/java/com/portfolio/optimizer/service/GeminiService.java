@@ -1,10 +1,11 @@
 package com.portfolio.optimizer.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.HashMap;
 import java.util.List;
@@ -12,6 +13,7 @@ import java.util.Map;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class GeminiService {
 
     @Value("${gemini.api.key:}")
@@ -32,7 +34,8 @@ public class GeminiService {
     @Value("${gemini.rate.limit.requests.per.minute:60}")
     private int requestsPerMinute;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final UpstreamHttpGateway gateway;
+    private final ObjectMapper objectMapper = new ObjectMapper();
     
     // 요청 카운터 (분당 제한)
     private int requestCount = 0;
@@ -64,15 +67,12 @@ public class GeminiService {
         }
 
         try {
-            // Gemini API URL (API 키를 쿼리 파라미터로 전달)
+            // Gemini API URL (API 키는 URL 대신 헤더로 전달하여 로그/메트릭에 노출되지 않도록 함)
             String apiUrl = String.format(
-                "https://generativelanguage.googleapis.com/v1beta/models/%s:generateContent?key=%s",
-                model, apiKey
+                "https://generativelanguage.googleapis.com/v1beta/models/%s:generateContent",
+                model
             );
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
             // Gemini API 요청 형식
             Map<String, Object> requestBody = new HashMap<>();
             requestBody.put("contents", List.of(
@@ -87,20 +87,12 @@ public class GeminiService {
                 "maxOutputTokens", maxTokens
             ));
 
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
             log.info("🤖 Calling Gemini API: model={}, maxTokens={}", model, maxTokens);
-            @SuppressWarnings("rawtypes")
-            ResponseEntity<Map> response = restTemplate.exchange(
-                apiUrl,
-                HttpMethod.POST,
-                entity,
-                Map.class
-            );
+            String responseBody = gateway.postJson(UpstreamHttpGateway.GEMINI, apiUrl,
+                    objectMapper.writeValueAsString(requestBody), Map.of("x-goog-api-key", apiKey));
 
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> body = response.getBody();
+            Map<String, Object> body = objectMapper.readValue(responseBody, new TypeReference<Map<String, Object>>() {});
+            if (body != null) {
                 @SuppressWarnings("unchecked")
                 List<Map<String, Object>> candidates = (List<Map<String, Object>>) body.get("candidates");
                 
@@ -109,7 +101,7 @@ public class GeminiService {
                     @SuppressWarnings("unchecked")
                     Map<String, Object> content = (Map<String, Object>) firstCandidate.get("content");
                     @SuppressWarnings("unchecked")
-                    List<Map<String, String>> parts = (List<Map<String, String>>) content.get("parts");
+                    List<Map<String, String>> parts = content != null ? (List<Map<String, String>>) content.get("parts") : null;
                     
                     if (parts != null && !parts.isEmpty()) {
                         String text = parts.get(0).get("text");
@@ -0,0 +1,340 @@
+package com.portfolio.optimizer.service;
+
+import com.portfolio.optimizer.dto.HoldingsImportResultDto;
+import com.portfolio.optimizer.dto.UserStockDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 증권사 CSV/TSV 내보내기 파일로 보유 종목 일괄 가져오기
+ *
+ * 업로드 스트림을 한 줄씩 읽어 파싱하고(파일 전체를 메모리에 올리지 않음), 같은 종목은
+ * addStock 과 같은 가중 평균 매수가로 메모리에서 합산한 뒤 한 트랜잭션에서 배치로 반영한다.
+ * 잘못된 행은 건너뛰고 줄 번호와 사유를 결과에 담는다.
+ * 앱의 매수가/현재가는 해외 종목도 원화로 저장하므로, KRW 가 아닌 가격은 FxRateService 환율로
+ * 원화 환산한 뒤 합산한다 (환율을 알 수 없는 통화의 행은 오류로 건너뜀).
+ */
+@Service
+@Slf4j
+public class HoldingsImportService {
+
+    private static final int MAX_TICKER_LENGTH = 40;
+    private static final int MAX_NAME_LENGTH = 120;
+    private static final String BASE_CURRENCY = "KRW";
+
+    // 헤더 이름(소문자, 공백/밑줄/하이픈 제거) -> 컬럼
+    private static final Map<String, Column> HEADER_ALIASES = new HashMap<>();
+
+    static {
+        alias(Column.TICKER, "ticker", "symbol", "code", "종목코드", "티커", "심볼");
+        alias(Column.NAME, "name", "description", "종목명", "종목");
+        alias(Column.CURRENCY, "currency", "ccy", "통화");
+        alias(Column.QUANTITY, "quantity", "qty", "shares", "수량", "보유수량");
+        alias(Column.PRICE, "purchaseprice", "price", "avgprice", "averageprice", "avgcost", "costbasis",
+                "매수가", "평균단가", "매입단가", "매입가");
+        alias(Column.CURRENT_PRICE, "currentprice", "lastprice", "marketprice", "현재가");
+    }
+
+    private enum Column { TICKER, NAME, CURRENCY, QUANTITY, PRICE, CURRENT_PRICE }
+
+    private final UserStockService userStockService;
+    private final FxRateService fxRateService;
+    private final int maxRows;
+    private final int maxErrors;
+
+    public HoldingsImportService(UserStockService userStockService,
+                                 FxRateService fxRateService,
+                                 @Value("${holdings.import.max.rows:20000}") int maxRows,
+                                 @Value("${holdings.import.max.errors:200}") int maxErrors) {
+        this.userStockService = userStockService;
+        this.fxRateService = fxRateService;
+        this.maxRows = maxRows;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * 파일 파싱 -> 종목별 합산 -> 일괄 반영
+     */
+    public HoldingsImportResultDto importHoldings(MultipartFile file) {
+        long started = System.currentTimeMillis();
+        if (file == null || file.isEmpty()) {
+            throw new RuntimeException("업로드된 파일이 비어 있습니다.");
+        }
+
+        Map<String, UserStockDto> merged = new LinkedHashMap<>();
+        List<HoldingsImportResultDto.RowError> errors = new ArrayList<>();
+        // 통화 -> 원화 환율 (한 파일은 같은 환율로 환산)
+        Map<String, BigDecimal> fxRates = new HashMap<>();
+        int rowsRead = 0;
+        int rowsFailed = 0;
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            int lineNo = 0;
+            String line;
+            Map<Column, Integer> columns = null;
+            char delimiter = ',';
+
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (lineNo == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                    line = line.substring(1); // Excel 이 붙이는 UTF-8 BOM
+                }
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+
+                if (columns == null) {
+                    delimiter = detectDelimiter(line);
+                    columns = mapHeader(split(line, delimiter));
+                    continue;
+                }
+
+                if (++rowsRead > maxRows) {
+                    throw new RuntimeException("한 번에 가져올 수 있는 행은 최대 " + maxRows + "개입니다.");
+                }
+
+                String ticker = null;
+                try {
+                    List<String> fields = split(line, delimiter);
+                    ticker = normalizeTicker(field(fields, columns, Column.TICKER));
+                    merge(merged, parseRow(ticker, fields, columns, fxRates));
+                } catch (IllegalArgumentException e) {
+                    rowsFailed++;
+                    if (errors.size() < maxErrors) {
+                        errors.add(new HoldingsImportResultDto.RowError(lineNo, ticker, e.getMessage()));
+                    }
+                }
+            }
+
+            if (columns == null) {
+                throw new RuntimeException("헤더 행이 없습니다.");
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("파일을 읽을 수 없습니다: " + e.getMessage(), e);
+        }
+
+        UserStockService.ImportMergeResult result = merged.isEmpty()
+                ? new UserStockService.ImportMergeResult(0, 0)
+                : userStockService.mergeImported(merged.values());
+
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("[HoldingsImportService] {}: rows={}, failed={}, tickers={}, created={}, updated={} in {}ms",
+                file.getOriginalFilename(), rowsRead, rowsFailed, merged.size(),
+                result.created(), result.updated(), elapsed);
+
+        return HoldingsImportResultDto.builder()
+                .rowsRead(rowsRead)
+                .rowsImported(rowsRead - rowsFailed)
+                .rowsFailed(rowsFailed)
+                .created(result.created())
+                .updated(result.updated())
+                .errors(errors)
+                .errorsTruncated(rowsFailed > errors.size())
+                .elapsedMs(elapsed)
+                .build();
+    }
+
+    /**
+     * 파일 내 중복 종목 합산 (addStock 과 같은 가중 평균 매수가, 현재가는 마지막 값)
+     * 행 가격은 parseRow 에서 이미 원화로 환산되어 있다.
+     */
+    private static void merge(Map<String, UserStockDto> merged, UserStockDto row) {
+        UserStockDto existing = merged.get(row.getTicker());
+        if (existing == null) {
+            merged.put(row.getTicker(), row);
+            return;
+        }
+        existing.setPurchasePrice(UserStockService.averagePrice(existing.getQuantity(), existing.getPurchasePrice(),
+                row.getQuantity(), row.getPurchasePrice()));
+        existing.setQuantity(existing.getQuantity().add(row.getQuantity()));
+        if (row.getCurrentPrice() != null) {
+            existing.setCurrentPrice(row.getCurrentPrice());
+        }
+    }
+
+    private UserStockDto parseRow(String ticker, List<String> fields, Map<Column, Integer> columns,
+                                  Map<String, BigDecimal> fxRates) {
+        if (ticker == null) {
+            throw new IllegalArgumentException("종목코드가 비어 있습니다.");
+        }
+        if (ticker.length() > MAX_TICKER_LENGTH) {
+            throw new IllegalArgumentException("종목코드가 너무 깁니다.");
+        }
+
+        BigDecimal quantity = parseNumber(field(fields, columns, Column.QUANTITY), "수량");
+        if (quantity == null || quantity.signum() <= 0) {
+            throw new IllegalArgumentException("수량은 0보다 커야 합니다.");
+        }
+        BigDecimal price = parseNumber(field(fields, columns, Column.PRICE), "매수가");
+        if (price == null || price.signum() < 0) {
+            throw new IllegalArgumentException("매수가가 올바르지 않습니다.");
+        }
+        BigDecimal currentPrice = parseNumber(field(fields, columns, Column.CURRENT_PRICE), "현재가");
+
+        String name = field(fields, columns, Column.NAME);
+        if (name == null) {
+            name = ticker;
+        } else if (name.length() > MAX_NAME_LENGTH) {
+            name = name.substring(0, MAX_NAME_LENGTH);
+        }
+
+        String currency = field(fields, columns, Column.CURRENCY);
+        currency = currency != null ? currency.toUpperCase(Locale.ROOT) : inferCurrency(ticker);
+        BigDecimal fx = toKrwRate(currency, fxRates);
+
+        return UserStockDto.builder()
+                .ticker(ticker)
+                .name(name)
+                .currency(currency)
+                .quantity(quantity)
+                .purchasePrice(price.multiply(fx).setScale(2, RoundingMode.HALF_UP))
+                .currentPrice(currentPrice != null ? currentPrice.multiply(fx).setScale(2, RoundingMode.HALF_UP) : null)
+                .isForeign(!BASE_CURRENCY.equals(currency))
+                .build();
+    }
+
+    /**
+     * 통화 1단위의 원화 환율 (파일 안에서는 처음 조회한 값을 재사용)
+     */
+    private BigDecimal toKrwRate(String currency, Map<String, BigDecimal> fxRates) {
+        if (BASE_CURRENCY.equals(currency)) {
+            return BigDecimal.ONE;
+        }
+        BigDecimal rate = fxRates.get(currency);
+        if (rate == null) {
+            rate = fxRateService.quote(currency, BASE_CURRENCY)
+                    .map(quote -> BigDecimal.valueOf(quote.rate()))
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "원화 환율을 알 수 없는 통화입니다: " + currency + " (가격을 원화로 입력하거나 잠시 후 다시 시도하세요)"));
+            fxRates.put(currency, rate);
+        }
+        return rate;
+    }
+
+    /**
+     * 통화 컬럼이 없을 때: 국내 종목(6자리 코드, .KS/.KQ)은 KRW, 그 외 USD
+     */
+    private static String inferCurrency(String ticker) {
+        if (ticker.endsWith(".KS") || ticker.endsWith(".KQ") || ticker.matches("\\d{6}")) {
+            return BASE_CURRENCY;
+        }
+        return "USD";
+    }
+
+    private static String normalizeTicker(String raw) {
+        return raw == null ? null : raw.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * 천 단위 구분자와 통화 기호를 허용 ("1,234.5", "$10", "₩70,000")
+     */
+    private static BigDecimal parseNumber(String raw, String label) {
+        if (raw == null) {
+            return null;
+        }
+        String cleaned = raw.replace(",", "").replace("$", "").replace("₩", "").replace(" ", "");
+        try {
+            return new BigDecimal(cleaned);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(label + " 값이 숫자가 아닙니다: " + raw);
+        }
+    }
+
+    private static String field(List<String> fields, Map<Column, Integer> columns, Column column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Map<Column, Integer> mapHeader(List<String> header) {
+        Map<Column, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String key = header.get(i).trim().toLowerCase(Locale.ROOT).replaceAll("[\\s_\\-]", "");
+            Column column = HEADER_ALIASES.get(key);
+            if (column != null) {
+                columns.putIfAbsent(column, i);
+            }
+        }
+        for (Column required : List.of(Column.TICKER, Column.QUANTITY, Column.PRICE)) {
+            if (!columns.containsKey(required)) {
+                throw new RuntimeException("필수 컬럼이 없습니다: " + required.name().toLowerCase(Locale.ROOT)
+                        + " (필수: ticker, quantity, price)");
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * 헤더 행 기준 구분자 판별: 탭 > 세미콜론(쉼표 없을 때) > 쉼표
+     */
+    private static char detectDelimiter(String header) {
+        if (header.indexOf('\t') >= 0) {
+            return '\t';
+        }
+        if (header.indexOf(';') >= 0 && header.indexOf(',') < 0) {
+            return ';';
+        }
+        return ',';
+    }
+
+    /**
+     * 한 줄 분리 (큰따옴표로 감싼 필드와 "" 이스케이프 지원, 줄바꿈이 들어간 필드는 미지원)
+     */
+    private static List<String> split(String line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("닫히지 않은 따옴표가 있습니다.");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static void alias(Column column, String... names) {
+        for (String name : names) {
+            HEADER_ALIASES.put(name, column);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.portfolio.optimizer.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * 실제 HTTP 전송 (기본값)
+ * 커넥션 풀을 공유하는 단일 HTTP/2 클라이언트를 사용한다.
+ */
+@Component
+@ConditionalOnProperty(name = "upstream.stub.mode", havingValue = "off", matchIfMissing = true)
+public class HttpUpstreamTransport implements UpstreamTransport {
+
+    private final HttpClient httpClient;
+
+    public HttpUpstreamTransport(Environment environment) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(environment.getProperty("upstream.connect.timeout.ms", Long.class, 3000L)))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public Response send(String upstream, HttpRequest request, String requestBody) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        return new Response(response.statusCode(), response.body());
+    }
+}
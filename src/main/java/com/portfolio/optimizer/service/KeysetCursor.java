@@ -0,0 +1,59 @@
+package com.portfolio.optimizer.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * (생성 시각, id) 내림차순 키셋 페이지네이션 커서
+ *
+ * 다음 페이지 조건: timestamp < :ts OR (timestamp = :ts AND id < :id)
+ * 클라이언트에는 불투명한 base64url 문자열로 노출한다.
+ */
+public record KeysetCursor(LocalDateTime timestamp, Long id) {
+
+    /**
+     * 첫 페이지 (모든 행이 조건을 만족하는 상한값)
+     */
+    public static final KeysetCursor FIRST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new RuntimeException("잘못된 커서입니다.");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((timestamp + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * limit + 1 건을 조회한 결과에서 다음 커서 계산 (초과분이 있을 때만), 초과분은 목록에서 제거
+     */
+    public static <T> String next(List<T> rows, int limit, Function<T, LocalDateTime> timestamp, Function<T, Long> id) {
+        if (rows.size() <= limit) {
+            return null;
+        }
+        rows.subList(limit, rows.size()).clear();
+        T last = rows.get(limit - 1);
+        return new KeysetCursor(timestamp.apply(last), id.apply(last)).encode();
+    }
+}
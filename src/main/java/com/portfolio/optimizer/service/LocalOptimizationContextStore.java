@@ -0,0 +1,48 @@
+package com.portfolio.optimizer.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 단일 인스턴스용 저장소 (기본값)
+ * 별도 원본 저장소 없이 OptimizationContextService 의 로컬 캐시만 사용한다.
+ */
+@Component
+@ConditionalOnProperty(name = "optimization.context.store", havingValue = "local", matchIfMissing = true)
+public class LocalOptimizationContextStore implements OptimizationContextStore {
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+
+    @Override
+    public void save(String sessionKey, byte[] payload, long version) {
+    }
+
+    @Override
+    public Optional<StoredContext> load(String sessionKey) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Long> version(String sessionKey) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void delete(String sessionKey) {
+    }
+
+    @Override
+    public void deleteAll() {
+    }
+
+    @Override
+    public int deleteOlderThan(LocalDateTime cutoff) {
+        return 0;
+    }
+}
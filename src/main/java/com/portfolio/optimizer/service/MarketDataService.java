@@ -0,0 +1,225 @@
+package com.portfolio.optimizer.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 현재가 조회 서비스 (Yahoo Finance chart API)
+ * /api/stocks/price 와 /api/portfolio/stock-price 가 같은 캐시를 공유하며,
+ * 캐시 미스 시에도 동일 종목에 대한 동시 요청은 HTTP 호출 1회로 합쳐진다.
+ */
+@Service
+@Slf4j
+public class MarketDataService {
+
+    private static final String CHART_URL = "https://query1.finance.yahoo.com/v8/finance/chart/";
+    private static final int MAX_RETRIES = 3;
+    private static final long RETRY_DELAY_MS = 1000;
+
+    @Value("${market.data.quote.cache.ttl.ms:300000}")
+    private long quoteCacheTtlMs;
+
+    private static final Map<String, String> YAHOO_HEADERS = Map.of(
+            "User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36");
+
+    private final UpstreamHttpGateway gateway;
+    private final FxRateService fxRateService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 티커 -> 최근 시세 (만료되어도 조회 실패 시 대체값으로 사용)
+    private final Map<String, Quote> quoteCache = new ConcurrentHashMap<>();
+    // 티커 -> 진행 중인 조회 (동시 캐시 미스 합치기)
+    private final Map<String, CompletableFuture<Quote>> inFlight = new ConcurrentHashMap<>();
+
+    public MarketDataService(UpstreamHttpGateway gateway, FxRateService fxRateService) {
+        this.gateway = gateway;
+        this.fxRateService = fxRateService;
+    }
+
+    /**
+     * 시세 정보
+     */
+    public record Quote(String ticker, String name, double price, double previousClose,
+                        String currency, String marketState, long fetchedAt) {
+
+        public double change() {
+            return price - previousClose;
+        }
+
+        public double changePercent() {
+            return previousClose != 0 ? (price - previousClose) / previousClose * 100 : 0;
+        }
+    }
+
+    /**
+     * 현재가 조회 (캐시 우선, 만료 시 Yahoo 조회, 실패 시 만료된 캐시라도 반환)
+     */
+    public Quote getQuote(String ticker) {
+        Quote cached = quoteCache.get(ticker);
+        if (cached != null && System.currentTimeMillis() - cached.fetchedAt() < quoteCacheTtlMs) {
+            return cached;
+        }
+
+        CompletableFuture<Quote> future = new CompletableFuture<>();
+        CompletableFuture<Quote> existing = inFlight.putIfAbsent(ticker, future);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        try {
+            Quote quote = fetchQuote(ticker);
+            quoteCache.put(ticker, quote);
+            future.complete(quote);
+            return quote;
+        } catch (RuntimeException e) {
+            if (cached != null) {
+                log.warn("Quote fetch failed for {}, returning stale cache: {}", ticker, e.getMessage());
+                future.complete(cached);
+                return cached;
+            }
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(ticker, future);
+        }
+    }
+
+    /**
+     * /api/stocks/price 응답 형식 (원 통화 기준)
+     */
+    public Map<String, Object> getPriceResponse(String ticker) {
+        Map<String, Object> result = new HashMap<>();
+        try {
+            Quote quote = getQuote(ticker);
+            result.put("ticker", ticker);
+            result.put("currentPrice", quote.price());
+            result.put("previousClose", quote.previousClose());
+            result.put("change", quote.change());
+            result.put("changePercent", quote.changePercent());
+            result.put("currency", quote.currency());
+            result.put("success", true);
+        } catch (RuntimeException e) {
+            result.put("success", false);
+            result.put("error", e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * 원화 환산 현재가
+     */
+    public double getPriceInKrw(String ticker) {
+        Quote quote = getQuote(ticker);
+        return quote.price() * krwRate(quote.currency());
+    }
+
+    /**
+     * 통화 -> KRW 환율 (FX 스냅샷 우선, 없으면 Yahoo 환율 직접 조회)
+     */
+    private double krwRate(String currency) {
+        if (currency == null || "KRW".equalsIgnoreCase(currency)) {
+            return 1.0;
+        }
+        return fxRateService.quote(currency, "KRW")
+                .map(FxRateService.FxQuote::rate)
+                .orElseGet(() -> getQuote(currency.toUpperCase() + "KRW=X").price());
+    }
+
+    /**
+     * /api/portfolio/stock-price 응답 형식 (원화 환산, 기존 fetch_stock_data.py 출력과 호환)
+     */
+    public Map<String, Object> getStockPriceInKrw(String symbol) {
+        Quote quote = getQuote(symbol);
+        boolean isForeign = quote.currency() != null && !"KRW".equalsIgnoreCase(quote.currency());
+        double rate = krwRate(quote.currency());
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("symbol", symbol);
+        result.put("name", quote.name() != null ? quote.name() : symbol);
+        result.put("currentPrice", round2(quote.price() * rate));
+        result.put("change", round2(quote.change() * rate));
+        result.put("changePercent", round2(quote.changePercent()));
+        result.put("currency", quote.currency());
+        result.put("exchangeRate", isForeign ? round2(rate) : null);
+        result.put("marketState", quote.marketState());
+        result.put("timestamp", Instant.ofEpochMilli(quote.fetchedAt()).toString());
+        result.put("dataSource", "yahoo-chart");
+        return result;
+    }
+
+    private Quote fetchQuote(String ticker) {
+        RuntimeException lastError = null;
+        for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
+            try {
+                if (attempt > 1) {
+                    log.debug("Retrying quote fetch for {} ({}/{})", ticker, attempt, MAX_RETRIES);
+                    Thread.sleep(RETRY_DELAY_MS * attempt);
+                }
+                String response = gateway.get(UpstreamHttpGateway.YAHOO,
+                        CHART_URL + URLEncoder.encode(ticker, StandardCharsets.UTF_8), YAHOO_HEADERS);
+                JsonNode chart = objectMapper.readTree(response).path("chart").path("result").path(0);
+                if (chart.isMissingNode()) {
+                    throw new RuntimeException("데이터를 가져올 수 없습니다");
+                }
+                JsonNode meta = chart.path("meta");
+                Quote quote = new Quote(
+                        ticker,
+                        textOrNull(meta, "longName", "shortName"),
+                        meta.path("regularMarketPrice").asDouble(),
+                        meta.path("previousClose").asDouble(meta.path("chartPreviousClose").asDouble()),
+                        meta.path("currency").asText(null),
+                        meta.path("marketState").asText("UNKNOWN"),
+                        System.currentTimeMillis());
+                log.debug("Fetched quote {} = {} {}", ticker, quote.price(), quote.currency());
+                return quote;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Quote fetch interrupted", e);
+            } catch (UpstreamHttpGateway.UpstreamException e) {
+                log.warn("Quote fetch failed for {} (attempt {}/{}): {}", ticker, attempt, MAX_RETRIES, e.getMessage());
+                lastError = e;
+                if (!e.isRetryable()) {
+                    break; // 서킷 차단/동시성 초과/4xx 는 재시도하지 않음
+                }
+            } catch (Exception e) {
+                log.warn("Quote fetch failed for {} (attempt {}/{}): {}", ticker, attempt, MAX_RETRIES, e.getMessage());
+                lastError = e instanceof RuntimeException re ? re : new RuntimeException(e.getMessage(), e);
+            }
+        }
+        throw lastError;
+    }
+
+    private static Quote join(CompletableFuture<Quote> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    private static String textOrNull(JsonNode node, String... fields) {
+        for (String field : fields) {
+            String value = node.path(field).asText("");
+            if (!value.isEmpty()) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -1,58 +1,453 @@
 package com.portfolio.optimizer.service;
 
 import com.portfolio.optimizer.model.OptimizationResult;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 최적화 결과를 세션별로 저장하고 관리하는 서비스
  * 챗봇이 최적화 결과를 참조할 수 있도록 컨텍스트 제공
+ *
+ * 결과는 압축 바이너리(OptimizationResultCodec)로 보관하며,
+ * 항목 수/총 바이트 상한과 유휴 TTL로 힙 사용량을 제한한다.
+ * 상한 초과로 밀려난 항목은 선택적으로 디스크 스필 영역에 저장된다.
+ *
+ * 공유 저장소(OptimizationContextStore)가 설정되면 로컬 캐시는 near-cache 로 동작하며,
+ * 일정 주기마다 저장소의 버전과 비교해 다른 인스턴스의 갱신/삭제를 반영한다.
  */
 @Service
 @Slf4j
 public class OptimizationContextService {
-    
-    // 세션ID -> 최적화 결과 매핑
-    private final Map<String, OptimizationResult> optimizationContexts = new ConcurrentHashMap<>();
-    
+
+    private final OptimizationResultCodec codec;
+    private final OptimizationContextStore contextStore;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long idleTtlMs;
+    private final long revalidateMs;
+    private final long storeTtlMs;
+    private final boolean spillEnabled;
+    private final Path spillDir;
+
+    // 세션ID -> 압축된 최적화 결과 (접근 순서 유지, LRU 제거용)
+    private final LinkedHashMap<String, Entry> optimizationContexts = new LinkedHashMap<>(16, 0.75f, true);
+    private long retainedBytes = 0;
+
+    // 디스크 스필 영역 색인: 세션ID -> 파일 크기
+    private final Map<String, Long> spilled = new ConcurrentHashMap<>();
+    private final AtomicLong spilledBytes = new AtomicLong();
+
+    private static class Entry {
+        final byte[] data;
+        final long version;
+        long lastAccess;
+        long validatedAt;
+
+        Entry(byte[] data, long version) {
+            this.data = data;
+            this.version = version;
+            this.lastAccess = System.currentTimeMillis();
+            this.validatedAt = this.lastAccess;
+        }
+    }
+
+    public OptimizationContextService(
+            OptimizationResultCodec codec,
+            OptimizationContextStore contextStore,
+            MeterRegistry meterRegistry,
+            @Value("${optimization.context.max.entries:1000}") int maxEntries,
+            @Value("${optimization.context.max.bytes:67108864}") long maxBytes,
+            @Value("${optimization.context.idle.ttl.minutes:120}") long idleTtlMinutes,
+            @Value("${optimization.context.near.cache.revalidate.ms:5000}") long revalidateMs,
+            @Value("${optimization.context.store.ttl.minutes:1440}") long storeTtlMinutes,
+            @Value("${optimization.context.spill.enabled:false}") boolean spillEnabled,
+            @Value("${optimization.context.spill.dir:${java.io.tmpdir}/qfn-optimization-context}") String spillDir) {
+        this.codec = codec;
+        this.contextStore = contextStore;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.idleTtlMs = TimeUnit.MINUTES.toMillis(idleTtlMinutes);
+        this.revalidateMs = revalidateMs;
+        this.storeTtlMs = TimeUnit.MINUTES.toMillis(storeTtlMinutes);
+        this.spillDir = Paths.get(spillDir);
+
+        // 공유 저장소가 원본이면 디스크 스필은 불필요 (밀려난 항목은 저장소에서 다시 읽음)
+        if (spillEnabled && contextStore.isShared()) {
+            log.warn("Optimization context spill disabled: shared context store is active");
+            spillEnabled = false;
+        }
+        this.spillEnabled = spillEnabled;
+        if (spillEnabled) {
+            initSpillDir();
+        }
+
+        log.info("Optimization context store: {} (shared={})",
+                contextStore.getClass().getSimpleName(), contextStore.isShared());
+
+        Gauge.builder("optimization.context.entries", this, s -> s.size())
+                .tag("tier", "heap")
+                .description("Optimization contexts held in memory")
+                .register(meterRegistry);
+        Gauge.builder("optimization.context.retained.bytes", this, s -> s.retainedBytes())
+                .tag("tier", "heap")
+                .baseUnit("bytes")
+                .description("Compressed bytes of optimization contexts held in memory")
+                .register(meterRegistry);
+        Gauge.builder("optimization.context.entries", spilled, Map::size)
+                .tag("tier", "disk")
+                .description("Optimization contexts spilled to disk")
+                .register(meterRegistry);
+        Gauge.builder("optimization.context.retained.bytes", spilledBytes, AtomicLong::get)
+                .tag("tier", "disk")
+                .baseUnit("bytes")
+                .description("Compressed bytes of optimization contexts spilled to disk")
+                .register(meterRegistry);
+    }
+
     /**
      * 최적화 결과를 세션에 저장
      */
     public void saveOptimizationResult(String sessionId, OptimizationResult result) {
-        log.info("Saving optimization result for session: {}", sessionId);
-        optimizationContexts.put(sessionId, result);
+        byte[] data = codec.encode(result);
+        long version = ThreadLocalRandom.current().nextLong();
+        log.info("Saving optimization result for session: {} ({} bytes compressed)", sessionId, data.length);
+
+        if (contextStore.isShared()) {
+            contextStore.save(sessionKey(sessionId), data, version);
+        }
+        cache(sessionId, data, version);
     }
-    
+
     /**
      * 세션의 최적화 결과 조회
      */
     public OptimizationResult getOptimizationResult(String sessionId) {
-        return optimizationContexts.get(sessionId);
+        byte[] data = lookup(sessionId);
+        return data != null ? codec.decode(data) : null;
     }
-    
+
     /**
      * 세션의 최적화 결과 존재 여부 확인
      */
     public boolean hasOptimizationResult(String sessionId) {
-        return optimizationContexts.containsKey(sessionId);
+        synchronized (optimizationContexts) {
+            Entry entry = optimizationContexts.get(sessionId);
+            if (entry != null && !isExpired(entry.lastAccess) && !needsRevalidation(entry)) {
+                return true;
+            }
+        }
+        if (spilled.containsKey(sessionId)) {
+            return true;
+        }
+        return contextStore.isShared() && contextStore.version(sessionKey(sessionId)).isPresent();
     }
-    
+
     /**
      * 세션의 최적화 결과 삭제
      */
     public void clearOptimizationResult(String sessionId) {
         log.info("Clearing optimization result for session: {}", sessionId);
-        optimizationContexts.remove(sessionId);
+        evictLocal(sessionId);
+        removeSpilled(sessionId);
+        if (contextStore.isShared()) {
+            contextStore.delete(sessionKey(sessionId));
+        }
     }
-    
+
     /**
      * 모든 최적화 결과 삭제 (메모리 관리용)
      */
     public void clearAll() {
         log.info("Clearing all optimization contexts");
-        optimizationContexts.clear();
+        synchronized (optimizationContexts) {
+            optimizationContexts.clear();
+            retainedBytes = 0;
+        }
+        for (String sessionId : new ArrayList<>(spilled.keySet())) {
+            removeSpilled(sessionId);
+        }
+        if (contextStore.isShared()) {
+            contextStore.deleteAll();
+        }
+    }
+
+    /**
+     * 메모리에 보관 중인 항목 수
+     */
+    public int size() {
+        synchronized (optimizationContexts) {
+            return optimizationContexts.size();
+        }
+    }
+
+    /**
+     * 메모리에 보관 중인 압축 바이트 합계
+     */
+    public long retainedBytes() {
+        synchronized (optimizationContexts) {
+            return retainedBytes;
+        }
+    }
+
+    /**
+     * 유휴 TTL이 지난 항목 정리 (메모리 + 디스크 + 공유 저장소)
+     */
+    @Scheduled(fixedDelayString = "${optimization.context.sweep.interval.ms:60000}")
+    public void evictExpired() {
+        int removed = 0;
+        synchronized (optimizationContexts) {
+            Iterator<Entry> it = optimizationContexts.values().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (isExpired(entry.lastAccess)) {
+                    it.remove();
+                    retainedBytes -= entry.data.length;
+                    removed++;
+                }
+            }
+        }
+
+        if (spillEnabled) {
+            for (String sessionId : new ArrayList<>(spilled.keySet())) {
+                Path file = spillFile(sessionId);
+                try {
+                    if (!Files.exists(file) || isExpired(Files.getLastModifiedTime(file).toMillis())) {
+                        removeSpilled(sessionId);
+                        removed++;
+                    }
+                } catch (IOException e) {
+                    log.warn("Failed to inspect spilled optimization context: {}", file, e);
+                }
+            }
+        }
+
+        if (removed > 0) {
+            log.info("Evicted {} idle optimization contexts", removed);
+        }
+
+        if (contextStore.isShared()) {
+            try {
+                contextStore.deleteOlderThan(LocalDateTime.now().minus(Duration.ofMillis(storeTtlMs)));
+            } catch (Exception e) {
+                log.warn("Failed to purge stored optimization contexts: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void cache(String sessionId, byte[] data, long version) {
+        removeSpilled(sessionId);
+        List<Map.Entry<String, Entry>> evicted = new ArrayList<>();
+        synchronized (optimizationContexts) {
+            Entry previous = optimizationContexts.put(sessionId, new Entry(data, version));
+            if (previous != null) {
+                retainedBytes -= previous.data.length;
+            }
+            retainedBytes += data.length;
+
+            // 항목 수 또는 총 바이트 상한을 넘으면 가장 오래 사용되지 않은 항목부터 제거
+            Iterator<Map.Entry<String, Entry>> it = optimizationContexts.entrySet().iterator();
+            while ((optimizationContexts.size() > maxEntries || retainedBytes > maxBytes) && it.hasNext()) {
+                Map.Entry<String, Entry> eldest = it.next();
+                if (eldest.getKey().equals(sessionId) && optimizationContexts.size() == 1) {
+                    break; // 방금 저장한 단일 항목은 유지
+                }
+                it.remove();
+                retainedBytes -= eldest.getValue().data.length;
+                evicted.add(eldest);
+            }
+        }
+
+        for (Map.Entry<String, Entry> e : evicted) {
+            log.debug("Evicted optimization context for session: {}", e.getKey());
+            spill(e.getKey(), e.getValue());
+        }
+    }
+
+    private byte[] lookup(String sessionId) {
+        Entry stale = null;
+        synchronized (optimizationContexts) {
+            Entry entry = optimizationContexts.get(sessionId);
+            if (entry != null) {
+                if (!isExpired(entry.lastAccess)) {
+                    entry.lastAccess = System.currentTimeMillis();
+                    if (!needsRevalidation(entry)) {
+                        return entry.data;
+                    }
+                    stale = entry;
+                } else {
+                    optimizationContexts.remove(sessionId);
+                    retainedBytes -= entry.data.length;
+                }
+            }
+        }
+
+        if (stale != null) {
+            return revalidate(sessionId, stale);
+        }
+
+        // 디스크 스필 영역에서 찾으면 메모리로 승격
+        byte[] data = readSpilled(sessionId);
+        if (data != null) {
+            cache(sessionId, data, 0L);
+            return data;
+        }
+
+        // 다른 인스턴스가 저장한 결과를 공유 저장소에서 로드
+        if (contextStore.isShared()) {
+            Optional<OptimizationContextStore.StoredContext> stored = contextStore.load(sessionKey(sessionId));
+            if (stored.isPresent()) {
+                log.debug("Loaded optimization context from shared store for session: {}", sessionId);
+                cache(sessionId, stored.get().payload(), stored.get().version());
+                return stored.get().payload();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * near-cache 항목을 공유 저장소 버전과 비교 (payload 는 변경된 경우에만 다시 읽음)
+     */
+    private byte[] revalidate(String sessionId, Entry entry) {
+        String key = sessionKey(sessionId);
+        Optional<Long> current = contextStore.version(key);
+        if (current.isEmpty()) {
+            log.debug("Optimization context removed on another node for session: {}", sessionId);
+            evictLocal(sessionId);
+            return null;
+        }
+        if (current.get() == entry.version) {
+            synchronized (optimizationContexts) {
+                entry.validatedAt = System.currentTimeMillis();
+            }
+            return entry.data;
+        }
+        Optional<OptimizationContextStore.StoredContext> stored = contextStore.load(key);
+        if (stored.isEmpty()) {
+            evictLocal(sessionId);
+            return null;
+        }
+        log.debug("Refreshed optimization context updated on another node for session: {}", sessionId);
+        cache(sessionId, stored.get().payload(), stored.get().version());
+        return stored.get().payload();
+    }
+
+    private void evictLocal(String sessionId) {
+        synchronized (optimizationContexts) {
+            Entry removed = optimizationContexts.remove(sessionId);
+            if (removed != null) {
+                retainedBytes -= removed.data.length;
+            }
+        }
+    }
+
+    private boolean needsRevalidation(Entry entry) {
+        return contextStore.isShared() && System.currentTimeMillis() - entry.validatedAt > revalidateMs;
+    }
+
+    private boolean isExpired(long lastAccess) {
+        return System.currentTimeMillis() - lastAccess > idleTtlMs;
+    }
+
+    private void initSpillDir() {
+        try {
+            Files.createDirectories(spillDir);
+            // 이전 실행에서 남은 스필 파일은 세션 색인이 없으므로 정리
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(spillDir, "*.bin")) {
+                for (Path file : stream) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            log.info("Optimization context spill directory: {}", spillDir);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to prepare spill directory: " + spillDir, e);
+        }
+    }
+
+    private void spill(String sessionId, Entry entry) {
+        if (!spillEnabled || isExpired(entry.lastAccess)) {
+            return;
+        }
+        Path file = spillFile(sessionId);
+        try {
+            Files.write(file, entry.data);
+            Long previous = spilled.put(sessionId, (long) entry.data.length);
+            spilledBytes.addAndGet(entry.data.length - (previous != null ? previous : 0L));
+        } catch (IOException e) {
+            log.warn("Failed to spill optimization context for session: {}", sessionId, e);
+        }
+    }
+
+    private byte[] readSpilled(String sessionId) {
+        if (!spillEnabled || !spilled.containsKey(sessionId)) {
+            return null;
+        }
+        Path file = spillFile(sessionId);
+        try {
+            if (isExpired(Files.getLastModifiedTime(file).toMillis())) {
+                removeSpilled(sessionId);
+                return null;
+            }
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            log.warn("Failed to read spilled optimization context for session: {}", sessionId, e);
+            removeSpilled(sessionId);
+            return null;
+        }
+    }
+
+    private void removeSpilled(String sessionId) {
+        Long size = spilled.remove(sessionId);
+        if (size == null) {
+            return;
+        }
+        spilledBytes.addAndGet(-size);
+        try {
+            Files.deleteIfExists(spillFile(sessionId));
+        } catch (IOException e) {
+            log.warn("Failed to delete spilled optimization context for session: {}", sessionId, e);
+        }
+    }
+
+    private Path spillFile(String sessionId) {
+        return spillDir.resolve(sessionKey(sessionId) + ".bin");
+    }
+
+    /**
+     * 세션 ID는 클라이언트가 보내는 값이므로 SHA-256 해시를 파일명/저장소 키로 사용
+     */
+    private static String sessionKey(String sessionId) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] digest = md.digest(sessionId.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
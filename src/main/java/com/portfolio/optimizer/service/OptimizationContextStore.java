@@ -0,0 +1,44 @@
+package com.portfolio.optimizer.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 최적화 컨텍스트 저장소
+ * OptimizationContextService 의 로컬 캐시 뒤에 위치하는 원본 저장소로,
+ * 공유 저장소(DB 등)를 사용하면 로드밸런서가 다른 인스턴스로 요청을 보내도 컨텍스트를 찾을 수 있다.
+ *
+ * 설정: optimization.context.store=local(기본) | database
+ */
+public interface OptimizationContextStore {
+
+    /**
+     * 저장된 컨텍스트 (압축 payload + 버전)
+     */
+    record StoredContext(byte[] payload, long version) {
+    }
+
+    /**
+     * 다른 인스턴스와 공유되는 저장소인지 여부
+     * false 이면 로컬 캐시가 유일한 사본이므로 재검증/조회를 생략한다.
+     */
+    boolean isShared();
+
+    void save(String sessionKey, byte[] payload, long version);
+
+    Optional<StoredContext> load(String sessionKey);
+
+    /**
+     * payload 없이 현재 버전만 조회
+     */
+    Optional<Long> version(String sessionKey);
+
+    void delete(String sessionKey);
+
+    void deleteAll();
+
+    /**
+     * cutoff 이전에 저장된 컨텍스트 정리
+     */
+    int deleteOlderThan(LocalDateTime cutoff);
+}
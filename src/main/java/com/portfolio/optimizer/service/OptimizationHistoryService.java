@@ -0,0 +1,188 @@
+package com.portfolio.optimizer.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.portfolio.optimizer.dto.OptimizationRequest;
+import com.portfolio.optimizer.dto.OptimizationRunDto;
+import com.portfolio.optimizer.model.OptimizationResult;
+import com.portfolio.optimizer.model.OptimizationRun;
+import com.portfolio.optimizer.model.OptimizationRunPayload;
+import com.portfolio.optimizer.model.Portfolio;
+import com.portfolio.optimizer.model.User;
+import com.portfolio.optimizer.repository.OptimizationRunPayloadRepository;
+import com.portfolio.optimizer.repository.OptimizationRunRepository;
+import com.portfolio.optimizer.repository.PortfolioRepository;
+import com.portfolio.optimizer.security.CurrentUser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 최적화 결과 이력 저장/조회 서비스
+ * 실행마다 헤드라인 지표는 인덱스 컬럼으로, 전체 결과는 압축 payload 로 저장하여
+ * 과거 결과를 재최적화 없이 다시 열 수 있게 한다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OptimizationHistoryService {
+
+    private static final int MAX_LIST_SIZE = 200;
+
+    private final OptimizationRunRepository runRepository;
+    private final OptimizationRunPayloadRepository payloadRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final OptimizationResultCodec codec;
+    private final CurrentUser currentUser;
+
+    // 입력 해시용: 키 정렬로 동일 입력이면 항상 같은 JSON 이 되도록
+    private final ObjectMapper canonicalMapper = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    /**
+     * 최적화 실행 결과 저장
+     * @return 저장된 결과 ID
+     */
+    @Transactional
+    public Long recordRun(OptimizationRequest request, String method, OptimizationResult result) {
+        return recordRun(currentUser.reference(), request, method, result);
+    }
+
+    /**
+     * 최적화 실행 결과 저장 (요청 컨텍스트 밖의 배치 작업용, 사용자 지정)
+     * @return 저장된 결과 ID
+     */
+    @Transactional
+    public Long recordRun(User user, OptimizationRequest request, String method, OptimizationResult result) {
+        byte[] payload = codec.encode(result);
+        OptimizationRun run = runRepository.save(OptimizationRun.builder()
+                .user(user)
+                .portfolioId(request.getPortfolioId())
+                .inputsHash(inputsHash(request, method))
+                .method(method)
+                .expectedReturn(result.getExpectedReturn())
+                .expectedRisk(result.getExpectedRisk())
+                .sharpeRatio(result.getSharpeRatio())
+                .assetCount(result.getAllocation() != null ? result.getAllocation().size() : 0)
+                .payloadSize(payload.length)
+                .build());
+        payloadRepository.save(OptimizationRunPayload.builder()
+                .resultId(run.getId())
+                .payload(payload)
+                .build());
+
+        log.info("[OptimizationHistoryService] Recorded optimization result id={} for user {} ({} bytes)",
+                run.getId(), user.getId(), payload.length);
+        return run.getId();
+    }
+
+    /**
+     * 최적화 이력 목록 (payload 는 로드하지 않음)
+     */
+    @Transactional(readOnly = true)
+    public List<OptimizationRunDto> listRuns(Long portfolioId, LocalDate from, LocalDate to, int limit) {
+        Long userId = currentUser.getId();
+        LocalDateTime fromTime = from != null ? from.atStartOfDay() : LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime toTime = to != null ? to.plusDays(1).atStartOfDay() : LocalDateTime.now().plusDays(1);
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_LIST_SIZE)));
+
+        if (portfolioId != null) {
+            return runRepository.findSummariesByUserIdAndPortfolioId(userId, portfolioId, fromTime, toTime, page);
+        }
+        return runRepository.findSummariesByUserId(userId, fromTime, toTime, page);
+    }
+
+    /**
+     * 저장된 결과 전체 조회 (압축 payload 디코딩)
+     */
+    @Transactional(readOnly = true)
+    public OptimizationResult getResult(Long resultId) {
+        checkOwnership(resultId);
+        OptimizationRunPayload payload = payloadRepository.findById(resultId)
+                .orElseThrow(() -> new RuntimeException("Optimization result not found"));
+        OptimizationResult result = codec.decode(payload.getPayload());
+        result.setResultId(resultId);
+        return result;
+    }
+
+    @Transactional
+    public void deleteRun(Long resultId) {
+        checkOwnership(resultId);
+        portfolioRepository.clearPinnedResultId(resultId);
+        payloadRepository.deleteById(resultId);
+        runRepository.deleteById(resultId);
+    }
+
+    /**
+     * 포트폴리오에 대표 결과 고정 (Portfolio.pinnedResultId)
+     */
+    @Transactional
+    public void pinResult(Long portfolioId, Long resultId) {
+        Portfolio portfolio = getOwnedPortfolio(portfolioId);
+        if (resultId != null) {
+            checkOwnership(resultId);
+        }
+        portfolio.setPinnedResultId(resultId);
+    }
+
+    /**
+     * 포트폴리오에 고정된 결과 조회
+     */
+    @Transactional(readOnly = true)
+    public OptimizationResult getPinnedResult(Long portfolioId) {
+        Portfolio portfolio = getOwnedPortfolio(portfolioId);
+        if (portfolio.getPinnedResultId() == null) {
+            return null;
+        }
+        return getResult(portfolio.getPinnedResultId());
+    }
+
+    private Portfolio getOwnedPortfolio(Long portfolioId) {
+        Portfolio portfolio = portfolioRepository.findById(portfolioId)
+                .orElseThrow(() -> new RuntimeException("Portfolio not found"));
+        if (!portfolio.getUser().getId().equals(currentUser.getId())) {
+            throw new RuntimeException("Unauthorized");
+        }
+        return portfolio;
+    }
+
+    private void checkOwnership(Long resultId) {
+        Long ownerId = runRepository.findUserIdById(resultId)
+                .orElseThrow(() -> new RuntimeException("Optimization result not found"));
+        if (!ownerId.equals(currentUser.getId())) {
+            throw new RuntimeException("Unauthorized");
+        }
+    }
+
+    /**
+     * 세션 ID 등 실행과 무관한 값을 제외한 입력의 SHA-256
+     */
+    private String inputsHash(OptimizationRequest request, String method) {
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> inputs = canonicalMapper.convertValue(request, Map.class);
+            inputs.remove("sessionId");
+            inputs.put("method", method);
+            byte[] json = canonicalMapper.writeValueAsString(inputs).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to hash optimization inputs: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.portfolio.optimizer.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.optimizer.model.OptimizationResult;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * OptimizationResult <-> 압축 바이너리 변환기
+ * 효율적 프론티어/백테스트 리스트가 포함된 결과를 JSON + Deflate로 압축하여
+ * 힙/디스크/DB에 작은 바이트 배열로 보관할 수 있도록 한다.
+ */
+@Component
+public class OptimizationResultCodec {
+
+    // 포맷 버전 (향후 직렬화 방식 변경 시 구분용)
+    private static final byte FORMAT_VERSION = 1;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * 결과를 압축 바이너리로 인코딩
+     */
+    public byte[] encode(OptimizationResult result) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+            bytes.write(FORMAT_VERSION);
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (OutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+                objectMapper.writeValue(out, result);
+            } finally {
+                deflater.end();
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode optimization result: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 압축 바이너리를 결과 객체로 디코딩
+     */
+    public OptimizationResult decode(byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        if (data[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported optimization result format: " + data[0]);
+        }
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(data, 1, data.length - 1))) {
+            return objectMapper.readValue(in, OptimizationResult.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to decode optimization result: " + e.getMessage(), e);
+        }
+    }
+}
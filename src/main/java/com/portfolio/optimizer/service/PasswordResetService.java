@@ -6,6 +6,7 @@ import com.portfolio.optimizer.model.PasswordResetToken;
 import com.portfolio.optimizer.model.User;
 import com.portfolio.optimizer.repository.PasswordResetTokenRepository;
 import com.portfolio.optimizer.repository.UserRepository;
+import com.portfolio.optimizer.security.UserStatusCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -30,6 +31,9 @@ public class PasswordResetService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private UserStatusCache userStatusCache;
+
     /**
      * 이메일로 아이디 찾기
      */
@@ -139,6 +143,8 @@ public class PasswordResetService {
         // 비밀번호 암호화 및 저장
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        // 이전 비밀번호로 발급된 JWT 거부 (커밋 후 상태 캐시 갱신)
+        userStatusCache.invalidate(user.getId());
 
         // 토큰 사용 처리
         resetToken.setUsed(true);
@@ -1,18 +1,25 @@
 package com.portfolio.optimizer.service;
 
+import com.portfolio.optimizer.dto.CursorPageDto;
 import com.portfolio.optimizer.dto.PortfolioAssetDto;
 import com.portfolio.optimizer.dto.PortfolioDto;
+import com.portfolio.optimizer.dto.PortfolioSummaryDto;
 import com.portfolio.optimizer.model.Portfolio;
 import com.portfolio.optimizer.model.PortfolioAsset;
-import com.portfolio.optimizer.model.User;
 import com.portfolio.optimizer.repository.PortfolioAssetRepository;
 import com.portfolio.optimizer.repository.PortfolioRepository;
+import com.portfolio.optimizer.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,36 +33,71 @@ public class PortfolioManagementService {
     private PortfolioAssetRepository assetRepository;
 
     @Autowired
-    private AuthService authService;
+    private CurrentUser currentUser;
 
+    /**
+     * 전체 포트폴리오 목록 (종목 포함)
+     * fetch join + DISTINCT 대신 헤더 프로젝션 1회 + 종목 컬럼 프로젝션 1회로 조회해 엔티티를 만들지 않는다.
+     */
     @Transactional(readOnly = true)
     public List<PortfolioDto> getUserPortfolios() {
-        User user = authService.getCurrentUser();
-        if (user == null) {
-            log.warn("getUserPortfolios called but no authenticated user found");
-            throw new RuntimeException("Not authenticated");
-        }
-        log.debug("[PortfolioManagementService] Fetching portfolios for user {}", user.getId());
+        Long userId = currentUser.getId();
+        log.debug("[PortfolioManagementService] Fetching portfolios for user {}", userId);
         long t0 = System.currentTimeMillis();
-        List<Portfolio> portfolios = portfolioRepository.findWithAssetsByUserIdOrderByCreatedAtDesc(user.getId());
-        if (portfolios == null) {
-            log.debug("[PortfolioManagementService] Repository returned null list for user {}", user.getId());
-            return java.util.Collections.emptyList();
-        }
-        log.debug("[PortfolioManagementService] Retrieved {} portfolios (raw) in {} ms", portfolios.size(), System.currentTimeMillis() - t0);
-        List<PortfolioDto> dtoList = portfolios.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        log.debug("[PortfolioManagementService] Converted to {} DTOs", dtoList.size());
+        List<PortfolioSummaryDto> summaries = portfolioRepository.findSummariesByUserId(
+                userId, KeysetCursor.FIRST.timestamp(), KeysetCursor.FIRST.id(), Pageable.unpaged());
+        List<PortfolioDto> dtoList = withAssets(summaries, assetRepository.findRowsByUserId(userId));
+        log.debug("[PortfolioManagementService] Retrieved {} portfolios in {} ms", dtoList.size(), System.currentTimeMillis() - t0);
         return dtoList;
     }
 
+    /**
+     * 포트폴리오 요약 키셋 페이지 (이름, 예산, 종목 수 - 종목은 로드하지 않음)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<PortfolioSummaryDto> getPortfolioSummaries(String cursor, int limit) {
+        List<PortfolioSummaryDto> rows = findSummaryPage(cursor, limit);
+        String next = KeysetCursor.next(rows, KeysetCursor.clampLimit(limit),
+                PortfolioSummaryDto::getCreatedAt, PortfolioSummaryDto::getId);
+        return CursorPageDto.<PortfolioSummaryDto>builder()
+                .items(rows)
+                .nextCursor(next)
+                .build();
+    }
+
+    /**
+     * 포트폴리오 키셋 페이지 (종목 포함, 페이지의 포트폴리오 ID 로만 종목 조회)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<PortfolioDto> getPortfolioPage(String cursor, int limit) {
+        List<PortfolioSummaryDto> rows = findSummaryPage(cursor, limit);
+        String next = KeysetCursor.next(rows, KeysetCursor.clampLimit(limit),
+                PortfolioSummaryDto::getCreatedAt, PortfolioSummaryDto::getId);
+        List<PortfolioAssetRepository.AssetRow> assets = rows.isEmpty()
+                ? List.of()
+                : assetRepository.findRowsByPortfolioIdIn(rows.stream().map(PortfolioSummaryDto::getId).toList());
+        return CursorPageDto.<PortfolioDto>builder()
+                .items(withAssets(rows, assets))
+                .nextCursor(next)
+                .build();
+    }
+
+    // limit + 1 건 조회 (다음 페이지 존재 여부 판단용)
+    private List<PortfolioSummaryDto> findSummaryPage(String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return portfolioRepository.findSummariesByUserId(currentUser.getId(), after.timestamp(), after.id(),
+                PageRequest.of(0, KeysetCursor.clampLimit(limit) + 1));
+    }
+
+    /**
+     * 포트폴리오 단건 조회
+     * 포트폴리오, 종목 컬렉션, 종목 모두 2차 캐시 대상이므로 캐시가 채워진 뒤에는 SQL 없이 조회된다.
+     */
     @Transactional(readOnly = true)
     public PortfolioDto getPortfolio(Long portfolioId) {
-        Portfolio portfolio = portfolioRepository.findWithAssetsById(portfolioId)
+        Portfolio portfolio = portfolioRepository.findById(portfolioId)
                 .orElseThrow(() -> new RuntimeException("Portfolio not found"));
         
-        User currentUser = authService.getCurrentUser();
         if (!portfolio.getUser().getId().equals(currentUser.getId())) {
             throw new RuntimeException("Unauthorized");
         }
@@ -63,24 +105,25 @@ public class PortfolioManagementService {
         return convertToDto(portfolio);
     }
 
+    /**
+     * 포트폴리오 생성
+     * 종목은 cascade 로 함께 저장되며, 시퀀스 ID 덕분에 INSERT 가 JDBC 배치로 묶인다.
+     * 응답은 다시 조회하지 않고 메모리의 객체 그래프로 만든다.
+     */
     @Transactional
     public PortfolioDto createPortfolio(PortfolioDto dto) {
-        User user = authService.getCurrentUser();
-        
         Portfolio portfolio = Portfolio.builder()
-                .user(user)
+                .user(currentUser.reference())
                 .name(dto.getName())
                 .baseCurrency(dto.getBaseCurrency())
                 .totalBudget(dto.getTotalBudget())
                 .build();
         
-        Portfolio saved = portfolioRepository.save(portfolio);
-        
         // 종목 추가
-        if (dto.getAssets() != null && !dto.getAssets().isEmpty()) {
+        if (dto.getAssets() != null) {
             for (PortfolioAssetDto assetDto : dto.getAssets()) {
-                PortfolioAsset asset = PortfolioAsset.builder()
-                        .portfolio(saved)
+                portfolio.getAssets().add(PortfolioAsset.builder()
+                        .portfolio(portfolio)
                         .ticker(assetDto.getTicker())
                         .displayName(assetDto.getDisplayName())
                         .currency(assetDto.getCurrency())
@@ -89,12 +132,14 @@ public class PortfolioManagementService {
                         .minWeight(assetDto.getMinWeight())
                         .maxWeight(assetDto.getMaxWeight())
                         .riskWeight(assetDto.getRiskWeight())
-                        .build();
-                assetRepository.save(asset);
+                        .build());
             }
         }
         
-        return convertToDto(portfolioRepository.findById(saved.getId()).get());
+        // flush 로 배치 INSERT 실행 및 생성/수정 시각 채움
+        Portfolio saved = portfolioRepository.saveAndFlush(portfolio);
+        log.debug("[PortfolioManagementService] Created portfolio {} with {} assets", saved.getId(), saved.getAssets().size());
+        return convertToDto(saved);
     }
 
     @Transactional
@@ -102,7 +147,6 @@ public class PortfolioManagementService {
         Portfolio portfolio = portfolioRepository.findById(portfolioId)
                 .orElseThrow(() -> new RuntimeException("Portfolio not found"));
         
-        User currentUser = authService.getCurrentUser();
         if (!portfolio.getUser().getId().equals(currentUser.getId())) {
             throw new RuntimeException("Unauthorized");
         }
@@ -110,6 +154,36 @@ public class PortfolioManagementService {
         portfolioRepository.delete(portfolio);
     }
 
+    private List<PortfolioDto> withAssets(List<PortfolioSummaryDto> summaries,
+                                          List<PortfolioAssetRepository.AssetRow> assetRows) {
+        Map<Long, List<PortfolioAssetDto>> assetsByPortfolio = new HashMap<>();
+        for (PortfolioAssetRepository.AssetRow row : assetRows) {
+            assetsByPortfolio.computeIfAbsent(row.getPortfolioId(), id -> new ArrayList<>())
+                    .add(PortfolioAssetDto.builder()
+                            .ticker(row.getTicker())
+                            .displayName(row.getDisplayName())
+                            .currency(row.getCurrency())
+                            .quantity(row.getQuantity())
+                            .purchasePrice(row.getPurchasePrice())
+                            .minWeight(row.getMinWeight())
+                            .maxWeight(row.getMaxWeight())
+                            .riskWeight(row.getRiskWeight())
+                            .build());
+        }
+        return summaries.stream()
+                .map(summary -> PortfolioDto.builder()
+                        .id(summary.getId())
+                        .name(summary.getName())
+                        .baseCurrency(summary.getBaseCurrency())
+                        .totalBudget(summary.getTotalBudget())
+                        .assets(assetsByPortfolio.getOrDefault(summary.getId(), new ArrayList<>()))
+                        .pinnedResultId(summary.getPinnedResultId())
+                        .createdAt(summary.getCreatedAt())
+                        .updatedAt(summary.getUpdatedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     private PortfolioDto convertToDto(Portfolio portfolio) {
         List<PortfolioAssetDto> assetDtos = portfolio.getAssets().stream()
                 .map(asset -> PortfolioAssetDto.builder()
@@ -130,6 +204,7 @@ public class PortfolioManagementService {
                 .baseCurrency(portfolio.getBaseCurrency())
                 .totalBudget(portfolio.getTotalBudget())
                 .assets(assetDtos)
+                .pinnedResultId(portfolio.getPinnedResultId())
         .createdAt(portfolio.getCreatedAt())
         .updatedAt(portfolio.getUpdatedAt())
                 .build();
@@ -0,0 +1,365 @@
+package com.portfolio.optimizer.service;
+
+import com.portfolio.optimizer.dto.PortfolioValueSeriesDto;
+import com.portfolio.optimizer.repository.PortfolioAssetRepository;
+import com.portfolio.optimizer.repository.PortfolioRepository;
+import com.portfolio.optimizer.repository.PortfolioValueRepository;
+import com.portfolio.optimizer.repository.PortfolioValueRepository.DailyValue;
+import com.portfolio.optimizer.repository.PortfolioValueRepository.Rollup;
+import com.portfolio.optimizer.repository.PortfolioValueRepository.ValuePoint;
+import com.portfolio.optimizer.security.CurrentUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 포트폴리오 평가금액 시계열 (차트용)
+ *
+ * 1. 매일 한 번 모든 포트폴리오의 원화 평가금액을 일별 테이블(월 파티션)에 기록한다.
+ *    같은 날짜는 처음 기록한 값을 유지하므로 재실행해도 중복되지 않는다.
+ * 2. 새로 기록한 값은 같은 트랜잭션에서 해당 주/월 버킷 집계에 한 건씩 누적한다 (버킷 재계산 없음).
+ * 3. 조회 시 요청한 차트 폭(점 개수)을 채우는 가장 굵은 해상도를 고른다.
+ *    월 버킷 수가 폭 이상이면 월, 주 버킷 수가 폭 이상이면 주, 아니면 일별.
+ *    일별 보존 기간을 벗어난 구간은 주 단위로 조회한다.
+ *
+ * 스냅샷은 시세 조회로 오래 걸릴 수 있어 스케줄러 스레드가 아닌 전용 스레드에서 실행한다.
+ */
+@Service
+@Slf4j
+public class PortfolioValueHistoryService {
+
+    private static final List<Resolution> ROLLUP_RESOLUTIONS = List.of(Resolution.WEEKLY, Resolution.MONTHLY);
+    private static final int MIN_WIDTH = 2;
+    private static final int MAX_WIDTH = 1000;
+
+    public enum Resolution {
+        DAILY, WEEKLY, MONTHLY;
+
+        public LocalDate bucketStart(LocalDate date) {
+            return switch (this) {
+                case DAILY -> date;
+                case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTHLY -> date.withDayOfMonth(1);
+            };
+        }
+
+        long buckets(LocalDate from, LocalDate to) {
+            return switch (this) {
+                case DAILY -> ChronoUnit.DAYS.between(from, to) + 1;
+                case WEEKLY -> ChronoUnit.WEEKS.between(bucketStart(from), bucketStart(to)) + 1;
+                case MONTHLY -> ChronoUnit.MONTHS.between(YearMonth.from(from), YearMonth.from(to)) + 1;
+            };
+        }
+    }
+
+    private final PortfolioValueRepository portfolioValueRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final PortfolioAssetRepository portfolioAssetRepository;
+    private final MarketDataService marketDataService;
+    private final CurrentUser currentUser;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${portfolio.value.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${portfolio.value.snapshot.chunk.size:200}")
+    private int chunkSize;
+
+    @Value("${portfolio.value.daily.retention.months:24}")
+    private int retentionMonths;
+
+    @Value("${portfolio.value.partition.premake.months:2}")
+    private int premakeMonths;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "portfolio-value-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter recordedCounter;
+    private final Counter skippedCounter;
+
+    public PortfolioValueHistoryService(PortfolioValueRepository portfolioValueRepository,
+                                        PortfolioRepository portfolioRepository,
+                                        PortfolioAssetRepository portfolioAssetRepository,
+                                        MarketDataService marketDataService,
+                                        CurrentUser currentUser,
+                                        TransactionTemplate transactionTemplate,
+                                        MeterRegistry meterRegistry) {
+        this.portfolioValueRepository = portfolioValueRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.portfolioAssetRepository = portfolioAssetRepository;
+        this.marketDataService = marketDataService;
+        this.currentUser = currentUser;
+        this.transactionTemplate = transactionTemplate;
+        this.recordedCounter = snapshotCounter(meterRegistry, "recorded");
+        this.skippedCounter = snapshotCounter(meterRegistry, "skipped");
+    }
+
+    private static Counter snapshotCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("portfolio.value.snapshots")
+                .description("Daily portfolio value snapshots")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * 기동 시 테이블과 이번 달부터의 파티션 준비
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareTables() {
+        try {
+            portfolioValueRepository.createTables();
+            YearMonth month = YearMonth.now();
+            portfolioValueRepository.ensurePartitions(month, month.plusMonths(premakeMonths));
+        } catch (RuntimeException e) {
+            log.warn("Could not prepare portfolio value tables: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 일별 스냅샷 (장 마감 후)
+     */
+    @Scheduled(cron = "${portfolio.value.snapshot.cron:0 50 23 * * *}")
+    public void snapshotDaily() {
+        if (enabled) {
+            start(LocalDate.now());
+        }
+    }
+
+    /**
+     * 스냅샷 시작 (이미 실행 중이면 무시)
+     * @return 시작 여부
+     */
+    public boolean start(LocalDate date) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Portfolio value snapshot already running, skipping trigger for {}", date);
+            return false;
+        }
+        worker.execute(() -> {
+            try {
+                snapshot(date);
+            } catch (RuntimeException e) {
+                log.error("Portfolio value snapshot for {} aborted: {}", date, e.getMessage(), e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    private void snapshot(LocalDate date) {
+        long start = System.currentTimeMillis();
+        YearMonth month = YearMonth.from(date);
+        portfolioValueRepository.ensurePartitions(month, month.plusMonths(premakeMonths));
+
+        // 실행 동안 종목별 원화 가격 재사용 (조회 실패는 NaN)
+        Map<String, Double> prices = new HashMap<>();
+        long afterId = 0;
+        int recorded = 0;
+        int skipped = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<PortfolioRepository.PortfolioOwner> owners =
+                    portfolioRepository.findOwnersAfter(afterId, PageRequest.of(0, chunkSize));
+            if (owners.isEmpty()) {
+                break;
+            }
+            List<Long> ids = owners.stream().map(PortfolioRepository.PortfolioOwner::getId).toList();
+            Map<Long, List<PortfolioAssetRepository.AssetRow>> assets = portfolioAssetRepository.findRowsByPortfolioIdIn(ids)
+                    .stream()
+                    .collect(Collectors.groupingBy(PortfolioAssetRepository.AssetRow::getPortfolioId));
+
+            List<DailyValue> values = new ArrayList<>();
+            for (PortfolioRepository.PortfolioOwner owner : owners) {
+                BigDecimal value = marketValue(assets.getOrDefault(owner.getId(), List.of()), prices);
+                if (value != null) {
+                    values.add(new DailyValue(owner.getId(), owner.getUserId(), value));
+                } else {
+                    skipped++;
+                }
+            }
+            try {
+                Integer inserted = transactionTemplate.execute(status -> record(date, values));
+                recorded += inserted != null ? inserted : 0;
+            } catch (RuntimeException e) {
+                // 다른 인스턴스가 같은 날짜를 동시에 기록한 경우 등 - 해당 청크만 건너뜀
+                log.warn("Portfolio value chunk after id {} not recorded: {}", afterId, e.getMessage());
+            }
+            afterId = ids.get(ids.size() - 1);
+            if (owners.size() < chunkSize) {
+                break;
+            }
+        }
+        recordedCounter.increment(recorded);
+        skippedCounter.increment(skipped);
+
+        int dropped = portfolioValueRepository.dropDailyBefore(month.minusMonths(retentionMonths));
+        log.info("Portfolio value snapshot for {}: {} recorded, {} skipped, {} expired daily partitions/rows dropped in {}ms",
+                date, recorded, skipped, dropped, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 보유 수량 x 원화 현재가 합. 종목이 없거나 가격을 못 구한 종목이 있으면 null (부분 합계는 기록하지 않음)
+     */
+    private BigDecimal marketValue(List<PortfolioAssetRepository.AssetRow> assets, Map<String, Double> prices) {
+        double total = 0;
+        boolean held = false;
+        for (PortfolioAssetRepository.AssetRow asset : assets) {
+            if (asset.getQuantity() == null || asset.getQuantity().signum() <= 0) {
+                continue;
+            }
+            double price = prices.computeIfAbsent(asset.getTicker(), this::priceInKrw);
+            if (Double.isNaN(price)) {
+                return null;
+            }
+            total += asset.getQuantity().doubleValue() * price;
+            held = true;
+        }
+        return held ? BigDecimal.valueOf(total).setScale(2, RoundingMode.HALF_UP) : null;
+    }
+
+    private double priceInKrw(String ticker) {
+        try {
+            double price = marketDataService.getPriceInKrw(ticker);
+            return price > 0 ? price : Double.NaN;
+        } catch (RuntimeException e) {
+            log.debug("Portfolio value price unavailable for {}: {}", ticker, e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * 아직 기록되지 않은 포트폴리오만 일별 값 저장 후 주/월 집계에 누적
+     */
+    private int record(LocalDate date, List<DailyValue> values) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        Set<Long> recorded = portfolioValueRepository.findRecordedPortfolioIds(
+                date, values.stream().map(DailyValue::portfolioId).toList());
+        List<DailyValue> fresh = values.stream().filter(v -> !recorded.contains(v.portfolioId())).toList();
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+        portfolioValueRepository.insertDaily(date, fresh);
+
+        List<Long> ids = fresh.stream().map(DailyValue::portfolioId).toList();
+        for (Resolution resolution : ROLLUP_RESOLUTIONS) {
+            LocalDate bucket = resolution.bucketStart(date);
+            Map<Long, Rollup> existing = portfolioValueRepository.findRollups(resolution.name(), bucket, ids);
+            List<Rollup> merged = fresh.stream()
+                    .map(v -> {
+                        Rollup rollup = existing.get(v.portfolioId());
+                        return rollup != null ? rollup.add(v, date) : Rollup.first(v, date);
+                    })
+                    .toList();
+            portfolioValueRepository.saveRollups(resolution.name(), bucket, merged, existing.keySet());
+        }
+        return fresh.size();
+    }
+
+    /**
+     * 포트폴리오 평가금액 시계열
+     */
+    @Transactional(readOnly = true)
+    public PortfolioValueSeriesDto getPortfolioSeries(Long portfolioId, LocalDate from, LocalDate to, int width) {
+        if (!portfolioRepository.existsByIdAndUserId(portfolioId, currentUser.getId())) {
+            throw new RuntimeException("Portfolio not found");
+        }
+        return series(portfolioId, from, to, width);
+    }
+
+    /**
+     * 사용자 전체 포트폴리오 합계 시계열
+     */
+    @Transactional(readOnly = true)
+    public PortfolioValueSeriesDto getUserSeries(LocalDate from, LocalDate to, int width) {
+        return series(null, from, to, width);
+    }
+
+    private PortfolioValueSeriesDto series(Long portfolioId, LocalDate from, LocalDate to, int width) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate begin = from != null ? from : end.minusYears(1);
+        if (begin.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        Resolution resolution = resolve(begin, end, Math.max(MIN_WIDTH, Math.min(width, MAX_WIDTH)));
+        Long userId = currentUser.getId();
+
+        List<ValuePoint> rows;
+        if (resolution == Resolution.DAILY) {
+            rows = portfolioId != null
+                    ? portfolioValueRepository.findDailyByPortfolio(portfolioId, begin, end)
+                    : portfolioValueRepository.findDailyByUser(userId, begin, end);
+        } else {
+            LocalDate bucketFrom = resolution.bucketStart(begin);
+            rows = portfolioId != null
+                    ? portfolioValueRepository.findRollupsByPortfolio(portfolioId, resolution.name(), bucketFrom, end)
+                    : portfolioValueRepository.findRollupsByUser(userId, resolution.name(), bucketFrom, end);
+        }
+
+        return PortfolioValueSeriesDto.builder()
+                .portfolioId(portfolioId)
+                .resolution(resolution.name())
+                .from(begin)
+                .to(end)
+                .points(rows.stream()
+                        .map(r -> PortfolioValueSeriesDto.Point.builder()
+                                .date(r.date())
+                                .lastDate(r.lastDate())
+                                .value(r.value())
+                                .min(r.min())
+                                .max(r.max())
+                                .average(r.average())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private Resolution resolve(LocalDate from, LocalDate to, int width) {
+        if (Resolution.MONTHLY.buckets(from, to) >= width) {
+            return Resolution.MONTHLY;
+        }
+        if (Resolution.WEEKLY.buckets(from, to) >= width) {
+            return Resolution.WEEKLY;
+        }
+        // 보존 기간이 지나 일별 파티션이 삭제된 구간
+        if (from.isBefore(YearMonth.now().minusMonths(retentionMonths).atDay(1))) {
+            return Resolution.WEEKLY;
+        }
+        return Resolution.DAILY;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+}
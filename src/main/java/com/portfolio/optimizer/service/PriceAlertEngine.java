@@ -0,0 +1,227 @@
+package com.portfolio.optimizer.service;
+
+import com.portfolio.optimizer.model.PriceAlert;
+import com.portfolio.optimizer.repository.PriceAlertRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 가격 알림 엔진
+ *
+ * - 기동 시 활성 알림을 키셋 페이지로 읽어 PriceAlertIndex 구성
+ * - 주기마다 알림이 걸린 종목만 MarketDataService 로 1회씩 조회 (/api/stocks/price 와 같은 캐시/조회 경로)
+ * - 직전 가격과 현재 가격 사이에서 기준가를 지난 알림만 꺼내 전용 발송 큐로 넘김
+ * - 발송 스레드가 DB 에서 아직 활성인 알림만 비활성화(발동 기록)한 뒤 EmailService 로 메일 발송
+ *
+ * DB 상태가 기준이므로 같은 알림이 인덱스에 두 번 들어가도 메일은 한 번만 나간다.
+ * 발동 기록 후 메일 발송에 실패하면 재발송하지 않는다 (최대 1회 전달).
+ */
+@Service
+@Slf4j
+public class PriceAlertEngine {
+
+    private static final int IN_CLAUSE_CHUNK = 500;
+
+    private final PriceAlertRepository priceAlertRepository;
+    private final MarketDataService marketDataService;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final PriceAlertIndex index = new PriceAlertIndex();
+    private final ThreadPoolExecutor deliveryExecutor;
+
+    private final Counter triggeredCounter;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter requeuedCounter;
+
+    @Value("${alert.index.load.page.size:10000}")
+    private int loadPageSize;
+
+    public PriceAlertEngine(PriceAlertRepository priceAlertRepository,
+                            MarketDataService marketDataService,
+                            EmailService emailService,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${alert.delivery.threads:2}") int deliveryThreads,
+                            @Value("${alert.delivery.queue.capacity:10000}") int queueCapacity) {
+        this.priceAlertRepository = priceAlertRepository;
+        this.marketDataService = marketDataService;
+        this.emailService = emailService;
+        this.transactionTemplate = transactionTemplate;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.deliveryExecutor = new ThreadPoolExecutor(deliveryThreads, deliveryThreads,
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "alert-delivery-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.triggeredCounter = Counter.builder("alert.triggered")
+                .description("Price alerts whose threshold was crossed")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("alert.notifications").tag("outcome", "sent").register(meterRegistry);
+        this.failedCounter = Counter.builder("alert.notifications").tag("outcome", "failed").register(meterRegistry);
+        this.requeuedCounter = Counter.builder("alert.notifications").tag("outcome", "requeued").register(meterRegistry);
+        Gauge.builder("alert.index.size", index, PriceAlertIndex::size)
+                .description("Active price alerts held in memory")
+                .register(meterRegistry);
+        Gauge.builder("alert.delivery.queue.depth", deliveryExecutor, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 활성 알림 전체를 인덱스로 적재 (id 키셋 페이지)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long start = System.currentTimeMillis();
+        long afterId = 0;
+        long loaded = 0;
+        while (true) {
+            List<PriceAlertRepository.ActiveAlertView> page =
+                    priceAlertRepository.findActiveAfter(afterId, PageRequest.of(0, loadPageSize));
+            for (PriceAlertRepository.ActiveAlertView alert : page) {
+                index.add(alert.getTicker(), alert.getId(), alert.getDirection(), alert.getThresholdPrice().doubleValue());
+                afterId = alert.getId();
+            }
+            loaded += page.size();
+            if (page.size() < loadPageSize) {
+                break;
+            }
+        }
+        log.info("Price alert index loaded: {} alerts on {} tickers in {}ms",
+                loaded, index.tickers().size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 알림 등록 반영 (트랜잭션 중이면 커밋 후)
+     */
+    public void register(PriceAlert alert) {
+        afterCommit(() -> index.add(alert.getTicker(), alert.getId(), alert.getDirection(),
+                alert.getThresholdPrice().doubleValue()));
+    }
+
+    /**
+     * 알림 삭제 반영 (트랜잭션 중이면 커밋 후)
+     */
+    public void unregister(PriceAlert alert) {
+        afterCommit(() -> index.remove(alert.getTicker(), alert.getId(), alert.getDirection(),
+                alert.getThresholdPrice().doubleValue()));
+    }
+
+    /**
+     * 가격 폴링: 알림이 걸린 종목당 1회 조회
+     */
+    @Scheduled(fixedDelayString = "${alert.poll.interval.ms:60000}")
+    public void poll() {
+        for (String ticker : index.tickers()) {
+            double price;
+            try {
+                price = marketDataService.getQuote(ticker).price();
+            } catch (RuntimeException e) {
+                log.debug("Alert price poll skipped for {}: {}", ticker, e.getMessage());
+                continue;
+            }
+            if (!(price > 0)) {
+                continue;
+            }
+
+            List<PriceAlertIndex.Fired> fired = index.advance(ticker, price);
+            if (fired.isEmpty()) {
+                continue;
+            }
+            triggeredCounter.increment(fired.size());
+            for (int from = 0; from < fired.size(); from += IN_CLAUSE_CHUNK) {
+                List<PriceAlertIndex.Fired> chunk = fired.subList(from, Math.min(from + IN_CLAUSE_CHUNK, fired.size()));
+                enqueue(ticker, price, new ArrayList<>(chunk));
+            }
+        }
+    }
+
+    private void enqueue(String ticker, double price, List<PriceAlertIndex.Fired> fired) {
+        try {
+            deliveryExecutor.execute(() -> deliver(price, fired));
+        } catch (RejectedExecutionException e) {
+            // 큐가 가득 차면 인덱스에 되돌려 다음 교차 때 다시 발동
+            log.warn("Alert delivery queue full, returning {} alerts for {} to the index", fired.size(), ticker);
+            requeuedCounter.increment(fired.size());
+            for (PriceAlertIndex.Fired f : fired) {
+                index.add(ticker, f.alertId(), f.direction(), f.threshold());
+            }
+        }
+    }
+
+    private void deliver(double price, List<PriceAlertIndex.Fired> fired) {
+        List<Long> ids = fired.stream().map(PriceAlertIndex.Fired::alertId).toList();
+        List<PriceAlert> triggered;
+        try {
+            triggered = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                List<PriceAlert> alerts = priceAlertRepository.findActiveWithUserByIdIn(ids);
+                for (PriceAlert alert : alerts) {
+                    alert.setActive(false);
+                    alert.setTriggeredAt(now);
+                    alert.setTriggeredPrice(BigDecimal.valueOf(price));
+                }
+                return alerts;
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to record triggered alerts {}: {}", ids, e.getMessage());
+            failedCounter.increment(ids.size());
+            return;
+        }
+
+        for (PriceAlert alert : triggered) {
+            try {
+                emailService.sendPriceAlertEmail(alert.getUser().getEmail(), alert.getTicker(),
+                        alert.getDirection(), alert.getThresholdPrice(), alert.getTriggeredPrice());
+                sentCounter.increment();
+            } catch (RuntimeException e) {
+                log.warn("Price alert {} notification failed: {}", alert.getId(), e.getMessage());
+                failedCounter.increment();
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deliveryExecutor.shutdown();
+    }
+}
@@ -0,0 +1,143 @@
+package com.portfolio.optimizer.service;
+
+import com.portfolio.optimizer.model.PriceAlert.Direction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 활성 가격 알림 메모리 인덱스
+ *
+ * 종목별로 방향(ABOVE/BELOW)마다 기준가 정렬 맵(기준가 -> 알림 ID 배열)을 둔다.
+ * 새 가격이 들어오면 직전 가격과 새 가격 사이 구간만 잘라서 발동 대상을 꺼내므로
+ * 틱당 비용은 O(log n + 발동 건수) 이고 전체 알림을 훑지 않는다.
+ *   ABOVE: 직전 < 기준가 <= 현재
+ *   BELOW: 현재 <= 기준가 < 직전
+ * 발동된 알림은 인덱스에서 제거된다 (1회성).
+ */
+public class PriceAlertIndex {
+
+    /**
+     * 발동된 알림
+     */
+    public record Fired(long alertId, Direction direction, double threshold) {
+    }
+
+    private final Map<String, TickerAlerts> tickers = new ConcurrentHashMap<>();
+    private final AtomicLong size = new AtomicLong();
+
+    /**
+     * 종목별 정렬 인덱스 (종목 단위 잠금)
+     */
+    private static final class TickerAlerts {
+        final NavigableMap<Double, long[]> above = new TreeMap<>();
+        final NavigableMap<Double, long[]> below = new TreeMap<>();
+        double lastPrice = Double.NaN;
+        int count;
+
+        NavigableMap<Double, long[]> side(Direction direction) {
+            return direction == Direction.ABOVE ? above : below;
+        }
+    }
+
+    public void add(String ticker, long alertId, Direction direction, double threshold) {
+        tickers.compute(ticker, (key, alerts) -> {
+            TickerAlerts target = alerts != null ? alerts : new TickerAlerts();
+            target.side(direction).merge(threshold, new long[]{alertId}, PriceAlertIndex::append);
+            target.count++;
+            return target;
+        });
+        size.incrementAndGet();
+    }
+
+    public void remove(String ticker, long alertId, Direction direction, double threshold) {
+        tickers.computeIfPresent(ticker, (key, alerts) -> {
+            long[] ids = alerts.side(direction).get(threshold);
+            if (ids != null) {
+                long[] remaining = without(ids, alertId);
+                if (remaining.length != ids.length) {
+                    if (remaining.length == 0) {
+                        alerts.side(direction).remove(threshold);
+                    } else {
+                        alerts.side(direction).put(threshold, remaining);
+                    }
+                    alerts.count--;
+                    size.decrementAndGet();
+                }
+            }
+            return alerts.count > 0 ? alerts : null;
+        });
+    }
+
+    /**
+     * 새 가격 반영 후 직전 가격과의 사이에서 기준가를 지난 알림을 꺼낸다.
+     * 종목의 첫 가격은 기준점으로만 기록한다.
+     */
+    public List<Fired> advance(String ticker, double price) {
+        List<Fired> fired = new ArrayList<>();
+        tickers.computeIfPresent(ticker, (key, alerts) -> {
+            double previous = alerts.lastPrice;
+            alerts.lastPrice = price;
+            if (Double.isNaN(previous) || previous == price) {
+                return alerts;
+            }
+            if (price > previous) {
+                drain(alerts.above.subMap(previous, false, price, true), Direction.ABOVE, fired);
+            } else {
+                drain(alerts.below.subMap(price, true, previous, false), Direction.BELOW, fired);
+            }
+            alerts.count -= fired.size();
+            size.addAndGet(-fired.size());
+            return alerts.count > 0 ? alerts : null;
+        });
+        return fired;
+    }
+
+    /**
+     * 활성 알림이 있는 종목 (폴링 대상)
+     */
+    public Set<String> tickers() {
+        return tickers.keySet();
+    }
+
+    public long size() {
+        return size.get();
+    }
+
+    private static void drain(NavigableMap<Double, long[]> crossed, Direction direction, List<Fired> fired) {
+        Iterator<Map.Entry<Double, long[]>> it = crossed.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Double, long[]> entry = it.next();
+            for (long id : entry.getValue()) {
+                fired.add(new Fired(id, direction, entry.getKey()));
+            }
+            it.remove();
+        }
+    }
+
+    private static long[] append(long[] ids, long[] added) {
+        long[] merged = Arrays.copyOf(ids, ids.length + added.length);
+        System.arraycopy(added, 0, merged, ids.length, added.length);
+        return merged;
+    }
+
+    private static long[] without(long[] ids, long alertId) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == alertId) {
+                long[] remaining = new long[ids.length - 1];
+                System.arraycopy(ids, 0, remaining, 0, i);
+                System.arraycopy(ids, i + 1, remaining, i, ids.length - i - 1);
+                return remaining;
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,114 @@
+package com.portfolio.optimizer.service;
+
+import com.portfolio.optimizer.dto.PriceAlertDto;
+import com.portfolio.optimizer.model.PriceAlert;
+import com.portfolio.optimizer.model.UserStock;
+import com.portfolio.optimizer.repository.PriceAlertRepository;
+import com.portfolio.optimizer.repository.UserStockRepository;
+import com.portfolio.optimizer.security.CurrentUser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 가격 알림 등록/조회/삭제
+ * 등록/삭제는 커밋 후 PriceAlertEngine 인덱스에 반영된다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceAlertService {
+
+    private final PriceAlertRepository priceAlertRepository;
+    private final UserStockRepository userStockRepository;
+    private final PriceAlertEngine priceAlertEngine;
+    private final CurrentUser currentUser;
+
+    /**
+     * 사용자의 알림 목록
+     */
+    @Transactional(readOnly = true)
+    public List<PriceAlertDto> getAlerts() {
+        return priceAlertRepository.findByUserIdOrderByCreatedAtDesc(currentUser.getId()).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 알림 등록 (userStockId 를 주면 해당 보유 종목의 티커 사용)
+     */
+    @Transactional
+    public PriceAlertDto createAlert(PriceAlertDto dto) {
+        Long userId = currentUser.getId();
+
+        String ticker = dto.getTicker();
+        if (dto.getUserStockId() != null) {
+            UserStock stock = userStockRepository.findById(dto.getUserStockId())
+                    .orElseThrow(() -> new RuntimeException("Stock not found"));
+            if (!stock.getUser().getId().equals(userId)) {
+                throw new RuntimeException("Unauthorized");
+            }
+            ticker = stock.getTicker();
+        }
+        if (ticker == null || ticker.isBlank()) {
+            throw new RuntimeException("ticker or userStockId is required");
+        }
+        if (dto.getThresholdPrice() == null || dto.getThresholdPrice().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new RuntimeException("thresholdPrice must be positive");
+        }
+        PriceAlert.Direction direction;
+        try {
+            direction = PriceAlert.Direction.valueOf(dto.getDirection() != null ? dto.getDirection().toUpperCase() : "");
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("direction must be ABOVE or BELOW");
+        }
+
+        PriceAlert alert = priceAlertRepository.save(PriceAlert.builder()
+                .user(currentUser.reference())
+                .userStockId(dto.getUserStockId())
+                .ticker(ticker.trim().toUpperCase())
+                .direction(direction)
+                .thresholdPrice(dto.getThresholdPrice())
+                .build());
+        priceAlertEngine.register(alert);
+        log.info("[PriceAlertService] Alert created: {} {} {} id={}",
+                alert.getTicker(), direction, alert.getThresholdPrice(), alert.getId());
+        return convertToDto(alert);
+    }
+
+    /**
+     * 알림 삭제
+     */
+    @Transactional
+    public void deleteAlert(Long alertId) {
+        PriceAlert alert = priceAlertRepository.findById(alertId)
+                .orElseThrow(() -> new RuntimeException("Alert not found"));
+        if (!alert.getUser().getId().equals(currentUser.getId())) {
+            throw new RuntimeException("Unauthorized");
+        }
+        priceAlertRepository.delete(alert);
+        if (alert.isActive()) {
+            priceAlertEngine.unregister(alert);
+        }
+        log.info("[PriceAlertService] Alert deleted: id={}", alertId);
+    }
+
+    private PriceAlertDto convertToDto(PriceAlert alert) {
+        return PriceAlertDto.builder()
+                .id(alert.getId())
+                .userStockId(alert.getUserStockId())
+                .ticker(alert.getTicker())
+                .direction(alert.getDirection().name())
+                .thresholdPrice(alert.getThresholdPrice())
+                .active(alert.isActive())
+                .triggeredPrice(alert.getTriggeredPrice())
+                .triggeredAt(alert.getTriggeredAt())
+                .createdAt(alert.getCreatedAt())
+                .build();
+    }
+}
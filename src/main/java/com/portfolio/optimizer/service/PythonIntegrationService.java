@@ -3,7 +3,11 @@ package com.portfolio.optimizer.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.portfolio.optimizer.dto.OptimizationRequest;
+import com.portfolio.optimizer.dto.StockRequest;
+import com.portfolio.optimizer.dto.WalkForwardRequest;
+import com.portfolio.optimizer.math.PortfolioMath;
 import com.portfolio.optimizer.model.OptimizationResult;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.exec.CommandLine;
 import org.apache.commons.exec.DefaultExecutor;
@@ -18,10 +22,13 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class PythonIntegrationService {
     
     @Value("${python.script.path}")
@@ -30,6 +37,14 @@ public class PythonIntegrationService {
     @Value("${python.executable}")
     private String pythonExecutable;
     
+    @Value("${python.walkforward.timeout.ms:600000}")
+    private long walkForwardTimeoutMs;
+    
+    @Value("${python.walkforward.workers:0}")
+    private int walkForwardWorkers;
+    
+    private final FxRateService fxRateService;
+    private final SyntheticMarketDataService syntheticMarketDataService;
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     /**
@@ -42,9 +57,11 @@ public class PythonIntegrationService {
             log.info("Python script path: {}", pythonScriptPath);
             
             // Create input JSON
-            Map<String, String> input = new HashMap<>();
+            Map<String, Object> input = new HashMap<>();
             input.put("symbol", symbol);
             input.put("period", period);
+            // 스크립트가 직접 환율을 조회하지 않도록 USD/KRW 환율 전달
+            input.put("exchangeRate", fxRateService.rate("USD", "KRW"));
             
             String inputJson = objectMapper.writeValueAsString(input);
             // 고유한 파일명 생성 (타임스탬프 + 랜덤값 사용)
@@ -143,6 +160,16 @@ public class PythonIntegrationService {
             pythonRequest.put("optimizationMethod", request.getOptimizationMethod() != null ? request.getOptimizationMethod() : "MPT");
             pythonRequest.put("useRealData", request.getUseRealData() != null ? request.getUseRealData() : true);
             pythonRequest.put("constraints", request.getConstraints() != null ? request.getConstraints() : new HashMap<>());
+            // 환율은 FxRateService 스냅샷에서 전달 (스크립트 내 환율 네트워크 조회 방지)
+            pythonRequest.put("exchangeRate", fxRateService.rate("USD", "KRW"));
+            pythonRequest.put("exchangeRates", fxRateService.ratesTo("KRW"));
+            pythonRequest.put("amountsInKrw", Boolean.TRUE.equals(request.getAmountsInKrw()));
+            // 합성 데이터 모드: 과거 수익률 통계를 직접 전달 (yfinance 미사용)
+            List<String> symbols = request.getStocks() != null
+                    ? request.getStocks().stream().map(StockRequest::getSymbol).toList()
+                    : List.of();
+            Optional<Map<String, Object>> historicalStats = syntheticMarketDataService.historicalStats(symbols);
+            historicalStats.ifPresent(stats -> pythonRequest.put("historicalStats", stats));
             
             // Create input JSON
             String inputJson = objectMapper.writeValueAsString(pythonRequest);
@@ -221,6 +248,9 @@ public class PythonIntegrationService {
                 log.info("🎉 Python optimization successful!");
                 log.info("Parsing optimization result...");
                 OptimizationResult result = objectMapper.readValue(output, OptimizationResult.class);
+                // 통계를 JVM 에서 계산한 경우 지표/효율적 투자선도 같은 통계로 JVM 커널에서 계산
+                historicalStats.ifPresent(stats -> PortfolioMath.fillMetrics(result, symbols,
+                        (double[]) stats.get("returns"), flatten((double[][]) stats.get("covariance"))));
                 log.info("📊 Result parsed - Expected Return: {}%, Risk: {}%", 
                     result.getExpectedReturn(), result.getExpectedRisk());
                 log.info("========================================");
@@ -241,4 +271,113 @@ public class PythonIntegrationService {
             throw new RuntimeException("Failed to optimize portfolio: " + e.getMessage(), e);
         }
     }
+    
+    /**
+     * 워크포워드 최적화 검증 (walk_forward.py)
+     * 단계별 최적화는 스크립트 내부에서 코어 수만큼 병렬 실행되므로 일반 최적화보다 긴 타임아웃 사용
+     */
+    public Map<String, Object> runWalkForward(WalkForwardRequest request) {
+        List<String> symbols = request.getSymbols();
+        if (symbols == null || symbols.isEmpty()) {
+            throw new RuntimeException("종목을 1개 이상 지정해야 합니다.");
+        }
+        int trainingDays = request.getTrainingDays() != null ? request.getTrainingDays() : 252;
+        int rebalanceDays = request.getRebalanceDays() != null ? request.getRebalanceDays() : 63;
+        int years = request.getYears() != null ? request.getYears() : 5;
+        if (trainingDays < 20 || rebalanceDays < 1) {
+            throw new RuntimeException("학습 구간은 20일 이상, 리밸런싱 주기는 1일 이상이어야 합니다.");
+        }
+        
+        String inputFile = null;
+        try {
+            Map<String, Object> input = new HashMap<>();
+            input.put("symbols", symbols);
+            input.put("method", request.getOptimizationMethod() != null ? request.getOptimizationMethod() : "MPT");
+            input.put("trainingDays", trainingDays);
+            input.put("rebalanceDays", rebalanceDays);
+            input.put("transactionCostBps", request.getTransactionCostBps() != null ? request.getTransactionCostBps() : 10.0);
+            input.put("riskLevel", request.getRiskLevel() != null ? request.getRiskLevel() : 5.0);
+            input.put("years", years);
+            input.put("constraints", request.getConstraints() != null ? request.getConstraints() : new HashMap<>());
+            // 0 이면 스크립트가 CPU 코어 수 사용
+            input.put("workers", walkForwardWorkers > 0 ? walkForwardWorkers : Runtime.getRuntime().availableProcessors());
+            // 합성 데이터 모드: 가격 이력을 직접 전달 (yfinance 미사용)
+            syntheticMarketDataService.priceHistory(symbols, years * 252 + 1)
+                    .ifPresent(history -> input.put("prices", history));
+            
+            // 고유한 파일명 생성 (타임스탬프 + 랜덤값 사용)
+            inputFile = pythonScriptPath + "/input_walkforward_" +
+                        System.currentTimeMillis() + "_" +
+                        (int)(Math.random() * 10000) + ".json";
+            Files.writeString(Paths.get(inputFile), objectMapper.writeValueAsString(input), StandardCharsets.UTF_8);
+            
+            CommandLine cmdLine = CommandLine.parse(pythonExecutable);
+            cmdLine.addArgument(pythonScriptPath + "/walk_forward.py");
+            cmdLine.addArgument(inputFile);
+            
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            ByteArrayOutputStream errorStream = new ByteArrayOutputStream();
+            DefaultExecutor executor = new DefaultExecutor();
+            executor.setStreamHandler(new PumpStreamHandler(outputStream, errorStream));
+            ExecuteWatchdog watchdog = new ExecuteWatchdog(walkForwardTimeoutMs);
+            executor.setWatchdog(watchdog);
+            
+            log.info("Walk-forward study started: {} symbols, method={}, train={}d, rebalance={}d",
+                    symbols.size(), input.get("method"), trainingDays, rebalanceDays);
+            long startTime = System.currentTimeMillis();
+            int exitCode;
+            try {
+                exitCode = executor.execute(cmdLine);
+            } catch (ExecuteException ee) {
+                exitCode = ee.getExitValue();
+            }
+            long elapsedTime = System.currentTimeMillis() - startTime;
+            boolean timedOut = watchdog.killedProcess();
+            
+            String output = outputStream.toString(StandardCharsets.UTF_8);
+            String error = errorStream.toString(StandardCharsets.UTF_8);
+            if (!error.isEmpty()) {
+                log.debug("Walk-forward stderr: {}", error);
+            }
+            
+            if (exitCode == 0 && !timedOut) {
+                log.info("Walk-forward study finished in {}ms", elapsedTime);
+                return objectMapper.readValue(output, new TypeReference<Map<String, Object>>() {});
+            }
+            
+            // 스크립트 오류는 stdout 의 {"error": ...} 로 전달됨
+            String reason = timedOut ? "Timed out after " + walkForwardTimeoutMs + "ms." : "Exit code: " + exitCode;
+            try {
+                Object message = objectMapper.readValue(output, new TypeReference<Map<String, Object>>() {}).get("error");
+                if (message != null) {
+                    reason = message.toString();
+                }
+            } catch (IOException ignored) {
+                // 출력이 JSON 이 아니면 종료 코드로 보고
+            }
+            log.error("Walk-forward study failed ({}): {}", reason, error);
+            throw new RuntimeException("Walk-forward study failed. " + reason);
+            
+        } catch (IOException e) {
+            log.error("Error executing walk-forward script", e);
+            throw new RuntimeException("Failed to run walk-forward study: " + e.getMessage(), e);
+        } finally {
+            if (inputFile != null) {
+                try {
+                    Files.deleteIfExists(Paths.get(inputFile));
+                } catch (IOException ex) {
+                    log.warn("Failed to delete temporary input file: {}", inputFile, ex);
+                }
+            }
+        }
+    }
+    
+    private static double[] flatten(double[][] matrix) {
+        int n = matrix.length;
+        double[] flat = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(matrix[i], 0, flat, i * n, n);
+        }
+        return flat;
+    }
 }
@@ -0,0 +1,406 @@
+package com.portfolio.optimizer.service;
+
+import com.portfolio.optimizer.dto.OptimizationRequest;
+import com.portfolio.optimizer.dto.StockRequest;
+import com.portfolio.optimizer.model.OptimizationResult;
+import com.portfolio.optimizer.model.Portfolio;
+import com.portfolio.optimizer.model.PortfolioAsset;
+import com.portfolio.optimizer.model.RebalanceCheckpoint;
+import com.portfolio.optimizer.repository.PortfolioRepository;
+import com.portfolio.optimizer.repository.RebalanceCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 야간 비중 이탈(drift) 점검 및 재최적화 배치
+ *
+ * 1. 포트폴리오 ID 범위를 파티션으로 나누어 실행일별 체크포인트(RebalanceCheckpoint)를 만든다.
+ * 2. 파티션을 병렬로 처리하며, 청크마다 포트폴리오+자산을 읽어 현재가(원화) 기준 비중을 계산한다.
+ * 3. 자산별 이탈 = 목표 구간 [minWeight, maxWeight] 밖으로 벗어난 정도, 포트폴리오 이탈 = 최대값.
+ * 4. 이탈이 임계값을 넘는 포트폴리오만 재최적화하고 결과를 최적화 이력에 저장한다.
+ * 5. 청크 완료마다 체크포인트를 기록하므로 재기동 시 미완료 파티션을 마지막 위치부터 이어서 처리한다.
+ *    (중단된 청크는 다시 처리될 수 있음)
+ *
+ * 조정 스레드는 별도로 두어 스케줄러 스레드(FX/시세 갱신)를 막지 않는다.
+ */
+@Service
+@Slf4j
+public class RebalanceBatchService {
+
+    private final PortfolioRepository portfolioRepository;
+    private final RebalanceCheckpointRepository checkpointRepository;
+    private final MarketDataService marketDataService;
+    private final PortfolioService portfolioService;
+    private final OptimizationHistoryService optimizationHistoryService;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${rebalance.batch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rebalance.batch.partition.size:1000}")
+    private long partitionSize;
+
+    @Value("${rebalance.batch.chunk.size:50}")
+    private int chunkSize;
+
+    @Value("${rebalance.batch.parallelism:2}")
+    private int parallelism;
+
+    @Value("${rebalance.batch.resume.days:1}")
+    private int resumeDays;
+
+    @Value("${rebalance.drift.threshold:0.05}")
+    private double driftThreshold;
+
+    @Value("${rebalance.optimization.method:HYBRID}")
+    private String optimizationMethod;
+
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "rebalance-batch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // 진행 상황 (현재/마지막 실행)
+    private final AtomicInteger partitionsTotal = new AtomicInteger();
+    private final AtomicInteger partitionsCompleted = new AtomicInteger();
+    private final AtomicLong portfoliosTotal = new AtomicLong();
+    private final AtomicLong portfoliosProcessed = new AtomicLong();
+
+    private final Counter withinThresholdCounter;
+    private final Counter reoptimizedCounter;
+    private final Counter skippedCounter;
+    private final Counter failedCounter;
+    private final Timer reoptimizeTimer;
+
+    public RebalanceBatchService(PortfolioRepository portfolioRepository,
+                                 RebalanceCheckpointRepository checkpointRepository,
+                                 MarketDataService marketDataService,
+                                 PortfolioService portfolioService,
+                                 OptimizationHistoryService optimizationHistoryService,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.portfolioRepository = portfolioRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.marketDataService = marketDataService;
+        this.portfolioService = portfolioService;
+        this.optimizationHistoryService = optimizationHistoryService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.withinThresholdCounter = portfolioCounter(meterRegistry, "within_threshold");
+        this.reoptimizedCounter = portfolioCounter(meterRegistry, "reoptimized");
+        this.skippedCounter = portfolioCounter(meterRegistry, "skipped");
+        this.failedCounter = portfolioCounter(meterRegistry, "failed");
+        this.reoptimizeTimer = Timer.builder("rebalance.batch.reoptimize")
+                .description("Re-optimization time per drifted portfolio")
+                .register(meterRegistry);
+        Gauge.builder("rebalance.batch.partitions.total", partitionsTotal, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("rebalance.batch.partitions.completed", partitionsCompleted, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("rebalance.batch.portfolios.total", portfoliosTotal, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("rebalance.batch.portfolios.processed", portfoliosProcessed, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("rebalance.batch.running", running, r -> r.get() ? 1 : 0).register(meterRegistry);
+    }
+
+    private static Counter portfolioCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("rebalance.batch.portfolios")
+                .description("Portfolios processed by the nightly rebalance batch")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * 야간 실행
+     */
+    @Scheduled(cron = "${rebalance.batch.cron:0 0 2 * * *}")
+    public void runNightly() {
+        if (enabled) {
+            start(LocalDate.now());
+        }
+    }
+
+    /**
+     * 기동 시 최근 실행일의 미완료 파티션 재개
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeIncomplete() {
+        if (!enabled) {
+            return;
+        }
+        List<LocalDate> incomplete = checkpointRepository.findIncompleteRunDates(LocalDate.now().minusDays(resumeDays));
+        if (!incomplete.isEmpty()) {
+            log.info("Resuming rebalance batch for {}", incomplete.get(0));
+            start(incomplete.get(0));
+        }
+    }
+
+    /**
+     * 실행 시작 (이미 실행 중이면 무시)
+     * @return 시작 여부
+     */
+    public boolean start(LocalDate runDate) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Rebalance batch already running, skipping trigger for {}", runDate);
+            return false;
+        }
+        coordinator.execute(() -> {
+            try {
+                run(runDate);
+            } catch (RuntimeException e) {
+                log.error("Rebalance batch for {} aborted: {}", runDate, e.getMessage(), e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    private void run(LocalDate runDate) {
+        List<RebalanceCheckpoint> checkpoints = checkpointRepository.findByRunDateOrderByPartitionNo(runDate);
+        if (checkpoints.isEmpty()) {
+            checkpoints = planPartitions(runDate);
+        }
+        List<RebalanceCheckpoint> pending = checkpoints.stream().filter(c -> !c.isCompleted()).toList();
+
+        partitionsTotal.set(checkpoints.size());
+        partitionsCompleted.set(checkpoints.size() - pending.size());
+        portfoliosTotal.set(portfolioRepository.count());
+        portfoliosProcessed.set(checkpoints.stream().mapToLong(RebalanceCheckpoint::getProcessed).sum());
+        if (pending.isEmpty()) {
+            log.info("Rebalance batch for {} has nothing to do", runDate);
+            return;
+        }
+
+        log.info("Rebalance batch for {}: {} of {} partitions pending, parallelism {}",
+                runDate, pending.size(), checkpoints.size(), parallelism);
+        long start = System.currentTimeMillis();
+        long processedBefore = portfoliosProcessed.get();
+
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, parallelism), r -> {
+            Thread thread = new Thread(r, "rebalance-partition");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (RebalanceCheckpoint checkpoint : pending) {
+                futures.add(workers.submit(() -> processPartition(checkpoint)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("Rebalance batch for {} interrupted", runDate);
+                    return;
+                } catch (Exception e) {
+                    log.error("Rebalance partition failed: {}", e.getMessage(), e);
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        long elapsedMs = Math.max(1, System.currentTimeMillis() - start);
+        long processed = portfoliosProcessed.get() - processedBefore;
+        log.info("Rebalance batch for {} finished: {} portfolios in {}ms ({} portfolios/s), {}/{} partitions complete",
+                runDate, processed, elapsedMs, String.format("%.1f", processed * 1000.0 / elapsedMs),
+                partitionsCompleted.get(), partitionsTotal.get());
+    }
+
+    /**
+     * 포트폴리오 ID 범위를 partitionSize 단위 구간으로 나누어 체크포인트 생성
+     */
+    private List<RebalanceCheckpoint> planPartitions(LocalDate runDate) {
+        Long minId = portfolioRepository.findMinId().orElse(null);
+        Long maxId = portfolioRepository.findMaxId().orElse(null);
+        List<RebalanceCheckpoint> checkpoints = new ArrayList<>();
+        if (minId == null || maxId == null) {
+            return checkpoints;
+        }
+        int partitionNo = 0;
+        for (long from = minId - 1; from < maxId; from += partitionSize) {
+            checkpoints.add(RebalanceCheckpoint.builder()
+                    .runDate(runDate)
+                    .partitionNo(partitionNo++)
+                    .fromId(from)
+                    .toId(Math.min(from + partitionSize, maxId))
+                    .lastPortfolioId(from)
+                    .build());
+        }
+        return checkpointRepository.saveAll(checkpoints);
+    }
+
+    private void processPartition(RebalanceCheckpoint checkpoint) {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> ids = portfolioRepository.findIdsInRange(
+                    checkpoint.getLastPortfolioId(), checkpoint.getToId(), PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Portfolio> portfolios = readOnlyTransaction.execute(
+                    status -> portfolioRepository.findWithAssetsAndUserByIdIn(ids));
+
+            for (Portfolio portfolio : portfolios) {
+                switch (processPortfolio(portfolio)) {
+                    case REOPTIMIZED -> checkpoint.setReoptimized(checkpoint.getReoptimized() + 1);
+                    case FAILED -> checkpoint.setFailed(checkpoint.getFailed() + 1);
+                    default -> { }
+                }
+            }
+            checkpoint.setProcessed(checkpoint.getProcessed() + ids.size());
+            checkpoint.setLastPortfolioId(ids.get(ids.size() - 1));
+            checkpoint.setCompleted(ids.size() < chunkSize);
+            checkpointRepository.save(checkpoint);
+            portfoliosProcessed.addAndGet(ids.size());
+            if (checkpoint.isCompleted()) {
+                break;
+            }
+        }
+        if (!checkpoint.isCompleted() && !Thread.currentThread().isInterrupted()) {
+            checkpoint.setCompleted(true);
+            checkpointRepository.save(checkpoint);
+        }
+        if (checkpoint.isCompleted()) {
+            partitionsCompleted.incrementAndGet();
+            log.info("Rebalance partition {} ({}, {}] done: processed={}, reoptimized={}, failed={}",
+                    checkpoint.getPartitionNo(), checkpoint.getFromId(), checkpoint.getToId(),
+                    checkpoint.getProcessed(), checkpoint.getReoptimized(), checkpoint.getFailed());
+        }
+    }
+
+    private enum Outcome { WITHIN_THRESHOLD, REOPTIMIZED, SKIPPED, FAILED }
+
+    private Outcome processPortfolio(Portfolio portfolio) {
+        List<PortfolioAsset> assets = portfolio.getAssets().stream()
+                .filter(a -> a.getQuantity() != null && a.getQuantity().signum() > 0)
+                .toList();
+        if (assets.isEmpty()) {
+            skippedCounter.increment();
+            return Outcome.SKIPPED;
+        }
+
+        double[] prices = new double[assets.size()];
+        double total = 0;
+        try {
+            for (int i = 0; i < assets.size(); i++) {
+                prices[i] = marketDataService.getPriceInKrw(assets.get(i).getTicker());
+                total += assets.get(i).getQuantity().doubleValue() * prices[i];
+            }
+        } catch (RuntimeException e) {
+            log.debug("Portfolio {} skipped, price unavailable: {}", portfolio.getId(), e.getMessage());
+            skippedCounter.increment();
+            return Outcome.SKIPPED;
+        }
+        if (!(total > 0)) {
+            skippedCounter.increment();
+            return Outcome.SKIPPED;
+        }
+
+        double maxDrift = 0;
+        double[] weights = new double[assets.size()];
+        for (int i = 0; i < assets.size(); i++) {
+            PortfolioAsset asset = assets.get(i);
+            weights[i] = asset.getQuantity().doubleValue() * prices[i] / total;
+            double min = toDouble(asset.getMinWeight(), 0);
+            double max = toDouble(asset.getMaxWeight(), 1);
+            maxDrift = Math.max(maxDrift, Math.max(min - weights[i], weights[i] - max));
+        }
+        if (maxDrift <= driftThreshold) {
+            withinThresholdCounter.increment();
+            return Outcome.WITHIN_THRESHOLD;
+        }
+
+        log.info("Portfolio {} drift {} exceeds {}, re-optimizing", portfolio.getId(),
+                String.format("%.4f", maxDrift), driftThreshold);
+        try {
+            OptimizationRequest request = buildRequest(portfolio, assets, prices, weights, total);
+            reoptimizeTimer.record(() -> {
+                OptimizationResult result = portfolioService.optimizePortfolio(request, optimizationMethod);
+                optimizationHistoryService.recordRun(portfolio.getUser(), request, optimizationMethod, result);
+            });
+            reoptimizedCounter.increment();
+            return Outcome.REOPTIMIZED;
+        } catch (RuntimeException e) {
+            log.warn("Re-optimization failed for portfolio {}: {}", portfolio.getId(), e.getMessage());
+            failedCounter.increment();
+            return Outcome.FAILED;
+        }
+    }
+
+    /**
+     * 화면의 최적화 요청과 같은 형식 (자산별 min/max 비중을 constraints 로 전달)
+     * 가격/금액은 getPriceInKrw 기준 원화이므로 amountsInKrw 로 Python 의 환율 재적용을 막는다.
+     */
+    private OptimizationRequest buildRequest(Portfolio portfolio, List<PortfolioAsset> assets,
+                                             double[] prices, double[] weights, double total) {
+        List<StockRequest> stocks = new ArrayList<>(assets.size());
+        Map<String, Object> constraints = new HashMap<>();
+        for (int i = 0; i < assets.size(); i++) {
+            PortfolioAsset asset = assets.get(i);
+            double quantity = asset.getQuantity().doubleValue();
+            StockRequest stock = new StockRequest();
+            stock.setSymbol(asset.getTicker());
+            stock.setName(asset.getDisplayName() != null ? asset.getDisplayName() : asset.getTicker());
+            stock.setMarket(isDomestic(asset.getTicker()) ? "DOMESTIC" : "FOREIGN");
+            stock.setQuantity(quantity);
+            stock.setPurchasePrice(asset.getPurchasePrice() != null ? asset.getPurchasePrice().doubleValue() : prices[i]);
+            stock.setCurrentPrice(prices[i]);
+            stock.setWeight(weights[i]);
+            stock.setInvestmentAmount(quantity * prices[i]);
+            stocks.add(stock);
+            constraints.put(asset.getTicker(), Map.of(
+                    "min", toDouble(asset.getMinWeight(), 0),
+                    "max", toDouble(asset.getMaxWeight(), 1)));
+        }
+
+        OptimizationRequest request = new OptimizationRequest();
+        request.setPortfolioId(portfolio.getId());
+        request.setStocks(stocks);
+        request.setTotalInvestment(portfolio.getTotalBudget() != null && portfolio.getTotalBudget().signum() > 0
+                ? portfolio.getTotalBudget().doubleValue() : total);
+        request.setOptimizationMethod(optimizationMethod);
+        request.setUseRealData(true);
+        request.setConstraints(constraints);
+        request.setAmountsInKrw(true);
+        return request;
+    }
+
+    private static boolean isDomestic(String ticker) {
+        return ticker.endsWith(".KS") || ticker.endsWith(".KQ");
+    }
+
+    private static double toDouble(BigDecimal value, double fallback) {
+        return value != null ? value.doubleValue() : fallback;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+    }
+}
@@ -0,0 +1,45 @@
+package com.portfolio.optimizer.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.file.Paths;
+
+/**
+ * 실제 HTTP 호출 + 응답 기록 (upstream.stub.mode=record)
+ * 네트워크가 되는 환경에서 한 번 실행해 재생용 응답 파일을 만든다.
+ * 일시적 장애 응답(429/5xx)은 기록하지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "upstream.stub.mode", havingValue = "record")
+@Slf4j
+public class RecordingUpstreamTransport implements UpstreamTransport {
+
+    private final HttpUpstreamTransport delegate;
+    private final UpstreamFixtureStore fixtureStore;
+
+    public RecordingUpstreamTransport(Environment environment) {
+        this.delegate = new HttpUpstreamTransport(environment);
+        this.fixtureStore = new UpstreamFixtureStore(
+                Paths.get(environment.getProperty("upstream.stub.dir", "fixtures/upstream")));
+        log.info("Upstream responses will be recorded to {}",
+                Paths.get(environment.getProperty("upstream.stub.dir", "fixtures/upstream")).toAbsolutePath());
+    }
+
+    @Override
+    public Response send(String upstream, HttpRequest request, String requestBody) throws IOException, InterruptedException {
+        long start = System.currentTimeMillis();
+        Response response = delegate.send(upstream, request, requestBody);
+        long latencyMs = System.currentTimeMillis() - start;
+
+        if (response.status() < 500 && response.status() != 429) {
+            fixtureStore.save(upstream, request.method(), request.uri().toString(), requestBody,
+                    response.status(), response.body(), latencyMs);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,93 @@
+package com.portfolio.optimizer.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 기록된 응답 재생 (upstream.stub.mode=replay, stub 프로파일)
+ * 네트워크 없이 Yahoo/Gemini 응답을 돌려주며, 지연과 오류를 주입해 부하/성능 테스트를 재현 가능하게 한다.
+ *
+ * 설정 (업스트림 이름별, 미설정 시 upstream.stub.default.* 사용):
+ *   latency.ms        고정 지연 (-1 이면 기록 당시 지연 사용)
+ *   latency.jitter.ms 추가 무작위 지연 상한
+ *   error.rate        503 응답 비율 (0.0 ~ 1.0)
+ *   timeout.rate      요청 타임아웃까지 대기 후 타임아웃 처리 비율 (0.0 ~ 1.0)
+ */
+@Component
+@ConditionalOnProperty(name = "upstream.stub.mode", havingValue = "replay")
+@Slf4j
+public class ReplayUpstreamTransport implements UpstreamTransport {
+
+    private final Environment environment;
+    private final UpstreamFixtureStore fixtureStore;
+    private final int missStatus;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ReplayUpstreamTransport(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.fixtureStore = new UpstreamFixtureStore(
+                Paths.get(environment.getProperty("upstream.stub.dir", "fixtures/upstream")));
+        this.missStatus = environment.getProperty("upstream.stub.miss.status", Integer.class, 404);
+        this.hits = Counter.builder("upstream.stub.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("upstream.stub.lookups").tag("result", "miss").register(meterRegistry);
+
+        int loaded = fixtureStore.loadAll();
+        log.info("Upstream replay mode: {} recorded responses loaded", loaded);
+    }
+
+    @Override
+    public Response send(String upstream, HttpRequest request, String requestBody) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        if (random.nextDouble() < property(upstream, "timeout.rate", 0.0)) {
+            Duration timeout = request.timeout().orElse(Duration.ofSeconds(5));
+            Thread.sleep(timeout.toMillis());
+            throw new HttpTimeoutException("injected timeout");
+        }
+
+        Optional<UpstreamFixtureStore.Fixture> fixture =
+                fixtureStore.find(upstream, request.method(), request.uri().toString(), requestBody);
+
+        long latencyMs = property(upstream, "latency.ms", -1.0).longValue();
+        if (latencyMs < 0) {
+            latencyMs = fixture.map(UpstreamFixtureStore.Fixture::getLatencyMs).orElse(0L);
+        }
+        long jitterMs = property(upstream, "latency.jitter.ms", 0.0).longValue();
+        if (jitterMs > 0) {
+            latencyMs += random.nextLong(jitterMs + 1);
+        }
+        if (latencyMs > 0) {
+            Thread.sleep(latencyMs);
+        }
+
+        if (random.nextDouble() < property(upstream, "error.rate", 0.0)) {
+            return new Response(503, "{\"error\":\"injected upstream error\"}");
+        }
+
+        if (fixture.isEmpty()) {
+            misses.increment();
+            log.debug("No recorded response for {} {}", request.method(), request.uri());
+            return new Response(missStatus, "{\"error\":\"no recorded response\"}");
+        }
+        hits.increment();
+        return new Response(fixture.get().getStatus(), fixture.get().getBody());
+    }
+
+    private Double property(String upstream, String key, double defaultValue) {
+        Double fallback = environment.getProperty("upstream.stub.default." + key, Double.class, defaultValue);
+        return environment.getProperty("upstream.stub." + upstream + "." + key, Double.class, fallback);
+    }
+}
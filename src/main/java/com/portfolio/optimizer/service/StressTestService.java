@@ -0,0 +1,501 @@
+package com.portfolio.optimizer.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.portfolio.optimizer.dto.StressScenarioResultDto;
+import com.portfolio.optimizer.dto.StressTestRequest;
+import com.portfolio.optimizer.dto.StressTestResultDto;
+import com.portfolio.optimizer.model.OptimizationResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 과거 시나리오 스트레스 테스트
+ *
+ * 시나리오 라이브러리(stress/scenarios.json)의 각 기간에 대해 종목별 충격(기간 수익률)을 미리 계산해 둔다.
+ *   - 종목 일별 수정종가를 Yahoo chart API 로 1회 조회해 기간 수익률을 구하고 디스크(stress.cache.dir)에 보관
+ *   - 해외 종목은 같은 기간 환율(USDKRW=X 등) 변동을 곱해 원화 기준 충격으로 변환
+ *   - 상장 전 등 기간 데이터가 없으면 시장 지수(국내 ^KS11, 해외 ^GSPC) 충격으로 대체
+ * 요청 시에는 비중 벡터와 충격 벡터의 내적만 계산하므로 시나리오 수백 개도 밀리초 단위로 끝난다.
+ */
+@Service
+@Slf4j
+public class StressTestService {
+
+    private static final String CHART_URL = "https://query1.finance.yahoo.com/v8/finance/chart/";
+    private static final String DOMESTIC_BENCHMARK = "^KS11";
+    private static final String FOREIGN_BENCHMARK = "^GSPC";
+    // 기간 시작/끝 날짜와 실제 거래일의 허용 간격 (이보다 멀면 해당 기간 데이터 없음으로 처리)
+    private static final int MAX_GAP_DAYS = 10;
+    private static final Map<String, String> YAHOO_HEADERS = Map.of(
+            "User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36");
+
+    private final UpstreamHttpGateway gateway;
+    private final OptimizationHistoryService optimizationHistoryService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<Scenario> scenarios;
+    private final Map<String, Integer> scenarioIndex = new ConcurrentHashMap<>();
+    private final String libraryHash;
+    private final Path cacheDir;
+
+    @Value("${stress.fetch.failure.retry.ms:600000}")
+    private long failureRetryMs;
+
+    // 심볼 -> 현지 통화 기준 기간 수익률 (디스크 캐시와 동일 내용)
+    private final Map<String, LocalShocks> localShocks = new ConcurrentHashMap<>();
+    // 심볼 -> 원화 기준, 지수 대체까지 반영한 충격 벡터 (요청 시 바로 사용)
+    private final Map<String, ShockVector> shockVectors = new ConcurrentHashMap<>();
+    // 심볼 -> 조회 실패 시각 (실패한 심볼을 요청마다 다시 조회하지 않도록)
+    private final Map<String, Long> failedFetches = new ConcurrentHashMap<>();
+
+    public record Scenario(String name, String label, LocalDate start, LocalDate end) {
+    }
+
+    private record LocalShocks(String currency, double[] shocks) {
+    }
+
+    // proxied: 지수로 대체한 시나리오, missing: 지수도 없어 0 으로 둔 시나리오
+    private record ShockVector(double[] shocks, BitSet proxied, BitSet missing, boolean hasHistory) {
+    }
+
+    public StressTestService(UpstreamHttpGateway gateway,
+                             OptimizationHistoryService optimizationHistoryService,
+                             @Value("${stress.scenarios.location:classpath:stress/scenarios.json}") Resource scenarioResource,
+                             @Value("${stress.cache.dir:data/stress-cache}") String cacheDir) {
+        this.gateway = gateway;
+        this.optimizationHistoryService = optimizationHistoryService;
+        this.cacheDir = Paths.get(cacheDir);
+        this.scenarios = loadScenarios(scenarioResource);
+        for (int i = 0; i < scenarios.size(); i++) {
+            scenarioIndex.put(scenarios.get(i).name(), i);
+        }
+        this.libraryHash = hashLibrary(scenarios);
+        log.info("Stress scenario library loaded: {} scenarios (hash {})", scenarios.size(), libraryHash.substring(0, 12));
+    }
+
+    public List<Scenario> getScenarios() {
+        return scenarios;
+    }
+
+    /**
+     * 스트레스 테스트 실행 (allocation 과 currentAllocation 을 같은 시나리오에 동시 적용)
+     */
+    public StressTestResultDto run(StressTestRequest request) {
+        Map<String, Double> allocation = request.getAllocation();
+        Map<String, Double> currentAllocation = request.getCurrentAllocation();
+        if (request.getResultId() != null) {
+            OptimizationResult result = optimizationHistoryService.getResult(request.getResultId());
+            allocation = allocation != null ? allocation : result.getAllocation();
+            currentAllocation = currentAllocation != null ? currentAllocation : result.getCurrentAllocation();
+        }
+        if ((allocation == null || allocation.isEmpty()) && (currentAllocation == null || currentAllocation.isEmpty())) {
+            throw new RuntimeException("allocation or currentAllocation is required");
+        }
+
+        int[] selected = selectScenarios(request.getScenarios());
+        Set<String> symbols = new LinkedHashSet<>();
+        if (allocation != null) {
+            symbols.addAll(allocation.keySet());
+        }
+        if (currentAllocation != null) {
+            symbols.addAll(currentAllocation.keySet());
+        }
+
+        // 충격 벡터 준비 (캐시 미스 종목만 조회)
+        List<String> symbolList = new ArrayList<>(symbols);
+        List<ShockVector> vectors = new ArrayList<>(symbolList.size());
+        List<String> unavailable = new ArrayList<>();
+        for (String symbol : symbolList) {
+            ShockVector vector = shockVector(symbol);
+            vectors.add(vector);
+            if (!vector.hasHistory()) {
+                unavailable.add(symbol);
+            }
+        }
+
+        long start = System.nanoTime();
+        double[] weightsA = normalizedWeights(symbolList, allocation);
+        double[] weightsC = normalizedWeights(symbolList, currentAllocation);
+        int s = scenarios.size();
+        double[] returnsA = new double[s];
+        double[] returnsC = new double[s];
+        // 종목별로 전체 시나리오에 누적 (연속 배열에 대한 axpy)
+        for (int i = 0; i < symbolList.size(); i++) {
+            double[] shocks = vectors.get(i).shocks();
+            double wa = weightsA[i];
+            double wc = weightsC[i];
+            for (int k = 0; k < s; k++) {
+                returnsA[k] += wa * shocks[k];
+                returnsC[k] += wc * shocks[k];
+            }
+        }
+
+        Double investment = request.getTotalInvestment();
+        List<StressScenarioResultDto> results = new ArrayList<>(selected.length);
+        String worstA = null;
+        String worstC = null;
+        double worstAValue = Double.POSITIVE_INFINITY;
+        double worstCValue = Double.POSITIVE_INFINITY;
+        for (int k : selected) {
+            Scenario scenario = scenarios.get(k);
+            List<String> proxied = new ArrayList<>();
+            List<String> missing = new ArrayList<>();
+            for (int i = 0; i < symbolList.size(); i++) {
+                if (vectors.get(i).missing().get(k)) {
+                    missing.add(symbolList.get(i));
+                } else if (vectors.get(i).proxied().get(k)) {
+                    proxied.add(symbolList.get(i));
+                }
+            }
+            Double ra = allocation != null ? round6(returnsA[k]) : null;
+            Double rc = currentAllocation != null ? round6(returnsC[k]) : null;
+            results.add(StressScenarioResultDto.builder()
+                    .name(scenario.name())
+                    .label(scenario.label())
+                    .startDate(scenario.start())
+                    .endDate(scenario.end())
+                    .allocationReturn(ra)
+                    .currentAllocationReturn(rc)
+                    .allocationPnl(ra != null && investment != null ? round2(ra * investment) : null)
+                    .currentAllocationPnl(rc != null && investment != null ? round2(rc * investment) : null)
+                    .proxiedSymbols(proxied)
+                    .missingSymbols(missing)
+                    .build());
+            if (ra != null && ra < worstAValue) {
+                worstAValue = ra;
+                worstA = scenario.name();
+            }
+            if (rc != null && rc < worstCValue) {
+                worstCValue = rc;
+                worstC = scenario.name();
+            }
+        }
+
+        return StressTestResultDto.builder()
+                .scenarios(results)
+                .worstAllocationScenario(worstA)
+                .worstCurrentAllocationScenario(worstC)
+                .unavailableSymbols(unavailable)
+                .elapsedMs((System.nanoTime() - start) / 1_000_000)
+                .build();
+    }
+
+    private int[] selectScenarios(List<String> names) {
+        if (names == null || names.isEmpty()) {
+            int[] all = new int[scenarios.size()];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+        return names.stream()
+                .map(name -> {
+                    Integer index = scenarioIndex.get(name);
+                    if (index == null) {
+                        throw new RuntimeException("Unknown stress scenario: " + name);
+                    }
+                    return index;
+                })
+                .distinct()
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static double[] normalizedWeights(List<String> symbols, Map<String, Double> allocation) {
+        double[] weights = new double[symbols.size()];
+        if (allocation == null) {
+            return weights;
+        }
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            Double w = allocation.get(symbols.get(i));
+            weights[i] = w != null ? w : 0;
+            sum += weights[i];
+        }
+        if (sum > 0) {
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] /= sum;
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * 원화 기준 충격 벡터 (기간 데이터 없으면 지수 대체, 지수도 없으면 0)
+     */
+    private ShockVector shockVector(String symbol) {
+        ShockVector cached = shockVectors.get(symbol);
+        if (cached != null) {
+            return cached;
+        }
+
+        int s = scenarios.size();
+        double[] shocks = new double[s];
+        BitSet proxied = new BitSet(s);
+        BitSet missing = new BitSet(s);
+        LocalShocks own = localShocks(symbol);
+        double[] benchmark = null;
+        for (int k = 0; k < s; k++) {
+            double shock = own != null ? toKrw(own, k) : Double.NaN;
+            if (Double.isNaN(shock)) {
+                if (benchmark == null) {
+                    benchmark = benchmarkShocks(isDomestic(symbol) ? DOMESTIC_BENCHMARK : FOREIGN_BENCHMARK);
+                }
+                shock = benchmark[k];
+                proxied.set(k);
+                if (Double.isNaN(shock)) {
+                    shock = 0;
+                    missing.set(k);
+                }
+            }
+            shocks[k] = shock;
+        }
+
+        ShockVector vector = new ShockVector(shocks, proxied, missing, own != null);
+        // 종목/환율 조회 실패로 만든 임시 벡터는 재시도할 수 있도록 보관하지 않음
+        if (own != null && (isKrw(own.currency()) || localShocks.containsKey(own.currency().toUpperCase() + "KRW=X"))) {
+            shockVectors.putIfAbsent(symbol, vector);
+        }
+        return vector;
+    }
+
+    private double[] benchmarkShocks(String benchmark) {
+        LocalShocks shocks = localShocks(benchmark);
+        double[] result = new double[scenarios.size()];
+        for (int k = 0; k < result.length; k++) {
+            result[k] = shocks != null ? toKrw(shocks, k) : Double.NaN;
+        }
+        return result;
+    }
+
+    /**
+     * 현지 통화 수익률에 같은 기간 환율 변동을 곱해 원화 기준으로 변환
+     * (환율 이력이 없는 기간은 현지 통화 수익률 그대로)
+     */
+    private double toKrw(LocalShocks shocks, int k) {
+        double local = shocks.shocks()[k];
+        String currency = shocks.currency();
+        if (Double.isNaN(local) || isKrw(currency)) {
+            return local;
+        }
+        LocalShocks fx = localShocks(currency.toUpperCase() + "KRW=X");
+        double fxShock = fx != null ? fx.shocks()[k] : Double.NaN;
+        return Double.isNaN(fxShock) ? local : (1 + local) * (1 + fxShock) - 1;
+    }
+
+    /**
+     * 현지 통화 기간 수익률 (메모리 -> 디스크 -> Yahoo 순)
+     */
+    private LocalShocks localShocks(String symbol) {
+        LocalShocks cached = localShocks.get(symbol);
+        if (cached != null) {
+            return cached;
+        }
+        Long failedAt = failedFetches.get(symbol);
+        if (failedAt != null && System.currentTimeMillis() - failedAt < failureRetryMs) {
+            return null;
+        }
+
+        LocalShocks shocks = readCache(symbol);
+        if (shocks == null) {
+            try {
+                shocks = fetchShocks(symbol);
+                writeCache(symbol, shocks);
+            } catch (RuntimeException e) {
+                log.warn("Stress scenario history unavailable for {}: {}", symbol, e.getMessage());
+                failedFetches.put(symbol, System.currentTimeMillis());
+                return null;
+            }
+        }
+        failedFetches.remove(symbol);
+        LocalShocks existing = localShocks.putIfAbsent(symbol, shocks);
+        return existing != null ? existing : shocks;
+    }
+
+    /**
+     * 라이브러리 전체 기간을 덮는 일별 수정종가를 한 번에 조회해 시나리오별 수익률 계산
+     */
+    private LocalShocks fetchShocks(String symbol) {
+        LocalDate from = scenarios.stream().map(Scenario::start).min(LocalDate::compareTo).orElseThrow().minusDays(MAX_GAP_DAYS);
+        LocalDate to = scenarios.stream().map(Scenario::end).max(LocalDate::compareTo).orElseThrow().plusDays(MAX_GAP_DAYS);
+        String url = CHART_URL + URLEncoder.encode(symbol, StandardCharsets.UTF_8)
+                + "?period1=" + from.atStartOfDay().toEpochSecond(ZoneOffset.UTC)
+                + "&period2=" + to.atStartOfDay().toEpochSecond(ZoneOffset.UTC)
+                + "&interval=1d&includeAdjustedClose=true";
+
+        JsonNode chart;
+        try {
+            chart = objectMapper.readTree(gateway.get(UpstreamHttpGateway.YAHOO, url, YAHOO_HEADERS))
+                    .path("chart").path("result").path(0);
+        } catch (IOException e) {
+            throw new RuntimeException("Invalid chart response: " + e.getMessage(), e);
+        }
+        JsonNode timestamps = chart.path("timestamp");
+        JsonNode indicators = chart.path("indicators");
+        JsonNode closes = indicators.path("adjclose").path(0).path("adjclose");
+        if (!closes.isArray() || closes.isEmpty()) {
+            closes = indicators.path("quote").path(0).path("close");
+        }
+        if (!timestamps.isArray() || timestamps.isEmpty() || !closes.isArray()) {
+            throw new RuntimeException("No price history");
+        }
+
+        int n = Math.min(timestamps.size(), closes.size());
+        long[] days = new long[n];
+        double[] prices = new double[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (closes.get(i).isNumber() && closes.get(i).asDouble() > 0) {
+                days[count] = Math.floorDiv(timestamps.get(i).asLong(), 86_400L);
+                prices[count] = closes.get(i).asDouble();
+                count++;
+            }
+        }
+
+        double[] shocks = new double[scenarios.size()];
+        for (int k = 0; k < shocks.length; k++) {
+            Scenario scenario = scenarios.get(k);
+            int first = firstOnOrAfter(days, count, scenario.start().toEpochDay());
+            int last = lastOnOrBefore(days, count, scenario.end().toEpochDay());
+            boolean covered = first >= 0 && last > first
+                    && days[first] - scenario.start().toEpochDay() <= MAX_GAP_DAYS
+                    && scenario.end().toEpochDay() - days[last] <= MAX_GAP_DAYS;
+            shocks[k] = covered ? prices[last] / prices[first] - 1 : Double.NaN;
+        }
+        String currency = chart.path("meta").path("currency").asText(null);
+        log.info("Stress scenario shocks computed for {} ({} prices, {})", symbol, count, currency);
+        return new LocalShocks(currency, shocks);
+    }
+
+    private static int firstOnOrAfter(long[] days, int count, long day) {
+        int index = Arrays.binarySearch(days, 0, count, day);
+        index = index >= 0 ? index : -index - 1;
+        return index < count ? index : -1;
+    }
+
+    private static int lastOnOrBefore(long[] days, int count, long day) {
+        int index = Arrays.binarySearch(days, 0, count, day);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private LocalShocks readCache(String symbol) {
+        Path file = cacheFile(symbol);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            JsonNode root = objectMapper.readTree(file.toFile());
+            if (!libraryHash.equals(root.path("libraryHash").asText())) {
+                return null; // 시나리오 라이브러리가 바뀌면 다시 계산
+            }
+            Map<String, Double> byName = objectMapper.convertValue(root.path("shocks"),
+                    new TypeReference<Map<String, Double>>() {});
+            double[] shocks = new double[scenarios.size()];
+            for (int k = 0; k < shocks.length; k++) {
+                Double value = byName.get(scenarios.get(k).name());
+                shocks[k] = value != null ? value : Double.NaN;
+            }
+            return new LocalShocks(root.path("currency").asText(null), shocks);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring unreadable stress cache {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeCache(String symbol, LocalShocks shocks) {
+        Path file = cacheFile(symbol);
+        try {
+            Files.createDirectories(cacheDir);
+            ObjectNode root = objectMapper.createObjectNode();
+            root.put("symbol", symbol);
+            root.put("currency", shocks.currency());
+            root.put("libraryHash", libraryHash);
+            ObjectNode byName = root.putObject("shocks");
+            for (int k = 0; k < scenarios.size(); k++) {
+                double value = shocks.shocks()[k];
+                if (Double.isNaN(value)) {
+                    byName.putNull(scenarios.get(k).name());
+                } else {
+                    byName.put(scenarios.get(k).name(), value);
+                }
+            }
+            Path tmp = Files.createTempFile(cacheDir, "stress", ".tmp");
+            objectMapper.writeValue(tmp.toFile(), root);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write stress cache for {}: {}", symbol, e.getMessage());
+        }
+    }
+
+    private Path cacheFile(String symbol) {
+        return cacheDir.resolve(symbol.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+    }
+
+    private List<Scenario> loadScenarios(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            List<Map<String, String>> entries = objectMapper.readValue(in, new TypeReference<>() {});
+            List<Scenario> loaded = new ArrayList<>(entries.size());
+            for (Map<String, String> entry : entries) {
+                loaded.add(new Scenario(entry.get("name"), entry.getOrDefault("label", entry.get("name")),
+                        LocalDate.parse(entry.get("start")), LocalDate.parse(entry.get("end"))));
+            }
+            return List.copyOf(loaded);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load stress scenarios from " + resource + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String hashLibrary(List<Scenario> scenarios) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Scenario scenario : scenarios) {
+                digest.update((scenario.name() + "|" + scenario.start() + "|" + scenario.end() + "\n")
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isKrw(String currency) {
+        return currency == null || "KRW".equalsIgnoreCase(currency);
+    }
+
+    private static boolean isDomestic(String ticker) {
+        return ticker.endsWith(".KS") || ticker.endsWith(".KQ");
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static double round6(double value) {
+        return Math.round(value * 1_000_000.0) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,210 @@
+package com.portfolio.optimizer.service;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 합성 시장 데이터 생성기 (벤치마크/스트레스 테스트용)
+ *
+ * 다중 팩터 모델로 상관관계가 있는 일별 가격을 생성한다.
+ *   r(i,t) = mu(i) + beta(i)·f(t) + sigma(i)·s(t)·e(i,t)
+ *   - f(t): 시장 1개 + 섹터 S개 + 스타일 K개 팩터 수익률 (국면별 변동성/추세)
+ *   - e(i,t): 자유도 df 의 Student-t (두꺼운 꼬리, 단위 분산으로 정규화)
+ *   - s(t): 국면 배수 - 평온/위기 2상태 마르코프 체인으로 전환
+ *
+ * 같은 seed 면 항상 같은 데이터를 만든다 (종목별 난수열 분리).
+ *
+ * 실행 예: ./gradlew generateSyntheticMarketData -Pargs="--tickers=5000 --years=10 --out=build/synthetic.qpx"
+ */
+@Slf4j
+public class SyntheticMarketDataGenerator {
+
+    private static final int TRADING_DAYS = 252;
+
+    /**
+     * 생성 설정 (연 단위 값은 연율)
+     */
+    @Getter
+    @Builder
+    public static class Spec {
+        @Builder.Default private int tickers = 1000;
+        @Builder.Default private int years = 10;
+        @Builder.Default private long seed = 42L;
+        @Builder.Default private LocalDate startDate = LocalDate.of(2015, 1, 2);
+
+        @Builder.Default private int sectors = 11;
+        @Builder.Default private int styleFactors = 3;
+        @Builder.Default private double marketDrift = 0.07;
+        @Builder.Default private double marketVol = 0.16;
+        @Builder.Default private double sectorVol = 0.10;
+        @Builder.Default private double styleVol = 0.05;
+        @Builder.Default private double minIdioVol = 0.15;
+        @Builder.Default private double maxIdioVol = 0.45;
+
+        // Student-t 자유도 (작을수록 꼬리가 두꺼움, 2 초과)
+        @Builder.Default private int tailDegreesOfFreedom = 4;
+
+        // 국면 전환 확률 (일 단위) 및 위기 국면 특성
+        @Builder.Default private double calmToCrisis = 0.004;
+        @Builder.Default private double crisisToCalm = 0.03;
+        @Builder.Default private double crisisVolMultiplier = 2.5;
+        @Builder.Default private double crisisMarketDrift = -0.30;
+    }
+
+    private final Spec spec;
+    private final int days;
+    private final int factorCount;
+
+    // 팩터 수익률 [factor][day] 와 국면별 변동성 배수 [day]
+    private final double[][] factorReturns;
+    private final double[] regimeScale;
+
+    public SyntheticMarketDataGenerator(Spec spec) {
+        if (spec.getTailDegreesOfFreedom() <= 2) {
+            throw new IllegalArgumentException("tailDegreesOfFreedom must be greater than 2");
+        }
+        this.spec = spec;
+        this.days = spec.getYears() * TRADING_DAYS;
+        this.factorCount = 1 + spec.getSectors() + spec.getStyleFactors();
+        this.factorReturns = new double[factorCount][days];
+        this.regimeScale = new double[days];
+        simulateFactors();
+    }
+
+    /**
+     * 전체 종목 생성 후 파일로 기록 (종목 단위로 스트리밍하므로 메모리는 종목 1개 분량)
+     */
+    public void writeTo(Path path) throws IOException {
+        List<String> tickers = new ArrayList<>(spec.getTickers());
+        for (int i = 0; i < spec.getTickers(); i++) {
+            tickers.add(tickerName(i));
+        }
+
+        long start = System.currentTimeMillis();
+        float[] closes = new float[days];
+        try (SyntheticPriceFile.Writer writer = new SyntheticPriceFile.Writer(path, tickers, days, spec.getStartDate())) {
+            for (int i = 0; i < spec.getTickers(); i++) {
+                simulateTicker(i, closes);
+                writer.writePrices(closes);
+            }
+        }
+        log.info("Generated {} tickers x {} days to {} in {}ms",
+                spec.getTickers(), days, path.toAbsolutePath(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 종목 i 의 일별 종가 생성
+     */
+    public void simulateTicker(int i, float[] closes) {
+        SplittableRandom random = new SplittableRandom(spec.getSeed() * 1_000_003L + i + 1);
+
+        // 팩터 노출: 시장 베타, 소속 섹터 1개, 스타일 팩터
+        double[] loadings = new double[factorCount];
+        loadings[0] = 1.0 + 0.3 * gaussian(random);
+        int sector = i % spec.getSectors();
+        loadings[1 + sector] = 0.8 + 0.2 * gaussian(random);
+        for (int k = 0; k < spec.getStyleFactors(); k++) {
+            loadings[1 + spec.getSectors() + k] = 0.3 * gaussian(random);
+        }
+
+        double idioVol = spec.getMinIdioVol() + random.nextDouble() * (spec.getMaxIdioVol() - spec.getMinIdioVol());
+        double dailyIdioVol = idioVol / Math.sqrt(TRADING_DAYS);
+        double dailyAlpha = 0.02 * gaussian(random) / TRADING_DAYS;
+        double tailScale = Math.sqrt((spec.getTailDegreesOfFreedom() - 2.0) / spec.getTailDegreesOfFreedom());
+
+        double logPrice = Math.log(10 + random.nextDouble() * 490);
+        for (int t = 0; t < days; t++) {
+            double r = dailyAlpha;
+            for (int f = 0; f < factorCount; f++) {
+                if (loadings[f] != 0) {
+                    r += loadings[f] * factorReturns[f][t];
+                }
+            }
+            // 개별 충격은 위기 시 일부만 확대 (상관관계 상승 효과)
+            r += dailyIdioVol * Math.sqrt(regimeScale[t]) * studentT(random) * tailScale;
+            // 단순 수익률이 -100% 아래로 내려가지 않도록 로그 가격으로 누적
+            logPrice += Math.log1p(Math.max(r, -0.95));
+            closes[t] = (float) Math.exp(logPrice);
+        }
+    }
+
+    public int days() {
+        return days;
+    }
+
+    public static String tickerName(int i) {
+        return String.format("SYN%05d", i);
+    }
+
+    private void simulateFactors() {
+        SplittableRandom random = new SplittableRandom(spec.getSeed());
+        double sqrtDays = Math.sqrt(TRADING_DAYS);
+        double tailScale = Math.sqrt((spec.getTailDegreesOfFreedom() - 2.0) / spec.getTailDegreesOfFreedom());
+
+        boolean crisis = false;
+        for (int t = 0; t < days; t++) {
+            double p = random.nextDouble();
+            crisis = crisis ? p >= spec.getCrisisToCalm() : p < spec.getCalmToCrisis();
+            double scale = crisis ? spec.getCrisisVolMultiplier() : 1.0;
+            regimeScale[t] = scale;
+
+            double drift = (crisis ? spec.getCrisisMarketDrift() : spec.getMarketDrift()) / TRADING_DAYS;
+            factorReturns[0][t] = drift + spec.getMarketVol() / sqrtDays * scale * studentT(random) * tailScale;
+            for (int s = 0; s < spec.getSectors(); s++) {
+                factorReturns[1 + s][t] = spec.getSectorVol() / sqrtDays * scale * studentT(random) * tailScale;
+            }
+            for (int k = 0; k < spec.getStyleFactors(); k++) {
+                factorReturns[1 + spec.getSectors() + k][t] = spec.getStyleVol() / sqrtDays * gaussian(random);
+            }
+        }
+    }
+
+    private double studentT(SplittableRandom random) {
+        int df = spec.getTailDegreesOfFreedom();
+        double chiSquare = 0;
+        for (int i = 0; i < df; i++) {
+            double z = gaussian(random);
+            chiSquare += z * z;
+        }
+        return gaussian(random) / Math.sqrt(chiSquare / df);
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller (SplittableRandom 에는 nextGaussian 이 없음)
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    /**
+     * 명령행 실행: --tickers= --years= --seed= --out= (그 외 Spec 필드는 기본값)
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+
+        Spec spec = Spec.builder()
+                .tickers(Integer.parseInt(options.getOrDefault("tickers", "1000")))
+                .years(Integer.parseInt(options.getOrDefault("years", "10")))
+                .seed(Long.parseLong(options.getOrDefault("seed", "42")))
+                .tailDegreesOfFreedom(Integer.parseInt(options.getOrDefault("df", "4")))
+                .build();
+        Path out = Paths.get(options.getOrDefault("out", "synthetic-prices.qpx"));
+        new SyntheticMarketDataGenerator(spec).writeTo(out);
+    }
+}
@@ -0,0 +1,151 @@
+package com.portfolio.optimizer.service;
+
+import com.portfolio.optimizer.math.Kernels;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 합성 가격 파일 기반 과거 데이터 제공
+ *
+ * market.data.synthetic.file 이 설정되면, 요청 종목이 모두 파일에 있을 때
+ * 연율화 기대수익률/공분산을 계산해 최적화 입력(historicalStats)으로 넘긴다.
+ * 이 경우 Python 스크립트는 yfinance 를 호출하지 않는다.
+ */
+@Service
+@Slf4j
+public class SyntheticMarketDataService {
+
+    private static final int TRADING_DAYS = 252;
+
+    @Value("${market.data.synthetic.file:}")
+    private String syntheticFile;
+
+    @Value("${market.data.synthetic.lookback.days:252}")
+    private int lookbackDays;
+
+    private volatile SyntheticPriceFile priceFile;
+
+    public boolean isEnabled() {
+        return syntheticFile != null && !syntheticFile.isBlank();
+    }
+
+    /**
+     * 종목별 연율화 기대수익률/공분산 (단순 일간 수익률 기준, Python fetch_real_historical_data 와 동일)
+     * 합성 데이터가 꺼져 있거나 파일에 없는 종목이 있으면 empty
+     */
+    public Optional<Map<String, Object>> historicalStats(List<String> symbols) {
+        if (!isEnabled() || symbols == null || symbols.isEmpty()) {
+            return Optional.empty();
+        }
+        SyntheticPriceFile file = priceFile();
+
+        int n = symbols.size();
+        int[] indexes = new int[n];
+        for (int i = 0; i < n; i++) {
+            indexes[i] = file.indexOf(symbols.get(i));
+            if (indexes[i] < 0) {
+                log.warn("Symbol {} not in synthetic price file, using regular data source", symbols.get(i));
+                return Optional.empty();
+            }
+        }
+
+        int window = Math.min(lookbackDays, file.days() - 1);
+        int observations = window;
+        float[] closes = new float[window + 1];
+        double[][] returns = new double[n][observations];
+        double[] annualReturns = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            file.readCloses(indexes[i], window + 1, closes);
+            double sum = 0;
+            for (int t = 0; t < observations; t++) {
+                double r = closes[t + 1] / (double) closes[t] - 1.0;
+                returns[i][t] = r;
+                sum += r;
+            }
+            annualReturns[i] = sum / observations * TRADING_DAYS;
+        }
+
+        // 블록 공분산 커널 (Vector API 사용 가능 시 SIMD)
+        double[] flat = Kernels.covariance(returns);
+        double[][] covariance = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                covariance[i][j] = flat[i * n + j] * TRADING_DAYS;
+            }
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("returns", annualReturns);
+        stats.put("covariance", covariance);
+        stats.put("observations", observations);
+        stats.put("source", "synthetic");
+        return Optional.of(stats);
+    }
+
+    /**
+     * 종목별 최근 days 일 종가 ({dates, closes{symbol: [...]}}, 워크포워드 검증 입력용)
+     * 합성 데이터가 꺼져 있거나 파일에 없는 종목이 있으면 empty
+     */
+    public Optional<Map<String, Object>> priceHistory(List<String> symbols, int days) {
+        if (!isEnabled() || symbols == null || symbols.isEmpty()) {
+            return Optional.empty();
+        }
+        SyntheticPriceFile file = priceFile();
+        int count = Math.min(days, file.days());
+        float[] closes = new float[count];
+
+        Map<String, float[]> series = new HashMap<>();
+        for (String symbol : symbols) {
+            int index = file.indexOf(symbol);
+            if (index < 0) {
+                log.warn("Symbol {} not in synthetic price file, using regular data source", symbol);
+                return Optional.empty();
+            }
+            file.readCloses(index, count, closes);
+            series.put(symbol, closes.clone());
+        }
+
+        // 파일은 일 단위 인덱스만 가지므로 시작일부터 하루씩 날짜를 부여
+        LocalDate first = file.startDate().plusDays(file.days() - count);
+        List<String> dates = new ArrayList<>(count);
+        for (int t = 0; t < count; t++) {
+            dates.add(first.plusDays(t).toString());
+        }
+
+        Map<String, Object> history = new HashMap<>();
+        history.put("dates", dates);
+        history.put("closes", series);
+        return Optional.of(history);
+    }
+
+    private SyntheticPriceFile priceFile() {
+        SyntheticPriceFile file = priceFile;
+        if (file == null) {
+            synchronized (this) {
+                file = priceFile;
+                if (file == null) {
+                    try {
+                        file = SyntheticPriceFile.open(Paths.get(syntheticFile));
+                    } catch (IOException e) {
+                        throw new RuntimeException("Failed to open synthetic price file: " + e.getMessage(), e);
+                    }
+                    log.info("Synthetic price file loaded: {} tickers x {} days from {}",
+                            file.tickers().size(), file.days(), syntheticFile);
+                    priceFile = file;
+                }
+            }
+        }
+        return file;
+    }
+}
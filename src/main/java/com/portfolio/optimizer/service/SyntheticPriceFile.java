@@ -0,0 +1,158 @@
+package com.portfolio.optimizer.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 합성 가격 파일 (.qpx) 읽기/쓰기
+ *
+ * 형식 (little-endian):
+ *   magic "QPX1" | int tickers | int days | long startEpochDay
+ *   tickers 개의 (short 길이 + UTF-8 티커)
+ *   float32 종가 [tickers][days]  (종목별로 연속 저장)
+ *
+ * 종목당 days*4 바이트만 사용하며, 읽을 때는 파일을 메모리 매핑하여 필요한 종목만 접근한다.
+ */
+public class SyntheticPriceFile {
+
+    private static final int MAGIC = 0x31585051; // "QPX1"
+
+    private final String[] tickers;
+    private final Map<String, Integer> index;
+    private final int days;
+    private final LocalDate startDate;
+    private final ByteBuffer prices;
+
+    private SyntheticPriceFile(String[] tickers, int days, LocalDate startDate, ByteBuffer prices) {
+        this.tickers = tickers;
+        this.days = days;
+        this.startDate = startDate;
+        this.prices = prices;
+        this.index = new HashMap<>(tickers.length * 2);
+        for (int i = 0; i < tickers.length; i++) {
+            index.put(tickers[i], i);
+        }
+    }
+
+    /**
+     * 파일 열기 (메모리 매핑)
+     */
+    public static SyntheticPriceFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Synthetic price file larger than 2GB is not supported: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a synthetic price file: " + path);
+            }
+            int tickerCount = buffer.getInt();
+            int days = buffer.getInt();
+            LocalDate startDate = LocalDate.ofEpochDay(buffer.getLong());
+
+            String[] tickers = new String[tickerCount];
+            for (int i = 0; i < tickerCount; i++) {
+                byte[] name = new byte[buffer.getShort()];
+                buffer.get(name);
+                tickers[i] = new String(name, StandardCharsets.UTF_8);
+            }
+
+            ByteBuffer prices = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+            if (prices.remaining() < (long) tickerCount * days * Float.BYTES) {
+                throw new IOException("Truncated synthetic price file: " + path);
+            }
+            return new SyntheticPriceFile(tickers, days, startDate, prices);
+        }
+    }
+
+    /**
+     * 종목별 가격 스트림 기록기
+     * 헤더를 먼저 쓰고, 종목 순서대로 가격 배열을 append 한다 (전체를 메모리에 올리지 않음).
+     */
+    public static class Writer implements AutoCloseable {
+
+        private final DataOutputStream out;
+        private final int days;
+        private final ByteBuffer row;
+
+        public Writer(Path path, List<String> tickers, int days, LocalDate startDate) throws IOException {
+            OutputStream file = Files.newOutputStream(path);
+            this.out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16));
+            this.days = days;
+            this.row = ByteBuffer.allocate(days * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+            ByteBuffer header = ByteBuffer.allocate(20).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(tickers.size()).putInt(days).putLong(startDate.toEpochDay());
+            out.write(header.array());
+            ByteBuffer len = ByteBuffer.allocate(2).order(ByteOrder.LITTLE_ENDIAN);
+            for (String ticker : tickers) {
+                byte[] name = ticker.getBytes(StandardCharsets.UTF_8);
+                len.clear();
+                len.putShort((short) name.length);
+                out.write(len.array());
+                out.write(name);
+            }
+        }
+
+        public void writePrices(float[] closes) throws IOException {
+            if (closes.length != days) {
+                throw new IllegalArgumentException("Expected " + days + " prices, got " + closes.length);
+            }
+            row.clear();
+            row.asFloatBuffer().put(closes);
+            out.write(row.array());
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    public List<String> tickers() {
+        return Arrays.asList(tickers);
+    }
+
+    public int days() {
+        return days;
+    }
+
+    public LocalDate startDate() {
+        return startDate;
+    }
+
+    /**
+     * 티커 위치 (없으면 -1)
+     */
+    public int indexOf(String ticker) {
+        return index.getOrDefault(ticker, -1);
+    }
+
+    /**
+     * 종목의 최근 count 일 종가를 dst 에 복사
+     */
+    public void readCloses(int tickerIndex, int count, float[] dst) {
+        int from = days - count;
+        long offset = ((long) tickerIndex * days + from) * Float.BYTES;
+        prices.duplicate().order(ByteOrder.LITTLE_ENDIAN)
+                .position((int) offset)
+                .asFloatBuffer()
+                .get(dst, 0, count);
+    }
+}
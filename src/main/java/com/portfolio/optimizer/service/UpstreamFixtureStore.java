@@ -0,0 +1,148 @@
+package com.portfolio.optimizer.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * 업스트림 응답 기록 저장소 (record/replay 공용)
+ *
+ * 응답 하나를 {dir}/{upstream}/{sha256(method, url, body)}.json 파일로 보관한다.
+ * 재생 시 정확히 같은 요청이 없으면 같은 업스트림/메서드/경로(쿼리 제외)로 기록된 응답 중 하나를 사용한다.
+ * (검색어나 챗봇 질문이 달라도 부하 테스트가 가능하도록)
+ */
+@Slf4j
+public class UpstreamFixtureStore {
+
+    /**
+     * 기록된 응답 하나
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Fixture {
+        private String requestKey;
+        private String upstream;
+        private String method;
+        private String url;
+        private int status;
+        private String body;
+        private long latencyMs;
+        private long recordedAt;
+    }
+
+    private final Path directory;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    // 요청 키 -> 응답
+    private final Map<String, Fixture> exact = new ConcurrentHashMap<>();
+    // 업스트림/메서드/경로 -> 응답 목록
+    private final Map<String, List<Fixture>> byPath = new ConcurrentHashMap<>();
+
+    public UpstreamFixtureStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 디렉터리의 기록을 모두 메모리로 읽어들임 (재생 모드 기동 시 1회)
+     */
+    public int loadAll() {
+        if (!Files.isDirectory(directory)) {
+            log.warn("Upstream fixture directory not found: {}", directory.toAbsolutePath());
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(p -> p.toString().endsWith(".json")).forEach(file -> {
+                try {
+                    Fixture fixture = objectMapper.readValue(file.toFile(), Fixture.class);
+                    index(fixture, fixture.getRequestKey());
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable fixture {}: {}", file, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load upstream fixtures: " + e.getMessage(), e);
+        }
+        return exact.size();
+    }
+
+    /**
+     * 요청에 맞는 기록 조회 (정확히 일치 → 같은 경로 순)
+     */
+    public Optional<Fixture> find(String upstream, String method, String url, String requestBody) {
+        Fixture fixture = exact.get(key(upstream, method, url, requestBody));
+        if (fixture != null) {
+            return Optional.of(fixture);
+        }
+        List<Fixture> candidates = byPath.get(pathKey(upstream, method, url));
+        if (candidates == null || candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        // 같은 요청은 항상 같은 응답을 받도록 키 해시로 선택
+        int index = Math.floorMod(key(upstream, method, url, requestBody).hashCode(), candidates.size());
+        return Optional.of(candidates.get(index));
+    }
+
+    /**
+     * 응답 기록 (같은 요청은 덮어씀)
+     */
+    public void save(String upstream, String method, String url, String requestBody,
+                     int status, String body, long latencyMs) {
+        String key = key(upstream, method, url, requestBody);
+        Fixture fixture = new Fixture(key, upstream, method, url, status, body, latencyMs, System.currentTimeMillis());
+        try {
+            Path dir = directory.resolve(upstream);
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, key, ".tmp");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(), fixture);
+            Files.move(tmp, dir.resolve(key + ".json"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            index(fixture, key);
+        } catch (IOException e) {
+            log.warn("Failed to record fixture for {} {}: {}", method, url, e.getMessage());
+        }
+    }
+
+    private void index(Fixture fixture, String key) {
+        if (exact.put(key, fixture) == null) {
+            byPath.computeIfAbsent(pathKey(fixture.getUpstream(), fixture.getMethod(), fixture.getUrl()),
+                    k -> new CopyOnWriteArrayList<>()).add(fixture);
+        }
+    }
+
+    private static String pathKey(String upstream, String method, String url) {
+        return upstream + " " + method + " " + URI.create(url).getPath();
+    }
+
+    private static String key(String upstream, String method, String url, String requestBody) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((upstream + "\n" + method + "\n" + url + "\n").getBytes(StandardCharsets.UTF_8));
+            if (requestBody != null) {
+                digest.update(requestBody.getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.portfolio.optimizer.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 API(Yahoo Finance, Gemini 등) 호출 게이트웨이
+ *
+ * - 전송 계층 교체 가능 (실제 HTTP / 응답 기록 / 기록 재생, UpstreamTransport 참고)
+ * - 업스트림별 요청 타임아웃
+ * - 업스트림별 동시 호출 제한 (bulkhead)
+ * - 연속 실패 시 차단 후 half-open 프로브로 복구하는 서킷 브레이커
+ * - 업스트림별 지연/오류 메트릭 (upstream.requests)
+ *
+ * 설정 (업스트림 이름별, 미설정 시 upstream.default.* 사용):
+ *   upstream.{name}.timeout.ms, upstream.{name}.max.concurrent, upstream.{name}.bulkhead.wait.ms,
+ *   upstream.{name}.circuit.failure.threshold, upstream.{name}.circuit.open.ms
+ */
+@Service
+@Slf4j
+public class UpstreamHttpGateway {
+
+    public static final String YAHOO = "yahoo";
+    public static final String GEMINI = "gemini";
+
+    private final UpstreamTransport transport;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Upstream> upstreams = new ConcurrentHashMap<>();
+
+    public UpstreamHttpGateway(UpstreamTransport transport, Environment environment, MeterRegistry meterRegistry) {
+        this.transport = transport;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 업스트림 호출 실패
+     * retryable=false 인 경우(서킷 차단, bulkhead 초과, 4xx)는 재시도해도 소용없음
+     */
+    @Getter
+    public static class UpstreamException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final String upstream;
+        private final int statusCode;
+        private final boolean retryable;
+
+        public UpstreamException(String upstream, String message, int statusCode, boolean retryable, Throwable cause) {
+            super(message, cause);
+            this.upstream = upstream;
+            this.statusCode = statusCode;
+            this.retryable = retryable;
+        }
+    }
+
+    /**
+     * GET 요청, 2xx 응답 본문 반환
+     */
+    public String get(String upstream, String url, Map<String, String> headers) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).GET();
+        return execute(upstream, builder, null, headers);
+    }
+
+    /**
+     * JSON POST 요청, 2xx 응답 본문 반환
+     */
+    public String postJson(String upstream, String url, String json, Map<String, String> headers) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8));
+        return execute(upstream, builder, json, headers);
+    }
+
+    /**
+     * 서킷 상태 조회 (CLOSED / OPEN / HALF_OPEN)
+     */
+    public String circuitState(String upstream) {
+        return upstream(upstream).breaker.state().name();
+    }
+
+    private String execute(String name, HttpRequest.Builder builder, String body, Map<String, String> headers) {
+        Upstream upstream = upstream(name);
+
+        if (!upstream.breaker.tryAcquire()) {
+            record(upstream, "circuit_open", 0);
+            throw new UpstreamException(name, "Circuit open for upstream: " + name, 0, false, null);
+        }
+
+        boolean permitted;
+        try {
+            permitted = upstream.bulkhead.tryAcquire(upstream.bulkheadWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            upstream.breaker.release();
+            throw new UpstreamException(name, "Interrupted waiting for upstream: " + name, 0, false, e);
+        }
+        if (!permitted) {
+            upstream.breaker.release();
+            record(upstream, "rejected", 0);
+            throw new UpstreamException(name, "Too many concurrent calls to upstream: " + name, 0, false, null);
+        }
+
+        long start = System.nanoTime();
+        try {
+            // 잘못된 헤더 등으로 인한 예외도 아래에서 서킷/bulkhead 정리를 거치도록 try 안에서 구성
+            builder.timeout(Duration.ofMillis(upstream.timeoutMs));
+            if (headers != null) {
+                headers.forEach(builder::header);
+            }
+            UpstreamTransport.Response response = transport.send(name, builder.build(), body);
+            long elapsed = System.nanoTime() - start;
+            int status = response.status();
+            if (status >= 200 && status < 300) {
+                upstream.breaker.onSuccess();
+                record(upstream, "success", elapsed);
+                return response.body();
+            }
+            // 429/5xx 는 업스트림 장애로 간주하여 서킷에 반영, 그 외 4xx 는 요청 문제
+            boolean upstreamFault = status == 429 || status >= 500;
+            if (upstreamFault) {
+                upstream.breaker.onFailure();
+            } else {
+                upstream.breaker.onSuccess();
+            }
+            record(upstream, upstreamFault ? "server_error" : "client_error", elapsed);
+            throw new UpstreamException(name, name + " responded with HTTP " + status, status, upstreamFault, null);
+        } catch (HttpTimeoutException e) {
+            upstream.breaker.onFailure();
+            record(upstream, "timeout", System.nanoTime() - start);
+            throw new UpstreamException(name, name + " timed out after " + upstream.timeoutMs + "ms", 0, true, e);
+        } catch (IOException e) {
+            upstream.breaker.onFailure();
+            record(upstream, "io_error", System.nanoTime() - start);
+            throw new UpstreamException(name, name + " I/O error: " + e.getMessage(), 0, true, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            upstream.breaker.release();
+            throw new UpstreamException(name, "Interrupted calling upstream: " + name, 0, false, e);
+        } catch (UpstreamException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // HttpClient 의 IllegalArgumentException, UncheckedIOException, 전송 구현 버그 등
+            // (놓치면 HALF_OPEN 시험 호출이 끝나지 않아 서킷이 다시 닫히지 않음)
+            upstream.breaker.onFailure();
+            record(upstream, "error", System.nanoTime() - start);
+            throw new UpstreamException(name, name + " call failed: " + e, 0, false, e);
+        } finally {
+            upstream.bulkhead.release();
+        }
+    }
+
+    private void record(Upstream upstream, String outcome, long elapsedNanos) {
+        upstream.timers.computeIfAbsent(outcome, o -> Timer.builder("upstream.requests")
+                        .description("Calls to external upstream APIs")
+                        .tag("upstream", upstream.name)
+                        .tag("outcome", o)
+                        .register(meterRegistry))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Upstream upstream(String name) {
+        return upstreams.computeIfAbsent(name, this::createUpstream);
+    }
+
+    private Upstream createUpstream(String name) {
+        Upstream upstream = new Upstream(
+                name,
+                property(name, "timeout.ms", 5000L),
+                property(name, "max.concurrent", 20L).intValue(),
+                property(name, "bulkhead.wait.ms", 100L),
+                property(name, "circuit.failure.threshold", 5L).intValue(),
+                property(name, "circuit.open.ms", 30000L));
+
+        Gauge.builder("upstream.circuit.state", upstream.breaker, b -> b.state().ordinal())
+                .description("0=closed, 1=open, 2=half-open")
+                .tag("upstream", name)
+                .register(meterRegistry);
+        Gauge.builder("upstream.inflight", upstream, u -> u.maxConcurrent - u.bulkhead.availablePermits())
+                .tag("upstream", name)
+                .register(meterRegistry);
+
+        log.info("Upstream '{}' configured: timeout={}ms, maxConcurrent={}, failureThreshold={}, openMs={}",
+                name, upstream.timeoutMs, upstream.maxConcurrent,
+                upstream.breaker.failureThreshold, upstream.breaker.openMs);
+        return upstream;
+    }
+
+    private Long property(String upstream, String key, long defaultValue) {
+        Long fallback = environment.getProperty("upstream.default." + key, Long.class, defaultValue);
+        return environment.getProperty("upstream." + upstream + "." + key, Long.class, fallback);
+    }
+
+    private static class Upstream {
+        final String name;
+        final long timeoutMs;
+        final int maxConcurrent;
+        final long bulkheadWaitMs;
+        final Semaphore bulkhead;
+        final CircuitBreaker breaker;
+        final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+        Upstream(String name, long timeoutMs, int maxConcurrent, long bulkheadWaitMs,
+                 int failureThreshold, long openMs) {
+            this.name = name;
+            this.timeoutMs = timeoutMs;
+            this.maxConcurrent = maxConcurrent;
+            this.bulkheadWaitMs = bulkheadWaitMs;
+            this.bulkhead = new Semaphore(maxConcurrent);
+            this.breaker = new CircuitBreaker(name, failureThreshold, openMs);
+        }
+    }
+
+    /**
+     * 연속 실패 기반 서킷 브레이커
+     * OPEN 상태에서 openMs 가 지나면 HALF_OPEN 으로 전환해 프로브 요청 1건만 통과시킨다.
+     */
+    @Slf4j
+    static class CircuitBreaker {
+
+        enum State { CLOSED, OPEN, HALF_OPEN }
+
+        private final String name;
+        private final int failureThreshold;
+        private final long openMs;
+        private State state = State.CLOSED;
+        private int consecutiveFailures = 0;
+        private long openedAt = 0;
+        private boolean probeInFlight = false;
+
+        CircuitBreaker(String name, int failureThreshold, long openMs) {
+            this.name = name;
+            this.failureThreshold = failureThreshold;
+            this.openMs = openMs;
+        }
+
+        synchronized State state() {
+            return state;
+        }
+
+        synchronized boolean tryAcquire() {
+            switch (state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (System.currentTimeMillis() - openedAt < openMs) {
+                        return false;
+                    }
+                    log.info("Circuit for '{}' half-open, sending probe", name);
+                    state = State.HALF_OPEN;
+                    probeInFlight = true;
+                    return true;
+                default:
+                    if (probeInFlight) {
+                        return false;
+                    }
+                    probeInFlight = true;
+                    return true;
+            }
+        }
+
+        synchronized void onSuccess() {
+            if (state != State.CLOSED) {
+                log.info("Circuit for '{}' closed", name);
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            probeInFlight = false;
+        }
+
+        synchronized void onFailure() {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                if (state != State.OPEN) {
+                    log.warn("Circuit for '{}' opened after {} consecutive failures", name, consecutiveFailures);
+                }
+                state = State.OPEN;
+                openedAt = System.currentTimeMillis();
+            }
+            probeInFlight = false;
+        }
+
+        /**
+         * 결과 판정 없이 종료된 호출 (bulkhead 거절/인터럽트) - 프로브 슬롯만 반환
+         */
+        synchronized void release() {
+            probeInFlight = false;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.portfolio.optimizer.service;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+
+/**
+ * UpstreamHttpGateway 의 실제 전송 계층
+ * upstream.stub.mode 에 따라 실제 HTTP(off), 실제 HTTP + 응답 기록(record),
+ * 기록된 응답 재생(replay) 구현 중 하나가 선택된다.
+ * 타임아웃/동시성 제한/서킷/메트릭은 게이트웨이가 처리하므로 재생 모드에서도 동일하게 동작한다.
+ */
+public interface UpstreamTransport {
+
+    /**
+     * 업스트림 응답 (상태 코드 + 본문)
+     */
+    record Response(int status, String body) {
+    }
+
+    /**
+     * 요청 전송
+     * @param upstream    업스트림 이름 (yahoo, gemini ...)
+     * @param request     전송할 요청 (timeout 포함)
+     * @param requestBody POST 본문 (GET 이면 null) - 기록/재생 키 계산용
+     */
+    Response send(String upstream, HttpRequest request, String requestBody) throws IOException, InterruptedException;
+}
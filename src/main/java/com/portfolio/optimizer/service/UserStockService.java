@@ -1,17 +1,25 @@
 package com.portfolio.optimizer.service;
 
+import com.portfolio.optimizer.dto.CursorPageDto;
+import com.portfolio.optimizer.dto.PortfolioValuationDto;
 import com.portfolio.optimizer.dto.UserStockDto;
-import com.portfolio.optimizer.model.User;
 import com.portfolio.optimizer.model.UserStock;
 import com.portfolio.optimizer.repository.UserStockRepository;
+import com.portfolio.optimizer.security.CurrentUser;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * 사용자 보유 종목 관리 서비스
@@ -25,71 +33,95 @@ public class UserStockService {
     private UserStockRepository userStockRepository;
     
     @Autowired
-    private AuthService authService;
+    private CurrentUser currentUser;
+    
+    @Autowired
+    private ValuationService valuationService;
     
     /**
-     * 사용자의 모든 보유 종목 조회
+     * 사용자의 모든 보유 종목 조회 (DTO 프로젝션, 엔티티 미로드)
      */
     @Transactional(readOnly = true)
     public List<UserStockDto> getUserStocks() {
-        User user = authService.getCurrentUser();
-        if (user == null) {
-            throw new RuntimeException("Not authenticated");
-        }
+        Long userId = currentUser.getId();
+        
+        List<UserStockDto> stocks = userStockRepository.findDtosByUserId(userId);
+        log.debug("[UserStockService] User {} has {} stocks", userId, stocks.size());
+        
+        return stocks;
+    }
+    
+    /**
+     * 보유 종목 키셋 페이지 (최신순, cursor 가 없으면 첫 페이지)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<UserStockDto> getUserStocksPage(String cursor, int limit) {
+        Long userId = currentUser.getId();
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int size = KeysetCursor.clampLimit(limit);
         
-        List<UserStock> stocks = userStockRepository.findByUserIdOrderByAddedDateDesc(user.getId());
-        log.debug("[UserStockService] User {} has {} stocks", user.getId(), stocks.size());
+        List<UserStockDto> rows = userStockRepository.findDtoPageByUserId(
+                userId, after.timestamp(), after.id(), PageRequest.of(0, size + 1));
+        String next = KeysetCursor.next(rows, size, UserStockDto::getAddedDate, UserStockDto::getId);
         
-        return stocks.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return CursorPageDto.<UserStockDto>builder()
+                .items(rows)
+                .nextCursor(next)
+                .build();
     }
     
     /**
      * 종목 추가 (동일 종목이면 수량/평균가 업데이트)
+     * 조회 후 저장 대신 (user_id, ticker) 유니크 키 기반 단일 upsert 문으로 처리해 동시 추가에도 안전
      */
     @Transactional
     public UserStockDto addStock(UserStockDto dto) {
-        User user = authService.getCurrentUser();
-        if (user == null) {
-            throw new RuntimeException("Not authenticated");
-        }
+        Long userId = currentUser.getId();
         
         log.info("[UserStockService] Adding stock: {} ({}), qty: {}, price: {}", 
                 dto.getTicker(), dto.getName(), dto.getQuantity(), dto.getPurchasePrice());
         
-        // 이미 동일 종목이 있는지 확인
-        List<UserStock> existingStocks = userStockRepository.findByUserIdAndTicker(user.getId(), dto.getTicker());
+        if (dto.getTicker() == null || dto.getTicker().isBlank()) {
+            throw new RuntimeException("종목코드를 입력해주세요.");
+        }
+        if (dto.getQuantity() == null || dto.getQuantity().signum() <= 0 || dto.getPurchasePrice() == null) {
+            throw new RuntimeException("수량과 매수가를 확인해주세요.");
+        }
+        
+        UserStock saved = userStockRepository.upsertPurchase(userId, UserStock.builder()
+                .ticker(dto.getTicker())
+                .name(dto.getName())
+                .currency(dto.getCurrency())
+                .quantity(dto.getQuantity())
+                .purchasePrice(dto.getPurchasePrice())
+                .currentPrice(dto.getCurrentPrice())
+                .isForeign(dto.getIsForeign())
+                .build());
+        valuationService.invalidate(userId);
+        log.info("[UserStockService] Upserted stock: {} id={} qty={}, avgPrice={}", 
+                saved.getTicker(), saved.getId(), saved.getQuantity(), saved.getPurchasePrice());
         
-        if (!existingStocks.isEmpty()) {
-            // 기존 종목이 있으면 평균 매수가로 업데이트
-            UserStock existing = existingStocks.get(0);
-            
-            BigDecimal existingQty = existing.getQuantity();
-            BigDecimal existingPrice = existing.getPurchasePrice();
-            BigDecimal newQty = dto.getQuantity();
-            BigDecimal newPrice = dto.getPurchasePrice();
-            
-            // 총 수량
-            BigDecimal totalQty = existingQty.add(newQty);
-            
-            // 평균 매수가 = (기존금액 + 신규금액) / 총수량
-            BigDecimal totalAmount = existingQty.multiply(existingPrice).add(newQty.multiply(newPrice));
-            BigDecimal avgPrice = totalAmount.divide(totalQty, 2, BigDecimal.ROUND_HALF_UP);
-            
-            existing.setQuantity(totalQty);
-            existing.setPurchasePrice(avgPrice);
-            existing.setCurrentPrice(dto.getCurrentPrice());
-            
-            UserStock saved = userStockRepository.save(existing);
-            log.info("[UserStockService] Updated existing stock: {} qty={}, avgPrice={}", 
-                    dto.getTicker(), totalQty, avgPrice);
-            
-            return convertToDto(saved);
-        } else {
-            // 새 종목 추가
-            UserStock stock = UserStock.builder()
-                    .user(user)
+        return convertToDto(saved);
+    }
+    
+    /**
+     * 일괄 가져오기 반영 (HoldingsImportService 가 파일 내 중복을 합산한 뒤 호출)
+     * addStock 과 같은 원자적 upsert 를 배치로 실행하므로 동시에 들어온 addStock 과 합산 결과가 유실되지 않고,
+     * 같은 종목의 동시 최초 추가도 유니크 키 위반 없이 합쳐진다.
+     * 파일에 현재가 컬럼이 없으면 기존 현재가를 유지한다. created/updated 는 반영 직전 보유 여부 기준 집계.
+     */
+    @Transactional
+    public ImportMergeResult mergeImported(Collection<UserStockDto> rows) {
+        Long userId = currentUser.getId();
+        
+        Set<String> held = new HashSet<>(userStockRepository.findTickersByUserId(userId));
+        List<UserStock> stocks = new ArrayList<>(rows.size());
+        int updated = 0;
+        for (UserStockDto dto : rows) {
+            if (held.contains(dto.getTicker())) {
+                updated++;
+            }
+            stocks.add(UserStock.builder()
                     .ticker(dto.getTicker())
                     .name(dto.getName())
                     .currency(dto.getCurrency())
@@ -97,13 +129,29 @@ public class UserStockService {
                     .purchasePrice(dto.getPurchasePrice())
                     .currentPrice(dto.getCurrentPrice())
                     .isForeign(dto.getIsForeign())
-                    .build();
-            
-            UserStock saved = userStockRepository.save(stock);
-            log.info("[UserStockService] Added new stock: {} id={}", dto.getTicker(), saved.getId());
-            
-            return convertToDto(saved);
+                    .build());
         }
+        
+        userStockRepository.upsertPurchases(userId, stocks);
+        valuationService.invalidate(userId);
+        int created = stocks.size() - updated;
+        log.info("[UserStockService] Imported holdings for user {}: created={}, updated={}",
+                userId, created, updated);
+        
+        return new ImportMergeResult(created, updated);
+    }
+    
+    public record ImportMergeResult(int created, int updated) {
+    }
+    
+    /**
+     * 가중 평균 매수가 (소수 둘째 자리 반올림)
+     */
+    public static BigDecimal averagePrice(BigDecimal existingQty, BigDecimal existingPrice,
+                                          BigDecimal newQty, BigDecimal newPrice) {
+        BigDecimal totalQty = existingQty.add(newQty);
+        BigDecimal totalAmount = existingQty.multiply(existingPrice).add(newQty.multiply(newPrice));
+        return totalAmount.divide(totalQty, 2, RoundingMode.HALF_UP);
     }
     
     /**
@@ -111,19 +159,17 @@ public class UserStockService {
      */
     @Transactional
     public void deleteStock(Long stockId) {
-        User user = authService.getCurrentUser();
-        if (user == null) {
-            throw new RuntimeException("Not authenticated");
-        }
+        Long userId = currentUser.getId();
         
         UserStock stock = userStockRepository.findById(stockId)
                 .orElseThrow(() -> new RuntimeException("Stock not found"));
         
-        if (!stock.getUser().getId().equals(user.getId())) {
+        if (!stock.getUser().getId().equals(userId)) {
             throw new RuntimeException("Unauthorized");
         }
         
         userStockRepository.delete(stock);
+        valuationService.invalidate(userId);
         log.info("[UserStockService] Deleted stock: {} id={}", stock.getTicker(), stockId);
     }
     
@@ -132,13 +178,27 @@ public class UserStockService {
      */
     @Transactional
     public void deleteAllStocks() {
-        User user = authService.getCurrentUser();
-        if (user == null) {
-            throw new RuntimeException("Not authenticated");
-        }
+        Long userId = currentUser.getId();
         
-        userStockRepository.deleteByUserId(user.getId());
-        log.info("[UserStockService] Deleted all stocks for user {}", user.getId());
+        userStockRepository.deleteByUserId(userId);
+        valuationService.invalidate(userId);
+        log.info("[UserStockService] Deleted all stocks for user {}", userId);
+    }
+    
+    /**
+     * 보유 종목 실시간 평가 (원화 기준)
+     */
+    public PortfolioValuationDto getValuation() {
+        Long userId = currentUser.getId();
+        return valuationService.getValuation(userId);
+    }
+    
+    /**
+     * 보유 종목 평가 푸시 구독 (SSE)
+     */
+    public SseEmitter subscribeValuation() {
+        Long userId = currentUser.getId();
+        return valuationService.subscribe(userId);
     }
     
     private UserStockDto convertToDto(UserStock stock) {
@@ -0,0 +1,353 @@
+package com.portfolio.optimizer.service;
+
+import com.portfolio.optimizer.dto.PortfolioValuationDto;
+import com.portfolio.optimizer.dto.PositionValuationDto;
+import com.portfolio.optimizer.model.UserStock;
+import com.portfolio.optimizer.repository.UserStockRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 보유 종목 실시간 평가 엔진 (원화 기준)
+ *
+ * - 사용자별 보유 종목을 기본형 배열로 보관 (UserBook)
+ * - 종목별로 해당 종목을 보유한 사용자 위치를 역색인 (TickerState.holders)
+ * - 주기적으로 시세(MarketDataService)와 환율(FxRateService)을 읽어 원화 가격이 바뀐 종목만
+ *   보유 위치에 반영하고, 사용자 합계는 변화분(delta)만 더한다 → 틱당 O(변경된 보유 위치)
+ * - 비중은 조회/푸시 시점에 합계로 나누어 계산
+ * - 구독자(SSE)가 있는 사용자에게는 변경 시 평가 결과를 푸시
+ *
+ * 보유 종목이 추가/삭제되면 커밋 후 해당 사용자 북을 다시 읽는다.
+ */
+@Service
+@Slf4j
+public class ValuationService {
+
+    private static final String BASE_CURRENCY = "KRW";
+
+    private final UserStockRepository userStockRepository;
+    private final MarketDataService marketDataService;
+    private final FxRateService fxRateService;
+
+    @Value("${valuation.book.idle.ttl.minutes:30}")
+    private long bookIdleTtlMinutes;
+
+    @Value("${valuation.stream.timeout.ms:1800000}")
+    private long streamTimeoutMs;
+
+    // 사용자 ID -> 평가 북
+    private final Map<Long, UserBook> books = new ConcurrentHashMap<>();
+    // 티커 -> 시세 상태 + 보유 위치
+    private final Map<String, TickerState> tickers = new ConcurrentHashMap<>();
+    // 사용자 ID -> SSE 구독자
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public ValuationService(UserStockRepository userStockRepository,
+                            MarketDataService marketDataService,
+                            FxRateService fxRateService,
+                            MeterRegistry meterRegistry) {
+        this.userStockRepository = userStockRepository;
+        this.marketDataService = marketDataService;
+        this.fxRateService = fxRateService;
+
+        Gauge.builder("valuation.books", books, Map::size)
+                .description("User holdings books held by the valuation engine")
+                .register(meterRegistry);
+        Gauge.builder("valuation.tickers", tickers, Map::size)
+                .description("Distinct tickers tracked by the valuation engine")
+                .register(meterRegistry);
+        Gauge.builder("valuation.subscribers", subscribers, s -> s.values().stream().mapToInt(List::size).sum())
+                .description("Open valuation push streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 종목별 시세 상태 (틱 스레드만 가격을 기록)
+     */
+    private static final class TickerState {
+        final String ticker;
+        final Set<Holding> holders = ConcurrentHashMap.newKeySet();
+        volatile double priceKrw;
+        volatile long asOf;
+
+        TickerState(String ticker) {
+            this.ticker = ticker;
+        }
+    }
+
+    // UserBook 은 equals 를 재정의하지 않으므로 (북 인스턴스, 슬롯) 동일성으로 비교된다
+    private record Holding(UserBook book, int slot) {
+    }
+
+    /**
+     * 사용자 보유 종목 (종목별 병렬 배열)
+     */
+    private static final class UserBook {
+        final long userId;
+        final long[] ids;
+        final String[] tickers;
+        final String[] names;
+        final double[] quantity;
+        final double[] purchasePrice;
+        final double[] price;
+        final long[] priceAsOf;
+        double totalValue;
+        double totalCost;
+        long asOf;
+        volatile long lastAccess = System.currentTimeMillis();
+
+        UserBook(long userId, List<UserStock> stocks) {
+            int n = stocks.size();
+            this.userId = userId;
+            this.ids = new long[n];
+            this.tickers = new String[n];
+            this.names = new String[n];
+            this.quantity = new double[n];
+            this.purchasePrice = new double[n];
+            this.price = new double[n];
+            this.priceAsOf = new long[n];
+            for (int i = 0; i < n; i++) {
+                UserStock stock = stocks.get(i);
+                ids[i] = stock.getId();
+                tickers[i] = stock.getTicker();
+                names[i] = stock.getName();
+                quantity[i] = toDouble(stock.getQuantity());
+                purchasePrice[i] = toDouble(stock.getPurchasePrice());
+                // 시세 반영 전에는 저장된 현재가(없으면 매수가) 사용
+                price[i] = stock.getCurrentPrice() != null ? toDouble(stock.getCurrentPrice()) : purchasePrice[i];
+                totalValue += quantity[i] * price[i];
+                totalCost += quantity[i] * purchasePrice[i];
+            }
+        }
+
+        synchronized void applyPrice(int slot, double newPrice, long at) {
+            totalValue += quantity[slot] * (newPrice - price[slot]);
+            price[slot] = newPrice;
+            priceAsOf[slot] = at;
+            asOf = Math.max(asOf, at);
+        }
+
+        synchronized PortfolioValuationDto snapshot() {
+            List<PositionValuationDto> positions = new ArrayList<>(ids.length);
+            for (int i = 0; i < ids.length; i++) {
+                double marketValue = quantity[i] * price[i];
+                double cost = quantity[i] * purchasePrice[i];
+                positions.add(PositionValuationDto.builder()
+                        .id(ids[i])
+                        .ticker(tickers[i])
+                        .name(names[i])
+                        .quantity(quantity[i])
+                        .purchasePrice(purchasePrice[i])
+                        .currentPrice(round2(price[i]))
+                        .marketValue(round2(marketValue))
+                        .unrealizedPnl(round2(marketValue - cost))
+                        .unrealizedPnlPercent(cost > 0 ? round2((marketValue - cost) / cost * 100) : 0)
+                        .weight(totalValue > 0 ? marketValue / totalValue : 0)
+                        .priceAsOf(priceAsOf[i])
+                        .build());
+            }
+            return PortfolioValuationDto.builder()
+                    .totalMarketValue(round2(totalValue))
+                    .totalCost(round2(totalCost))
+                    .unrealizedPnl(round2(totalValue - totalCost))
+                    .unrealizedPnlPercent(totalCost > 0 ? round2((totalValue - totalCost) / totalCost * 100) : 0)
+                    .asOf(asOf)
+                    .positions(positions)
+                    .build();
+        }
+    }
+
+    /**
+     * 사용자 평가 조회 (북이 없으면 DB 에서 적재)
+     */
+    public PortfolioValuationDto getValuation(Long userId) {
+        UserBook book = book(userId);
+        book.lastAccess = System.currentTimeMillis();
+        return book.snapshot();
+    }
+
+    /**
+     * 평가 푸시 구독 (연결 직후 현재 평가 1회 전송, 이후 가격 변경 시마다 전송)
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        List<SseEmitter> list = subscribers.computeIfAbsent(userId, k -> new CopyOnWriteArrayList<>());
+        list.add(emitter);
+        Runnable remove = () -> {
+            list.remove(emitter);
+            subscribers.computeIfPresent(userId, (k, v) -> v.isEmpty() ? null : v);
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        send(emitter, getValuation(userId));
+        return emitter;
+    }
+
+    /**
+     * 보유 종목 변경 후 북 재적재 (트랜잭션 중이면 커밋 후)
+     */
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload(userId);
+                }
+            });
+        } else {
+            reload(userId);
+        }
+    }
+
+    private void reload(Long userId) {
+        UserBook old = books.remove(userId);
+        if (old != null) {
+            unregister(old);
+        }
+        List<SseEmitter> list = subscribers.get(userId);
+        if (list != null && !list.isEmpty()) {
+            PortfolioValuationDto valuation = getValuation(userId);
+            list.forEach(emitter -> send(emitter, valuation));
+        }
+    }
+
+    /**
+     * 가격 틱: 추적 중인 종목의 원화 가격을 갱신하고 바뀐 종목의 보유 위치에만 반영
+     */
+    @Scheduled(fixedDelayString = "${valuation.refresh.interval.ms:60000}")
+    public void tick() {
+        if (tickers.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Set<UserBook> changed = new HashSet<>();
+        int updatedTickers = 0;
+
+        for (TickerState state : tickers.values()) {
+            double priceKrw;
+            try {
+                MarketDataService.Quote quote = marketDataService.getQuote(state.ticker);
+                String currency = quote.currency() != null ? quote.currency() : BASE_CURRENCY;
+                double fx = fxRateService.quote(currency, BASE_CURRENCY)
+                        .map(FxRateService.FxQuote::rate)
+                        .orElse(Double.NaN);
+                priceKrw = quote.price() * fx;
+            } catch (RuntimeException e) {
+                log.debug("Valuation price refresh skipped for {}: {}", state.ticker, e.getMessage());
+                continue;
+            }
+            if (!(priceKrw > 0) || priceKrw == state.priceKrw) {
+                continue;
+            }
+
+            state.priceKrw = priceKrw;
+            state.asOf = now;
+            updatedTickers++;
+            for (Holding holding : state.holders) {
+                holding.book().applyPrice(holding.slot(), priceKrw, now);
+                changed.add(holding.book());
+            }
+        }
+
+        for (UserBook book : changed) {
+            List<SseEmitter> list = subscribers.get(book.userId);
+            if (list != null && !list.isEmpty()) {
+                PortfolioValuationDto valuation = book.snapshot();
+                list.forEach(emitter -> send(emitter, valuation));
+            }
+        }
+        if (updatedTickers > 0) {
+            log.debug("Valuation tick: {} tickers changed, {} books updated", updatedTickers, changed.size());
+        }
+    }
+
+    /**
+     * 오래 조회되지 않고 구독자도 없는 북 정리
+     */
+    @Scheduled(fixedDelayString = "${valuation.book.sweep.interval.ms:300000}")
+    public void evictIdleBooks() {
+        long cutoff = System.currentTimeMillis() - bookIdleTtlMinutes * 60_000L;
+        books.forEach((userId, book) -> {
+            if (book.lastAccess < cutoff && !subscribers.containsKey(userId) && books.remove(userId, book)) {
+                unregister(book);
+            }
+        });
+    }
+
+    private UserBook book(Long userId) {
+        UserBook book = books.get(userId);
+        if (book != null) {
+            return book;
+        }
+        UserBook loaded = new UserBook(userId, userStockRepository.findByUserIdOrderByAddedDateDesc(userId));
+        // 게시와 보유 위치 등록을 같은 키 잠금 안에서 수행 → reload/정리의 remove 는 등록이 끝난 뒤에만 일어나므로
+        // 맵에서 빠진 북에 보유 위치가 남지 않는다
+        return books.compute(userId, (id, current) -> {
+            if (current != null) {
+                return current;
+            }
+            register(loaded);
+            return loaded;
+        });
+    }
+
+    private void register(UserBook book) {
+        for (int slot = 0; slot < book.tickers.length; slot++) {
+            Holding holding = new Holding(book, slot);
+            TickerState state = tickers.compute(book.tickers[slot], (ticker, s) -> {
+                TickerState target = s != null ? s : new TickerState(ticker);
+                target.holders.add(holding);
+                return target;
+            });
+            // 이미 시세가 있는 종목은 즉시 반영 (보유 위치 등록 후 읽으므로 동시 틱과 엇갈리지 않음)
+            if (state.asOf > 0) {
+                book.applyPrice(slot, state.priceKrw, state.asOf);
+            }
+        }
+    }
+
+    private void unregister(UserBook book) {
+        for (int slot = 0; slot < book.tickers.length; slot++) {
+            Holding holding = new Holding(book, slot);
+            tickers.computeIfPresent(book.tickers[slot], (ticker, state) -> {
+                state.holders.remove(holding);
+                return state.holders.isEmpty() ? null : state;
+            });
+        }
+    }
+
+    private static void send(SseEmitter emitter, PortfolioValuationDto valuation) {
+        try {
+            emitter.send(SseEmitter.event().name("valuation").data(valuation));
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : 0;
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
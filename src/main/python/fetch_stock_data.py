@@ -56,12 +56,19 @@ MOCK_PRICES = {
 
 USD_TO_KRW = 1300  # Fallback exchange rate
 
+# Exchange rate passed in by the Java backend (FxRateService); skips any network lookup
+PROVIDED_USD_TO_KRW = None
+
 
 def get_exchange_rate():
     """
     Fetch real-time USD to KRW exchange rate
-    Priority: 1) Manual config, 2) API, 3) Fallback
+    Priority: 0) Rate provided in input, 1) Manual config, 2) API, 3) Fallback
     """
+    # 0. Use rate provided by the caller
+    if PROVIDED_USD_TO_KRW:
+        return PROVIDED_USD_TO_KRW
+    
     # 1. Use manual rate if configured
     if USE_MANUAL_RATE:
         print(f"Using manual exchange rate: 1 USD = {MANUAL_USD_TO_KRW:.2f} KRW", file=sys.stderr)
@@ -212,7 +219,7 @@ def fetch_stock_data_mock(symbol, period='1mo'):
             
             # Convert USD to KRW for foreign stocks
             if not symbol.endswith('.KS'):
-                base_price = base_price * USD_TO_KRW
+                base_price = base_price * (PROVIDED_USD_TO_KRW or USD_TO_KRW)
             
             # Add some random variation (+/- 2%)
             variation = random.uniform(-0.02, 0.02)
@@ -293,6 +300,10 @@ def main():
         symbol = request_data['symbol']
         period = request_data.get('period', '1mo')
         
+        if request_data.get('exchangeRate'):
+            global PROVIDED_USD_TO_KRW
+            PROVIDED_USD_TO_KRW = float(request_data['exchangeRate'])
+        
         # Fetch stock data
         result = fetch_stock_data(symbol, period)
         
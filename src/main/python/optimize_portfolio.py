@@ -1227,21 +1227,27 @@ def main():
         target_risk = request_data.get('targetRiskLevel', 5)
         use_real_data_from_request = request_data.get('useRealData', use_real_data)
 
-        # 실시간 환율 fetch 및 적용
-        exchange_rate = fetch_realtime_exchange_rate(base='USD', target='KRW', fallback=1350)
+        # 환율 적용: Java(FxRateService)가 전달한 값을 우선 사용, 없을 때(단독 실행)만 직접 조회
+        exchange_rate = request_data.get('exchangeRate')
+        if exchange_rate:
+            exchange_rate = float(exchange_rate)
+        else:
+            exchange_rate = fetch_realtime_exchange_rate(base='USD', target='KRW', fallback=1350)
         print(f"적용 환율: USD/KRW={exchange_rate}", file=sys.stderr)
 
         # 모든 종목의 currentPrice, totalInvestment에 환율 적용 (USD → KRW)
+        # amountsInKrw=true(예: 리밸런싱 배치)면 이미 원화 금액이므로 그대로 사용
+        fx_scale = 1.0 if request_data.get('amountsInKrw') else exchange_rate
         for stock in stocks:
             # currentPrice가 None이 아닌지 확인하고 float으로 변환
             if stock.get('currentPrice') is not None:
-                stock['currentPrice'] = float(stock['currentPrice']) * exchange_rate
+                stock['currentPrice'] = float(stock['currentPrice']) * fx_scale
             
             # investmentAmount가 None이 아닌지 확인하고 float으로 변환
             if stock.get('investmentAmount') is not None:
-                stock['investmentAmount'] = float(stock['investmentAmount']) * exchange_rate
+                stock['investmentAmount'] = float(stock['investmentAmount']) * fx_scale
         
-        total_investment = float(total_investment or 0) * exchange_rate
+        total_investment = float(total_investment or 0) * fx_scale
 
         # Parse constraints if provided
         constraints = None
@@ -1267,7 +1273,15 @@ def main():
         print(f"QAOA constraints: budget={total_investment:.2f}, max_shares=3, prices={prices}", file=sys.stderr)
 
         # Fetch historical data and calculate statistics
-        returns, covariance_matrix = fetch_historical_data(stocks, use_real_data=use_real_data_from_request)
+        # (Java 가 합성 데이터 통계를 전달한 경우 그대로 사용 - yfinance 미호출)
+        historical_stats = request_data.get('historicalStats')
+        if historical_stats:
+            returns = np.array(historical_stats['returns'], dtype=float)
+            covariance_matrix = np.array(historical_stats['covariance'], dtype=float)
+            print(f"Using provided historical stats ({historical_stats.get('source', 'provided')}, "
+                  f"{historical_stats.get('observations')} observations)", file=sys.stderr)
+        else:
+            returns, covariance_matrix = fetch_historical_data(stocks, use_real_data=use_real_data_from_request)
 
         # Build optimization problem
         risk_factor = target_risk / 10.0  # Normalize to [0, 1]
@@ -0,0 +1,245 @@
+#!/usr/bin/env python3
+"""
+워크포워드(Walk-forward) 최적화 검증
+
+- 학습 구간(trainingDays)의 일간 수익률로 비중을 최적화하고 보유 구간(rebalanceDays) 동안 유지
+  (보유 중에는 가격 변동에 따라 비중이 흘러감)
+- 전체 기간을 보유 구간 단위로 전진하며 반복. 각 단계는 보유 구간 이전 데이터만 사용하므로
+  이어 붙인 자산 곡선은 전부 표본 외(out-of-sample) 성과
+- 단계별 최적화는 서로 독립이므로 ProcessPoolExecutor 로 코어 수만큼 병렬 실행
+- 총수익/거래비용 차감 자산 곡선, 회전율, 동일비중 벤치마크 비교 결과 출력
+
+입력 (PythonIntegrationService.runWalkForward 가 작성하는 JSON 파일)
+- symbols, method (MPT / HYBRID / QAOA / EQUAL), trainingDays, rebalanceDays,
+  transactionCostBps, riskLevel (1-10), years, workers, constraints ({symbol: {min, max}})
+- prices (선택): {"dates": [...], "closes": {symbol: [...]}} - 주어지면 yfinance 를 호출하지 않음
+
+실행
+- python walk_forward.py <input_json_file>
+"""
+import json
+import os
+import sys
+import time
+from concurrent.futures import ProcessPoolExecutor
+from datetime import datetime
+
+import numpy as np
+
+CURRENT_DIR = os.path.dirname(os.path.abspath(__file__))
+if CURRENT_DIR not in sys.path:
+    sys.path.insert(0, CURRENT_DIR)
+
+TRADING_DAYS = 252
+RISK_FREE_RATE = 0.02  # calculate_portfolio_metrics 와 동일
+
+
+def load_prices(request):
+    """공통 거래일 기준으로 정렬된 (dates, closes[T, n]) 반환"""
+    symbols = request['symbols']
+    provided = request.get('prices')
+    if provided:
+        closes = np.array([provided['closes'][s] for s in symbols], dtype=float).T
+        return list(provided['dates']), closes
+
+    import yfinance as yf
+    from dateutil.relativedelta import relativedelta
+
+    years = int(request.get('years', 5))
+    start = datetime.now() - relativedelta(years=years)
+    print(f"Downloading {len(symbols)} symbols since {start:%Y-%m-%d}...", file=sys.stderr)
+    data = yf.download(symbols, start=start.strftime('%Y-%m-%d'), progress=False, auto_adjust=True)
+    if data.empty:
+        raise ValueError('No price history returned')
+    prices = data['Close']
+    if len(symbols) == 1 and getattr(prices, 'ndim', 1) == 1:
+        prices = prices.to_frame(symbols[0])
+    prices = prices[symbols].dropna(how='any')
+    return [d.strftime('%Y-%m-%d') for d in prices.index], prices.values.astype(float)
+
+
+def optimize_window(task):
+    """
+    워크포워드 한 단계 최적화 (워커 프로세스에서 실행되도록 모듈 최상위 함수)
+    task: (method, train_returns[T, n], risk_factor, min_weights, max_weights, last_prices)
+    """
+    method, train_returns, risk_factor, min_weights, max_weights, last_prices = task
+    n = train_returns.shape[1]
+    if method == 'EQUAL':
+        return (np.ones(n) / n).tolist()
+
+    from optimize_portfolio import (
+        optimize_with_modern_portfolio_theory,
+        optimize_hybrid_qaoa_mpt,
+        optimize_with_qaoa,
+    )
+
+    mean_returns = train_returns.mean(axis=0) * TRADING_DAYS
+    if n == 1:
+        cov_matrix = np.array([[train_returns[:, 0].var(ddof=1) * TRADING_DAYS]])
+    else:
+        cov_matrix = np.cov(train_returns, rowvar=False) * TRADING_DAYS
+
+    bounded = min_weights is not None and (np.any(min_weights > 0) or np.any(max_weights < 1))
+    if method == 'HYBRID':
+        weights = optimize_hybrid_qaoa_mpt(n, mean_returns, cov_matrix, risk_factor)
+    elif method == 'QAOA':
+        weights = optimize_with_qaoa(n, mean_returns, cov_matrix, risk_factor, {
+            'prices': last_prices,
+            'budget': float(np.sum(last_prices) * 3),
+            'min_shares': np.zeros(n, dtype=int),
+            'max_shares': np.full(n, 3, dtype=int),
+        })
+    else:
+        constraints = {'min_weights': min_weights, 'max_weights': max_weights} if bounded else None
+        weights = optimize_with_modern_portfolio_theory(n, mean_returns, cov_matrix, risk_factor, constraints)
+
+    weights = np.clip(np.nan_to_num(np.asarray(weights, dtype=float)), 0, None)
+    total = weights.sum()
+    return (weights / total if total > 0 else np.ones(n) / n).tolist()
+
+
+def summarize(curve, days_per_year=TRADING_DAYS):
+    """자산 곡선의 총수익률, CAGR, 연율화 변동성, 샤프 비율, 최대 낙폭"""
+    curve = np.asarray(curve, dtype=float)
+    daily = curve[1:] / curve[:-1] - 1
+    years = max(len(daily) / days_per_year, 1e-9)
+    total_return = curve[-1] / curve[0] - 1
+    cagr = (curve[-1] / curve[0]) ** (1 / years) - 1 if curve[-1] > 0 else -1.0
+    vol = float(np.std(daily, ddof=1) * np.sqrt(days_per_year)) if len(daily) > 1 else 0.0
+    peaks = np.maximum.accumulate(curve)
+    max_drawdown = float(np.min(curve / peaks - 1))
+    return {
+        'totalReturn': round(float(total_return) * 100, 2),
+        'cagr': round(float(cagr) * 100, 2),
+        'annualVolatility': round(vol * 100, 2),
+        'sharpeRatio': round((cagr - RISK_FREE_RATE) / vol, 3) if vol > 0 else 0.0,
+        'maxDrawdown': round(max_drawdown * 100, 2),
+    }
+
+
+def run_walk_forward(request):
+    started = time.time()
+    symbols = request['symbols']
+    method = str(request.get('method', 'MPT')).upper()
+    training_days = int(request.get('trainingDays', TRADING_DAYS))
+    rebalance_days = int(request.get('rebalanceDays', 63))
+    cost_rate = float(request.get('transactionCostBps', 10.0)) / 10000.0
+    risk_factor = float(request.get('riskLevel', 5.0)) / 10.0
+    workers = int(request.get('workers') or os.cpu_count() or 1)
+    n = len(symbols)
+
+    constraints = request.get('constraints') or {}
+    min_weights = np.array([constraints.get(s, {}).get('min', 0.0) for s in symbols], dtype=float)
+    max_weights = np.array([constraints.get(s, {}).get('max', 1.0) for s in symbols], dtype=float)
+
+    dates, closes = load_prices(request)
+    returns = closes[1:] / closes[:-1] - 1  # returns[t]: dates[t] -> dates[t + 1]
+    total_days = len(returns)
+    if total_days < training_days + rebalance_days:
+        raise ValueError(f'Not enough history: {total_days} days, need {training_days + rebalance_days}')
+
+    starts = list(range(training_days, total_days, rebalance_days))
+    tasks = [(method, returns[s - training_days:s], risk_factor, min_weights, max_weights, closes[s])
+             for s in starts]
+
+    # 단계별 최적화는 서로 독립 -> 코어 수만큼 병렬 실행
+    workers = max(1, min(workers, len(tasks)))
+    print(f"Walk-forward: {len(tasks)} steps, method={method}, workers={workers}", file=sys.stderr)
+    if workers == 1:
+        step_weights = [optimize_window(task) for task in tasks]
+    else:
+        with ProcessPoolExecutor(max_workers=workers) as pool:
+            step_weights = list(pool.map(optimize_window, tasks))
+    optimize_seconds = time.time() - started
+
+    # 순차 시뮬레이션: 리밸런싱 시 거래비용 차감, 보유 기간에는 비중이 가격에 따라 변동
+    equal = np.ones(n) / n
+    holdings = np.zeros(n)  # 첫 단계는 현금에서 매수
+    bench_holdings = equal.copy()
+    gross, net, bench = 1.0, 1.0, 1.0
+    gross_curve, net_curve, bench_curve = [gross], [net], [bench]
+    equity_curve = [{'date': dates[starts[0]], 'gross': gross, 'net': net, 'benchmark': bench}]
+    steps = []
+    total_cost = 0.0
+    turnovers = []
+
+    for s, weights in zip(starts, step_weights):
+        e = min(s + rebalance_days, total_days)
+        target = np.asarray(weights, dtype=float)
+        traded = float(np.abs(target - holdings).sum())
+        cost = traded * cost_rate
+        net *= (1 - cost)
+        total_cost += cost
+        turnovers.append(traded / 2)
+
+        step_gross_start, step_net_start = gross, net
+        holdings = target.copy()
+        bench_holdings = equal.copy()
+        for t in range(s, e):
+            growth = 1 + returns[t]
+            g = float(holdings @ growth)
+            b = float(bench_holdings @ growth)
+            gross *= g
+            net *= g
+            bench *= b
+            holdings = holdings * growth / g if g > 0 else holdings
+            bench_holdings = bench_holdings * growth / b if b > 0 else bench_holdings
+            gross_curve.append(gross)
+            net_curve.append(net)
+            bench_curve.append(bench)
+            equity_curve.append({'date': dates[t + 1], 'gross': round(gross, 6),
+                                 'net': round(net, 6), 'benchmark': round(bench, 6)})
+
+        steps.append({
+            'trainStart': dates[s - training_days],
+            'trainEnd': dates[s],
+            'holdStart': dates[s],
+            'holdEnd': dates[e],
+            'weights': {sym: round(w, 6) for sym, w in zip(symbols, target.tolist())},
+            'turnover': round(traded / 2, 6),
+            'transactionCost': round(cost, 6),
+            'grossReturn': round((gross / step_gross_start - 1) * 100, 3),
+            'netReturn': round((net / step_net_start - 1) * 100, 3),
+        })
+
+    return {
+        'method': method,
+        'symbols': symbols,
+        'trainingDays': training_days,
+        'rebalanceDays': rebalance_days,
+        'transactionCostBps': cost_rate * 10000,
+        'steps': steps,
+        'equityCurve': equity_curve,
+        'summary': {
+            'gross': summarize(gross_curve),
+            'net': summarize(net_curve),
+            'benchmark': summarize(bench_curve),
+            'averageTurnover': round(float(np.mean(turnovers)), 6) if turnovers else 0.0,
+            'totalTransactionCost': round(total_cost * 100, 4),
+            'numberOfSteps': len(steps),
+            'workers': workers,
+            'optimizationSeconds': round(optimize_seconds, 3),
+            'elapsedSeconds': round(time.time() - started, 3),
+        },
+    }
+
+
+def main():
+    if len(sys.argv) < 2:
+        print("Usage: walk_forward.py <input_json_file>", file=sys.stderr)
+        sys.exit(1)
+    try:
+        with open(sys.argv[1], 'r', encoding='utf-8-sig') as f:
+            request = json.load(f)
+        print(json.dumps(run_walk_forward(request)))
+    except Exception as e:
+        import traceback
+        print(f"Error occurred: {str(e)}", file=sys.stderr)
+        traceback.print_exc(file=sys.stderr)
+        print(json.dumps({'error': str(e)}))
+        sys.exit(1)
+
+
+if __name__ == '__main__':
+    main()